@@ -192,6 +192,13 @@ private static CharsetCallback.Decoder getCallback(CodingErrorAction action) {
 
     private final ByteBuffer EMPTY = ByteBuffer.allocate(0);
 
+    /* number of bytes or chars converted at a time through the scratch buffers */
+    private static final int SCRATCH_CAPACITY = 4096;
+
+    /* allocated the first time that a buffer without an accessible array is converted */
+    private ByteBuffer sourceScratch;
+    private CharBuffer targetScratch;
+
     /**
      * Flushes any characters saved in the converter's internal buffer and resets the converter.
      *
@@ -253,7 +260,12 @@ protected CoderResult decodeLoop(ByteBuffer in, CharBuffer out) {
         in.position(in.position() + toUCountPending());
 
         /* do the conversion */
-        CoderResult ret = decode(in, out, null, false);
+        CoderResult ret;
+        if ((!in.hasArray() || !out.hasArray()) && prefersArrays()) {
+            ret = decodeThroughScratch(in, out);
+        } else {
+            ret = decode(in, out, null, false);
+        }
 
         // ok was there input held in the previous invocation of decodeLoop
         // that resulted in output in this invocation?
@@ -262,6 +274,77 @@ protected CoderResult decodeLoop(ByteBuffer in, CharBuffer out) {
         return ret;
     }
 
+    /*
+     * Returns true if the converter has optimized code paths for buffers with accessible arrays.
+     * Then the bytes of a buffer without one, like a direct or a read-only buffer, and the chars
+     * for a direct buffer, are passed through scratch arrays rather than being read or written one
+     * at a time.
+     * Subclasses to override this method if required
+     */
+    boolean prefersArrays() {
+        return false;
+    }
+
+    /*
+     * Decodes in bounded chunks through the scratch buffers, substituting them for the ones of in
+     * and out that do not have accessible arrays.
+     * @return Result of decoding action, as for decode()
+     */
+    private CoderResult decodeThroughScratch(ByteBuffer in, CharBuffer out) {
+        if (sourceScratch == null) {
+            sourceScratch = ByteBuffer.allocate(EXT_MAX_BYTES + SCRATCH_CAPACITY);
+            targetScratch = CharBuffer.allocate(SCRATCH_CAPACITY);
+        }
+        boolean stageSource = !in.hasArray();
+        /* a read-only target is not staged, so that converting into it fails only on output */
+        boolean stageTarget = !out.hasArray() && !out.isReadOnly();
+        ByteBuffer source = in;
+        CharBuffer target = out;
+        CoderResult cr;
+
+        for (; ; ) {
+            /* continue with the next chunk only where the scratch buffers were the bound */
+            boolean moreSource = stageSource && in.remaining() > SCRATCH_CAPACITY;
+            boolean moreTarget = stageTarget && out.remaining() > SCRATCH_CAPACITY;
+            int start = in.position();
+            int held = 0;
+            if (stageSource) {
+                /*
+                 * also stage the input held in the converter state,
+                 * which precedes the position (see decodeLoop()),
+                 * in case the converter backs up over it
+                 */
+                held = Math.min(Math.min(toUCountPending(), EXT_MAX_BYTES), start);
+                int length = Math.min(in.remaining(), SCRATCH_CAPACITY);
+                in.position(start - held);
+                in.get(sourceScratch.array(), 0, held + length);
+                sourceScratch.limit(held + length);
+                sourceScratch.position(held);
+                source = sourceScratch;
+            }
+            if (stageTarget) {
+                targetScratch.clear();
+                targetScratch.limit(Math.min(out.remaining(), SCRATCH_CAPACITY));
+                target = targetScratch;
+            }
+
+            cr = decode(source, target, null, false);
+
+            int consumed = 0;
+            if (stageSource) {
+                consumed = sourceScratch.position() - held;
+                in.position(start + consumed);
+            }
+            if (stageTarget) {
+                out.put(targetScratch.array(), 0, targetScratch.position());
+            }
+
+            if (cr.isUnderflow() ? !moreSource || consumed == 0 : !cr.isOverflow() || !moreTarget) {
+                return cr;
+            }
+        }
+    }
+
     /*
      * Implements the ICU semantic for decode operation
      * @param in The input byte buffer
@@ -721,6 +804,46 @@ static final CoderResult toUWriteUChars(
         return cr;
     }
 
+    /*
+     * Copies the run of ASCII bytes at the start of the source to the target in bulk, through the
+     * arrays of the buffers, and advances both buffers past it. The run ends before the first byte
+     * that is not ASCII or that does not round-trip to the same code point.
+     * @param asciiRoundtrips A bit set with one bit for each group of 4 ASCII bytes, set if all of
+     *         them round-trip, like the one in the MBCS data
+     * @return The number of bytes copied, which is 0 unless both buffers have accessible arrays
+     */
+    static final int copyASCII(ByteBuffer source, CharBuffer target, int asciiRoundtrips) {
+        if (!source.hasArray() || !target.hasArray()) {
+            return 0;
+        }
+        byte[] sourceArray = source.array();
+        int sourceStart = source.arrayOffset() + source.position();
+        int sourceIndex = sourceStart;
+        int sourceLimit = sourceStart + Math.min(source.remaining(), target.remaining());
+        char[] targetArray = target.array();
+        int targetOffset = target.arrayOffset() + target.position() - sourceStart;
+
+        if (asciiRoundtrips == 0xffffffff) {
+            /* all of ASCII round-trips: only test for the high bit */
+            byte b;
+            while (sourceIndex < sourceLimit && (b = sourceArray[sourceIndex]) >= 0) {
+                targetArray[targetOffset + sourceIndex++] = (char) b;
+            }
+        } else {
+            byte b;
+            while (sourceIndex < sourceLimit
+                    && (b = sourceArray[sourceIndex]) >= 0
+                    && (asciiRoundtrips & (1 << (b >> 2))) != 0) {
+                targetArray[targetOffset + sourceIndex++] = (char) b;
+            }
+        }
+
+        int length = sourceIndex - sourceStart;
+        source.position(source.position() + length);
+        target.position(target.position() + length);
+        return length;
+    }
+
     /*
      * This function will write out the Unicode substitution character to the
      * target character buffer.
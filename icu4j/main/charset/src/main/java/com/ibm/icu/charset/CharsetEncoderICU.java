@@ -219,6 +219,20 @@ private static CharsetCallback.Encoder getCallback(CodingErrorAction action) {
 
     private static final CharBuffer EMPTY = CharBuffer.allocate(0);
 
+    /* number of chars or bytes converted at a time through the scratch buffers */
+    private static final int SCRATCH_CAPACITY = 4096;
+
+    /* allocated the first time that a buffer without an accessible array is converted */
+    private CharBuffer sourceScratch;
+    private ByteBuffer targetScratch;
+
+    /*
+     * While encodeThroughScratch() converts a chunk, the number of chars of the same input
+     * consumed with earlier chunks, for error lengths that count from the start of the input
+     * (see CharsetMBCS); otherwise 0.
+     */
+    int scratchSourceIndex;
+
     /**
      * Flushes any characters saved in the converter's internal buffer and resets the converter.
      *
@@ -273,7 +287,12 @@ protected CoderResult encodeLoop(CharBuffer in, ByteBuffer out) {
         }
         in.position(in.position() + fromUCountPending());
         /* do the conversion */
-        CoderResult ret = encode(in, out, null, false);
+        CoderResult ret;
+        if ((!in.hasArray() || !out.hasArray()) && prefersArrays()) {
+            ret = encodeThroughScratch(in, out);
+        } else {
+            ret = encode(in, out, null, false);
+        }
         setSourcePosition(in);
         /* No need to reset to keep the proper state of the encoder.
          if (ret.isUnderflow() && in.hasRemaining()) {
@@ -283,6 +302,83 @@ protected CoderResult encodeLoop(CharBuffer in, ByteBuffer out) {
         return ret;
     }
 
+    /*
+     * Returns true if the converter has optimized code paths for buffers with accessible arrays.
+     * Then the chars of a buffer without one, like a direct or a read-only buffer or a wrapped
+     * CharSequence, and the bytes for a direct buffer, are passed through scratch arrays rather
+     * than being read or written one at a time.
+     * Subclasses to override this method if required
+     */
+    boolean prefersArrays() {
+        return false;
+    }
+
+    /*
+     * Encodes in bounded chunks through the scratch buffers, substituting them for the ones of in
+     * and out that do not have accessible arrays.
+     * @return Result of encoding action, as for encode()
+     */
+    private CoderResult encodeThroughScratch(CharBuffer in, ByteBuffer out) {
+        if (sourceScratch == null) {
+            sourceScratch = CharBuffer.allocate(EXT_MAX_UCHARS + SCRATCH_CAPACITY);
+            targetScratch = ByteBuffer.allocate(SCRATCH_CAPACITY);
+        }
+        boolean stageSource = !in.hasArray();
+        /* a read-only target is not staged, so that converting into it fails only on output */
+        boolean stageTarget = !out.hasArray() && !out.isReadOnly();
+        CharBuffer source = in;
+        ByteBuffer target = out;
+        int inStart = in.position();
+        CoderResult cr;
+
+        for (; ; ) {
+            /* continue with the next chunk only where the scratch buffers were the bound */
+            boolean moreSource = stageSource && in.remaining() > SCRATCH_CAPACITY;
+            boolean moreTarget = stageTarget && out.remaining() > SCRATCH_CAPACITY;
+            int start = in.position();
+            int held = 0;
+            if (stageSource) {
+                /*
+                 * also stage the input held in the converter state,
+                 * which precedes the position (see encodeLoop()),
+                 * in case the converter backs up over it
+                 */
+                held = Math.min(Math.min(fromUCountPending(), EXT_MAX_UCHARS), start);
+                int length = Math.min(in.remaining(), SCRATCH_CAPACITY);
+                in.position(start - held);
+                in.get(sourceScratch.array(), 0, held + length);
+                sourceScratch.limit(held + length);
+                sourceScratch.position(held);
+                source = sourceScratch;
+            }
+            if (stageTarget) {
+                targetScratch.clear();
+                targetScratch.limit(Math.min(out.remaining(), SCRATCH_CAPACITY));
+                target = targetScratch;
+            }
+
+            scratchSourceIndex = start - inStart;
+            try {
+                cr = encode(source, target, null, false);
+            } finally {
+                scratchSourceIndex = 0;
+            }
+
+            int consumed = 0;
+            if (stageSource) {
+                consumed = sourceScratch.position() - held;
+                in.position(start + consumed);
+            }
+            if (stageTarget) {
+                out.put(targetScratch.array(), 0, targetScratch.position());
+            }
+
+            if (cr.isUnderflow() ? !moreSource || consumed == 0 : !cr.isOverflow() || !moreTarget) {
+                return cr;
+            }
+        }
+    }
+
     /*
      * Implements ICU semantics of buffer management
      * @param source
@@ -755,6 +851,47 @@ static final CoderResult fromUWriteBytes(
         return cr;
     }
 
+    /*
+     * Copies the run of ASCII characters at the start of the source to the target in bulk, through
+     * the arrays of the buffers, and advances both buffers past it. The run ends before the first
+     * character that is not ASCII or that does not round-trip to the same byte.
+     * @param asciiRoundtrips A bit set with one bit for each group of 4 ASCII characters, set if
+     *         all of them round-trip, like the one in the MBCS data
+     * @return The number of characters copied, which is 0 unless both buffers have accessible
+     *         arrays
+     */
+    static final int copyASCII(CharBuffer source, ByteBuffer target, int asciiRoundtrips) {
+        if (!source.hasArray() || !target.hasArray()) {
+            return 0;
+        }
+        char[] sourceArray = source.array();
+        int sourceStart = source.arrayOffset() + source.position();
+        int sourceIndex = sourceStart;
+        int sourceLimit = sourceStart + Math.min(source.remaining(), target.remaining());
+        byte[] targetArray = target.array();
+        int targetOffset = target.arrayOffset() + target.position() - sourceStart;
+
+        if (asciiRoundtrips == 0xffffffff) {
+            /* all of ASCII round-trips: only test for the high bits */
+            char c;
+            while (sourceIndex < sourceLimit && (c = sourceArray[sourceIndex]) <= 0x7f) {
+                targetArray[targetOffset + sourceIndex++] = (byte) c;
+            }
+        } else {
+            char c;
+            while (sourceIndex < sourceLimit
+                    && (c = sourceArray[sourceIndex]) <= 0x7f
+                    && (asciiRoundtrips & (1 << (c >> 2))) != 0) {
+                targetArray[targetOffset + sourceIndex++] = (byte) c;
+            }
+        }
+
+        int length = sourceIndex - sourceStart;
+        source.position(source.position() + length);
+        target.position(target.position() + length);
+        return length;
+    }
+
     /*
      * Returns the number of chars held in the converter's internal state
      * because more input is needed for completing the conversion. This function is
@@ -427,6 +427,11 @@ && MBCS_ENTRY_FINAL_STATE(entry) != 0) {
 
                     mbcsTable.outputType = MBCS_OUTPUT_DBCS_ONLY;
                 }
+
+                if (mbcsTable.outputType == MBCS_OUTPUT_DBCS_ONLY) {
+                    /* No SBCS mappings, therefore ASCII does not roundtrip. */
+                    mbcsTable.asciiRoundtrips = 0;
+                }
             }
 
             /*
@@ -523,7 +528,6 @@ && MBCS_ENTRY_FINAL_STATE(entry) != 0) {
                 }
                 mbcsTable.asciiRoundtrips = asciiRoundtrips;
             }
-            // TODO: Use asciiRoundtrips to speed up conversion, like in ICU4C.
 
             if (noFromU) {
                 int stage1Length =
@@ -1320,6 +1324,27 @@ static boolean MBCS_IS_ASCII_ROUNDTRIP(int b, long asciiRoundtrips) {
         return (((asciiRoundtrips) & (1 << ((b) >> 2))) != 0);
     }
 
+    /*
+     * Returns the asciiRoundtrips bit set for copying runs of ASCII in bulk with copyASCII(), or 0
+     * if that is not possible for this conversion: when offsets are requested, when a buffer does
+     * not have an accessible array, or with the swaplfnl option.
+     */
+    private int getASCIIRoundtrips(Buffer source, Buffer target, IntBuffer offsets) {
+        if (offsets != null || !source.hasArray() || !target.hasArray() || !canCopyASCII()) {
+            return 0;
+        }
+        return sharedData.mbcs.asciiRoundtrips;
+    }
+
+    /*
+     * Returns true if some runs of ASCII can be copied in bulk with copyASCII(), which the coders
+     * then also do for buffers without accessible arrays by converting through scratch arrays.
+     */
+    private boolean canCopyASCII() {
+        return sharedData.mbcs.asciiRoundtrips != 0
+                && (options & UConverterConstants.OPTION_SWAP_LFNL) == 0;
+    }
+
     /**
      * This macro version of _MBCSSingleSimpleGetNextUChar() gets a code point from a byte. It works
      * for single-byte, single-state codepages that only map to and from BMP code points, and it
@@ -1711,6 +1736,11 @@ class CharsetDecoderMBCS extends CharsetDecoderICU {
             super(cs);
         }
 
+        @Override
+        boolean prefersArrays() {
+            return canCopyASCII();
+        }
+
         @Override
         protected CoderResult decodeLoop(
                 ByteBuffer source, CharBuffer target, IntBuffer offsets, boolean flush) {
@@ -2223,6 +2253,8 @@ CoderResult cnvMBCSToUnicodeWithOffsets(
             sourceIndex = byteIndex == 0 ? 0 : -1;
             nextSourceIndex = 0;
 
+            int asciiRoundtrips = getASCIIRoundtrips(source, target, offsets);
+
             /* conversion loop */
             while (sourceArrayIndex < source.limit()) {
                 /*
@@ -2241,6 +2273,18 @@ CoderResult cnvMBCSToUnicodeWithOffsets(
                     /* optimized loop for 1/2-byte input and BMP output */
                     // agljport:todo see ucnvmbcs.c for deleted block
                     do {
+                        if (asciiRoundtrips != 0
+                                && state == 0
+                                && source.get(sourceArrayIndex) >= 0) {
+                            /* copy a run of ASCII in bulk */
+                            source.position(sourceArrayIndex);
+                            int asciiLength = copyASCII(source, target, asciiRoundtrips);
+                            if (asciiLength > 0) {
+                                sourceArrayIndex += asciiLength;
+                                sourceIndex = (nextSourceIndex += asciiLength);
+                                continue;
+                            }
+                        }
                         entry =
                                 stateTable[state][
                                         source.get(sourceArrayIndex)
@@ -2577,8 +2621,21 @@ private CoderResult cnvMBCSSingleToBMPWithOffsets(
                 targetCapacity = length;
             }
 
+            int asciiRoundtrips = getASCIIRoundtrips(source, target, offsets);
+
             /* conversion loop */
             while (targetCapacity > 0 && sourceArrayIndex < source.limit()) {
+                if (asciiRoundtrips != 0 && source.get(sourceArrayIndex) >= 0) {
+                    /* copy a run of ASCII in bulk */
+                    source.position(sourceArrayIndex);
+                    int asciiLength = copyASCII(source, target, asciiRoundtrips);
+                    if (asciiLength > 0) {
+                        sourceArrayIndex += asciiLength;
+                        sourceIndex += asciiLength;
+                        targetCapacity -= asciiLength;
+                        continue;
+                    }
+                }
                 entry =
                         stateTable[0][
                                 source.get(sourceArrayIndex++)
@@ -3040,6 +3097,11 @@ protected void implReset() {
             preFromUFirstCP = UConverterConstants.U_SENTINEL;
         }
 
+        @Override
+        boolean prefersArrays() {
+            return canCopyASCII();
+        }
+
         @Override
         @SuppressWarnings("fallthrough")
         protected CoderResult encodeLoop(
@@ -3057,7 +3119,7 @@ protected CoderResult encodeLoop(
             int prevSourceIndex, sourceIndex, nextSourceIndex;
             int stage2Entry = 0, value = 0, length = 0, prevLength;
             short uniMask;
-            // long asciiRoundtrips;
+            int asciiRoundtrips;
 
             byte[] si_value = new byte[2];
             byte[] so_value = new byte[2];
@@ -3107,7 +3169,7 @@ protected CoderResult encodeLoop(
                     chars = sharedData.mbcs.fromUnicodeChars;
                 }
 
-                // asciiRoundtrips = sharedData.mbcs.asciiRoundtrips;
+                asciiRoundtrips = getASCIIRoundtrips(source, target, offsets);
 
                 /* get the converter state from UConverter */
                 c = fromUChar32;
@@ -3187,6 +3249,17 @@ protected CoderResult encodeLoop(
                             if (doread) {
                                 // doread might be false only on the first looping
 
+                                if (asciiRoundtrips != 0 && source.get(sourceArrayIndex) <= 0x7f) {
+                                    /* copy a run of ASCII in bulk */
+                                    source.position(sourceArrayIndex);
+                                    int asciiLength = copyASCII(source, target, asciiRoundtrips);
+                                    if (asciiLength > 0) {
+                                        sourceArrayIndex += asciiLength;
+                                        sourceIndex = (nextSourceIndex += asciiLength);
+                                        continue;
+                                    }
+                                }
+
                                 c = source.get(sourceArrayIndex++);
                                 ++nextSourceIndex;
 
@@ -4349,8 +4422,21 @@ private CoderResult cnvMBCSSingleFromBMPWithOffsets(
                 sourceArrayIndex = x.sourceArrayIndex;
             }
 
+            int asciiRoundtrips = getASCIIRoundtrips(source, target, offsets);
+
             if (doloop) {
                 while (targetCapacity > 0) {
+                    if (asciiRoundtrips != 0 && source.get(sourceArrayIndex) <= 0x7f) {
+                        /* copy a run of ASCII in bulk */
+                        source.position(sourceArrayIndex);
+                        int asciiLength = copyASCII(source, target, asciiRoundtrips);
+                        if (asciiLength > 0) {
+                            sourceArrayIndex += asciiLength;
+                            sourceIndex += asciiLength;
+                            targetCapacity -= asciiLength;
+                            continue;
+                        }
+                    }
                     /*
                      * Get a correct Unicode code point: a single UChar for a BMP code point or a matched surrogate pair
                      * for a "supplementary code point".
@@ -4651,6 +4737,8 @@ private CoderResult cnvMBCSDoubleFromUnicodeWithOffsets(
             sourceIndex = c == 0 ? 0 : -1;
             nextSourceIndex = 0;
 
+            int asciiRoundtrips = getASCIIRoundtrips(source, target, offsets);
+
             /* conversion loop */
             boolean doloop = true;
             boolean doread = true;
@@ -4680,6 +4768,16 @@ private CoderResult cnvMBCSDoubleFromUnicodeWithOffsets(
                      */
                     if (target.hasRemaining()) {
                         if (doread) {
+                            if (asciiRoundtrips != 0 && source.get(sourceArrayIndex) <= 0x7f) {
+                                /* copy a run of ASCII in bulk */
+                                source.position(sourceArrayIndex);
+                                int asciiLength = copyASCII(source, target, asciiRoundtrips);
+                                if (asciiLength > 0) {
+                                    sourceArrayIndex += asciiLength;
+                                    sourceIndex = (nextSourceIndex += asciiLength);
+                                    continue;
+                                }
+                            }
                             /*
                              * Get a correct Unicode code point: a single UChar for a BMP code point or a matched
                              * surrogate pair for a "supplementary code point".
@@ -4913,7 +5011,17 @@ private final boolean unassigned(
             /* try an extension mapping */
             int sourceBegin = x.sourceArrayIndex;
             source.position(x.sourceArrayIndex);
-            x.c = fromU(x.c, source, target, null, x.sourceIndex, x.nextSourceIndex, flush, cr);
+            /* the unmappable length counts from the start of the input, also when it is staged */
+            x.c =
+                    fromU(
+                            x.c,
+                            source,
+                            target,
+                            null,
+                            x.sourceIndex,
+                            scratchSourceIndex + x.nextSourceIndex,
+                            flush,
+                            cr);
             x.sourceArrayIndex = source.position();
             x.nextSourceIndex += x.sourceArrayIndex - sourceBegin;
             x.prevLength = fromUnicodeStatus;
@@ -4996,7 +5104,17 @@ private final boolean unassignedDouble(
             /* try an extension mapping */
             int sourceBegin = x.sourceArrayIndex;
             source.position(x.sourceArrayIndex);
-            x.c = fromU(x.c, source, target, null, x.sourceIndex, x.nextSourceIndex, flush, cr);
+            /* the unmappable length counts from the start of the input, also when it is staged */
+            x.c =
+                    fromU(
+                            x.c,
+                            source,
+                            target,
+                            null,
+                            x.sourceIndex,
+                            scratchSourceIndex + x.nextSourceIndex,
+                            flush,
+                            cr);
             x.sourceArrayIndex = source.position();
             x.nextSourceIndex += x.sourceArrayIndex - sourceBegin;
 
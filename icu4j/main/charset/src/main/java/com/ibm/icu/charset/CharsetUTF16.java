@@ -84,6 +84,11 @@ public CharsetDecoderUTF16(CharsetICU cs) {
             super(cs);
         }
 
+        @Override
+        boolean prefersArrays() {
+            return true;
+        }
+
         @Override
         protected void implReset() {
             super.implReset();
@@ -170,6 +175,13 @@ protected CoderResult decodeLoop(
             char char16;
 
             while (true) {
+                if (toULength == 0
+                        && source.hasArray()
+                        && target.hasArray()
+                        && !(isEndianSpecified && version == 1)) {
+                    decodeBMP(source, target);
+                }
+
                 while (toULength < 2) {
                     if (!source.hasRemaining()) return CoderResult.UNDERFLOW;
                     toUBytesArray[toULength++] = source.get();
@@ -210,6 +222,39 @@ protected CoderResult decodeLoop(
             }
         }
 
+        /*
+         * Decodes the run of BMP code points at the start of the source, through the arrays of the
+         * buffers, and advances both buffers past it. The run ends before the first surrogate.
+         */
+        private final void decodeBMP(ByteBuffer source, CharBuffer target) {
+            byte[] sourceArray = source.array();
+            int sourceIndex = source.arrayOffset() + source.position();
+            int sourceLimit =
+                    sourceIndex + 2 * Math.min(source.remaining() >> 1, target.remaining());
+            char[] targetArray = target.array();
+            int targetIndex = target.arrayOffset() + target.position();
+            int highIndex = actualEndianXOR;
+            int lowIndex = actualEndianXOR ^ 1;
+
+            while (sourceIndex < sourceLimit) {
+                char char16 =
+                        (char)
+                                (((sourceArray[sourceIndex + highIndex]
+                                                        & UConverterConstants.UNSIGNED_BYTE_MASK)
+                                                << 8)
+                                        | (sourceArray[sourceIndex + lowIndex]
+                                                & UConverterConstants.UNSIGNED_BYTE_MASK));
+                if (UTF16.isSurrogate(char16)) {
+                    break;
+                }
+                targetArray[targetIndex++] = char16;
+                sourceIndex += 2;
+            }
+
+            source.position(sourceIndex - source.arrayOffset());
+            target.position(targetIndex - target.arrayOffset());
+        }
+
         private final CoderResult decodeTrail(
                 ByteBuffer source, CharBuffer target, IntBuffer offsets, char lead) {
             if (!UTF16.isLeadSurrogate(lead)) {
@@ -276,6 +321,11 @@ protected void implReset() {
             fromUnicodeStatus = (isEndianSpecified && version != 1) ? 0 : NEED_TO_WRITE_BOM;
         }
 
+        @Override
+        boolean prefersArrays() {
+            return true;
+        }
+
         @Override
         protected CoderResult encodeLoop(
                 CharBuffer source, ByteBuffer target, IntBuffer offsets, boolean flush) {
@@ -299,6 +349,10 @@ protected CoderResult encodeLoop(
             }
 
             while (true) {
+                if (offsets == null && source.hasArray() && target.hasArray()) {
+                    encodeBMP(source, target);
+                }
+
                 if (!source.hasRemaining()) return CoderResult.UNDERFLOW;
                 if (!target.hasRemaining()) return CoderResult.OVERFLOW;
 
@@ -307,6 +361,31 @@ protected CoderResult encodeLoop(
             }
         }
 
+        /*
+         * Encodes the run of BMP code points at the start of the source, through the arrays of the
+         * buffers, and advances both buffers past it. The run ends before the first surrogate.
+         */
+        private final void encodeBMP(CharBuffer source, ByteBuffer target) {
+            char[] sourceArray = source.array();
+            int sourceIndex = source.arrayOffset() + source.position();
+            int sourceLimit = sourceIndex + Math.min(source.remaining(), target.remaining() >> 1);
+            byte[] targetArray = target.array();
+            int targetIndex = target.arrayOffset() + target.position();
+            int highIndex = endianXOR;
+            int lowIndex = endianXOR ^ 1;
+
+            char ch;
+            while (sourceIndex < sourceLimit && !UTF16.isSurrogate(ch = sourceArray[sourceIndex])) {
+                targetArray[targetIndex + highIndex] = (byte) (ch >>> 8);
+                targetArray[targetIndex + lowIndex] = (byte) ch;
+                targetIndex += 2;
+                ++sourceIndex;
+            }
+
+            source.position(sourceIndex - source.arrayOffset());
+            target.position(targetIndex - target.arrayOffset());
+        }
+
         private final CoderResult encodeChar(
                 CharBuffer source, ByteBuffer target, IntBuffer offsets, char ch) {
             int sourceIndex = source.position() - 1;
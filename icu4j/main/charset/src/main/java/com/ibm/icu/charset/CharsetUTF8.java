@@ -43,6 +43,11 @@ public CharsetDecoderUTF8(CharsetICU cs) {
             super(cs);
         }
 
+        @Override
+        boolean prefersArrays() {
+            return true;
+        }
+
         @Override
         protected CoderResult decodeLoop(
                 ByteBuffer source, CharBuffer target, IntBuffer offsets, boolean flush) {
@@ -344,6 +349,11 @@ protected void implReset() {
             super.implReset();
         }
 
+        @Override
+        boolean prefersArrays() {
+            return true;
+        }
+
         @Override
         protected CoderResult encodeLoop(
                 CharBuffer source, ByteBuffer target, IntBuffer offsets, boolean flush) {
@@ -20,6 +20,7 @@
 import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
@@ -27,6 +28,7 @@
 import java.nio.charset.CoderMalfunctionError;
 import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
 import java.nio.charset.spi.CharsetProvider;
 import java.util.ArrayList;
@@ -7540,4 +7542,337 @@ public void TestDefaultIgnorableCallback() {
             }
         }
     }
+
+    // Runs of ASCII are copied in bulk by the MBCS converters. That must not change the
+    // positions and error lengths reported for the characters that follow the run.
+    @Test
+    public void TestMBCSErrorsAfterASCIIRun() {
+        String[] charsetNames = {
+            "Shift_JIS",
+            "Big5",
+            "Big5-HKSCS",
+            "EUC-JP",
+            "EUC-KR",
+            "GB2312",
+            "GBK",
+            "KSC_5601",
+            "cp1363",
+            "x-IBM942",
+            "x-IBM943",
+            "x-IBM949",
+            "x-IBM950",
+            "x-IBM954",
+            "x-IBM964",
+            "x-MS950-HKSCS"
+        };
+        int[] asciiLengths = {1, 4, 100};
+        for (String name : charsetNames) {
+            Charset cs = CharsetICU.forNameICU(name);
+            for (int asciiLength : asciiLengths) {
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < asciiLength; ++i) {
+                    sb.append((char) ('A' + i % 26));
+                }
+                String ascii = sb.toString();
+
+                // The unmappable result counts the characters consumed in this call,
+                // including the run of ASCII before the unmappable character.
+                CharsetEncoder encoder = cs.newEncoder();
+                CharBuffer source = CharBuffer.wrap(ascii + "\u2737xy\u2738");
+                ByteBuffer target = ByteBuffer.allocate(asciiLength + 10);
+                CoderResult result = encoder.encode(source, target, true);
+                if (!result.isUnmappable()
+                        || result.length() != asciiLength + 1
+                        || source.position() != asciiLength + 1
+                        || target.position() != asciiLength) {
+                    errln(
+                            name
+                                    + " encoding "
+                                    + asciiLength
+                                    + " ASCII + U+2737: got "
+                                    + result
+                                    + " at source "
+                                    + source.position()
+                                    + ", target "
+                                    + target.position());
+                }
+                result = encoder.encode(source, target, true);
+                if (!result.isUnmappable()
+                        || result.length() != 3
+                        || source.position() != asciiLength + 4
+                        || target.position() != asciiLength + 2) {
+                    errln(
+                            name
+                                    + " encoding xy + U+2738 after "
+                                    + asciiLength
+                                    + " ASCII: got "
+                                    + result
+                                    + " at source "
+                                    + source.position()
+                                    + ", target "
+                                    + target.position());
+                }
+
+                // Any error for the byte after the run must start right after the run.
+                CharsetDecoder decoder = cs.newDecoder();
+                byte[] bytes = (ascii + "\u00ffd").getBytes(StandardCharsets.ISO_8859_1);
+                ByteBuffer in = ByteBuffer.wrap(bytes);
+                CharBuffer out = CharBuffer.allocate(bytes.length);
+                result = decoder.decode(in, out, true);
+                if (result.isError()
+                        && (in.position() - result.length() != asciiLength
+                                || out.position() != asciiLength)) {
+                    errln(
+                            name
+                                    + " decoding "
+                                    + asciiLength
+                                    + " ASCII + \\xff: got "
+                                    + result
+                                    + " at source "
+                                    + in.position()
+                                    + ", target "
+                                    + out.position());
+                }
+            }
+        }
+    }
+
+    private static final int HEAP = 0, DIRECT = 1, READ_ONLY = 2;
+
+    private static ByteBuffer newByteBuffer(int kind, byte[] bytes, int start, int limit) {
+        ByteBuffer buffer;
+        if (kind == HEAP) {
+            buffer = ByteBuffer.allocate(limit - start);
+        } else {
+            buffer = ByteBuffer.allocateDirect(limit - start);
+        }
+        buffer.put(bytes, start, limit - start).flip();
+        return kind == READ_ONLY ? buffer.asReadOnlyBuffer() : buffer;
+    }
+
+    private static CharBuffer newCharBuffer(int kind, String s, int start, int limit) {
+        CharBuffer buffer;
+        if (kind == HEAP) {
+            buffer = CharBuffer.allocate(limit - start);
+        } else {
+            buffer = ByteBuffer.allocateDirect(2 * (limit - start)).asCharBuffer();
+        }
+        buffer.put(s, start, limit).flip();
+        return kind == READ_ONLY ? buffer.asReadOnlyBuffer() : buffer;
+    }
+
+    /*
+     * Decodes the bytes in chunks, reporting errors, and returns the output
+     * together with the sequence of results and buffer positions.
+     */
+    private static String decodeInChunks(
+            Charset cs, byte[] bytes, int sourceKind, int targetKind, int chunk, int capacity) {
+        CharsetDecoder decoder =
+                cs.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPORT)
+                        .onUnmappableCharacter(CodingErrorAction.REPORT);
+        CharBuffer target =
+                targetKind == HEAP
+                        ? CharBuffer.allocate(capacity)
+                        : ByteBuffer.allocateDirect(2 * capacity).asCharBuffer();
+        StringBuilder output = new StringBuilder();
+        StringBuilder results = new StringBuilder();
+        int start = 0;
+        int limit = 0;
+        do {
+            /* unconsumed input is passed again, with the next chunk */
+            limit = Math.min(limit + chunk, bytes.length);
+            boolean flush = limit == bytes.length;
+            ByteBuffer source = newByteBuffer(sourceKind, bytes, start, limit);
+            CoderResult cr;
+            do {
+                int position = source.position();
+                cr = decoder.decode(source, target, flush);
+                results.append(cr)
+                        .append('@')
+                        .append(start + source.position())
+                        .append('/')
+                        .append(output.length() + target.position())
+                        .append(' ');
+                if (cr.isOverflow()) {
+                    output.append(target.flip());
+                    target.clear();
+                } else if (cr.isError() && source.position() == position) {
+                    /* skip the erroneous input if the converter did not consume it */
+                    source.position(position + Math.min(cr.length(), source.remaining()));
+                }
+            } while (!cr.isUnderflow());
+            start += source.position();
+        } while (limit < bytes.length);
+        output.append(target.flip());
+        return output + "\n" + results;
+    }
+
+    /*
+     * Encodes the string in chunks, reporting errors, and returns the output
+     * together with the sequence of results and buffer positions.
+     */
+    private static String encodeInChunks(
+            Charset cs, String s, int sourceKind, int targetKind, int chunk, int capacity) {
+        CharsetEncoder encoder =
+                cs.newEncoder()
+                        .onMalformedInput(CodingErrorAction.REPORT)
+                        .onUnmappableCharacter(CodingErrorAction.REPORT);
+        ByteBuffer target =
+                targetKind == HEAP
+                        ? ByteBuffer.allocate(capacity)
+                        : ByteBuffer.allocateDirect(capacity);
+        StringBuilder output = new StringBuilder();
+        StringBuilder results = new StringBuilder();
+        int start = 0;
+        int limit = 0;
+        do {
+            /* unconsumed input is passed again, with the next chunk */
+            limit = Math.min(limit + chunk, s.length());
+            boolean flush = limit == s.length();
+            CharBuffer source = newCharBuffer(sourceKind, s, start, limit);
+            CoderResult cr;
+            do {
+                int position = source.position();
+                cr = encoder.encode(source, target, flush);
+                results.append(cr)
+                        .append('@')
+                        .append(start + source.position())
+                        .append('/')
+                        .append(output.length() / 2 + target.position())
+                        .append(' ');
+                if (cr.isOverflow()) {
+                    appendHex(output, target);
+                } else if (cr.isError() && source.position() == position) {
+                    /* skip the erroneous input if the converter did not consume it */
+                    source.position(position + Math.min(cr.length(), source.remaining()));
+                }
+            } while (!cr.isUnderflow());
+            start += source.position();
+        } while (limit < s.length());
+        appendHex(output, target);
+        return output + "\n" + results;
+    }
+
+    private static void appendHex(StringBuilder sb, ByteBuffer buffer) {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            int b = buffer.get();
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16))
+                    .append(Character.forDigit(b & 0xf, 16));
+        }
+        buffer.clear();
+    }
+
+    // Direct and read-only buffers are converted through scratch arrays by some converters.
+    // That must give the same output, results and positions as heap buffers,
+    // also with input split across calls and with output overflowing.
+    @Test
+    public void TestBufferKinds() {
+        String[] charsetNames = {
+            "UTF-8", "UTF-16", "UTF-16BE", "UTF-16LE", "Shift_JIS", "GBK", "windows-1252", "ibm-37"
+        };
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 4100; ++i) {
+            sb.append((char) ('a' + i % 26));
+        }
+        String ascii = sb.toString();
+        String s =
+                ascii
+                        + "\u00e9\u4e00\ud83d\ude00\u3042\ud840\udc00"
+                        + ascii.substring(0, 4090)
+                        + "x\ud83d\ude00\ud83d\ude00\u2737y\ud800z\udc00"
+                        + ascii.substring(0, 100)
+                        + "\u00e9";
+        int[] chunks = {1, 3, 4095, 4096, 4097, 20000};
+        int[] capacities = {5, 4099, 20000};
+        int[][] kinds = {
+            {DIRECT, HEAP}, {HEAP, DIRECT}, {DIRECT, DIRECT}, {READ_ONLY, HEAP}, {READ_ONLY, DIRECT}
+        };
+        for (String name : charsetNames) {
+            Charset cs = CharsetICU.forNameICU(name);
+            // An illegal byte in the middle and a truncated character at the end.
+            ByteBuffer buffer = cs.encode(s);
+            byte[] encoded = new byte[buffer.remaining()];
+            buffer.get(encoded);
+            byte[] bytes = new byte[encoded.length + 2];
+            System.arraycopy(encoded, 0, bytes, 0, 5000);
+            bytes[5000] = (byte) 0xff;
+            System.arraycopy(encoded, 5000, bytes, 5001, encoded.length - 5000);
+            bytes[bytes.length - 1] = name.equals("Shift_JIS") ? (byte) 0x81 : (byte) 0xe4;
+            for (int chunk : chunks) {
+                for (int capacity : capacities) {
+                    if (chunk < 4095 && capacity != 20000) {
+                        continue; // small chunks straddle the scratch boundaries anyway
+                    }
+                    String expected = decodeInChunks(cs, bytes, HEAP, HEAP, chunk, capacity);
+                    for (int[] kind : kinds) {
+                        String actual =
+                                decodeInChunks(cs, bytes, kind[0], kind[1], chunk, capacity);
+                        if (!expected.equals(actual)) {
+                            errln(
+                                    name
+                                            + " decoding with buffer kinds "
+                                            + Arrays.toString(kind)
+                                            + ", chunk "
+                                            + chunk
+                                            + ", capacity "
+                                            + capacity
+                                            + " differs from heap buffers");
+                        }
+                    }
+                    expected = encodeInChunks(cs, s, HEAP, HEAP, chunk, capacity);
+                    for (int[] kind : kinds) {
+                        String actual = encodeInChunks(cs, s, kind[0], kind[1], chunk, capacity);
+                        if (!expected.equals(actual)) {
+                            errln(
+                                    name
+                                            + " encoding with buffer kinds "
+                                            + Arrays.toString(kind)
+                                            + ", chunk "
+                                            + chunk
+                                            + ", capacity "
+                                            + capacity
+                                            + " differs from heap buffers");
+                        }
+                    }
+                }
+            }
+
+            // Output into a read-only buffer fails the same way for all kinds of input:
+            // CharsetDecoder and CharsetEncoder wrap the ReadOnlyBufferException.
+            for (int sourceKind = HEAP; sourceKind <= READ_ONLY; ++sourceKind) {
+                try {
+                    cs.newDecoder()
+                            .decode(
+                                    newByteBuffer(sourceKind, bytes, 0, 100),
+                                    CharBuffer.allocate(100).asReadOnlyBuffer(),
+                                    true);
+                    errln(name + " decoding into a read-only buffer did not fail");
+                } catch (CoderMalfunctionError e) {
+                    if (!(e.getCause() instanceof ReadOnlyBufferException)) {
+                        errln(
+                                name
+                                        + " decoding into a read-only buffer failed with "
+                                        + e.getCause());
+                    }
+                }
+                try {
+                    cs.newEncoder()
+                            .encode(
+                                    newCharBuffer(sourceKind, s, 0, 100),
+                                    ByteBuffer.allocateDirect(400).asReadOnlyBuffer(),
+                                    true);
+                    errln(name + " encoding into a read-only buffer did not fail");
+                } catch (CoderMalfunctionError e) {
+                    if (!(e.getCause() instanceof ReadOnlyBufferException)) {
+                        errln(
+                                name
+                                        + " encoding into a read-only buffer failed with "
+                                        + e.getCause());
+                    }
+                }
+            }
+        }
+    }
 }
@@ -94,6 +94,94 @@ public static int compareUpToQuaternary(
                 break;
             }
         }
+        return compareBelowPrimary(left.getCEs(), right.getCEs(), anyVariable, settings);
+    }
+
+    /**
+     * Same as {@link #compareUpToQuaternary(CollationIterator, CollationIterator,
+     * CollationSettings)} but for CEs that have already been fetched. Each array must be terminated
+     * with Collation.NO_CE. The arrays are modified: Variable CEs are shifted as during the
+     * iterator comparison.
+     */
+    public static int compareUpToQuaternary(
+            long[] leftCEs, long[] rightCEs, CollationSettings settings) {
+        int options = settings.options;
+        long variableTop;
+        if ((options & CollationSettings.ALTERNATE_MASK) == 0) {
+            variableTop = 0;
+        } else {
+            // +1 so that we can use "<" and primary ignorables test out early.
+            variableTop = settings.variableTop + 1;
+        }
+        boolean anyVariable = false;
+
+        // Compare primaries, and shift variable CEs in place.
+        int leftIndex = 0;
+        int rightIndex = 0;
+        for (; ; ) {
+            long leftPrimary;
+            do {
+                long ce = leftCEs[leftIndex++];
+                leftPrimary = ce >>> 32;
+                if (leftPrimary < variableTop && leftPrimary > Collation.MERGE_SEPARATOR_PRIMARY) {
+                    anyVariable = true;
+                    do {
+                        leftCEs[leftIndex - 1] = ce & 0xffffffff00000000L;
+                        for (; ; ) {
+                            ce = leftCEs[leftIndex++];
+                            leftPrimary = ce >>> 32;
+                            if (leftPrimary == 0) {
+                                leftCEs[leftIndex - 1] = 0;
+                            } else {
+                                break;
+                            }
+                        }
+                    } while (leftPrimary < variableTop
+                            && leftPrimary > Collation.MERGE_SEPARATOR_PRIMARY);
+                }
+            } while (leftPrimary == 0);
+
+            long rightPrimary;
+            do {
+                long ce = rightCEs[rightIndex++];
+                rightPrimary = ce >>> 32;
+                if (rightPrimary < variableTop
+                        && rightPrimary > Collation.MERGE_SEPARATOR_PRIMARY) {
+                    anyVariable = true;
+                    do {
+                        rightCEs[rightIndex - 1] = ce & 0xffffffff00000000L;
+                        for (; ; ) {
+                            ce = rightCEs[rightIndex++];
+                            rightPrimary = ce >>> 32;
+                            if (rightPrimary == 0) {
+                                rightCEs[rightIndex - 1] = 0;
+                            } else {
+                                break;
+                            }
+                        }
+                    } while (rightPrimary < variableTop
+                            && rightPrimary > Collation.MERGE_SEPARATOR_PRIMARY);
+                }
+            } while (rightPrimary == 0);
+
+            if (leftPrimary != rightPrimary) {
+                // Return the primary difference, with script reordering.
+                if (settings.hasReordering()) {
+                    leftPrimary = settings.reorder(leftPrimary);
+                    rightPrimary = settings.reorder(rightPrimary);
+                }
+                return (leftPrimary < rightPrimary) ? Collation.LESS : Collation.GREATER;
+            }
+            if (leftPrimary == Collation.NO_CE_PRIMARY) {
+                break;
+            }
+        }
+        return compareBelowPrimary(leftCEs, rightCEs, anyVariable, settings);
+    }
+
+    private static int compareBelowPrimary(
+            long[] leftCEs, long[] rightCEs, boolean anyVariable, CollationSettings settings) {
+        int options = settings.options;
 
         // Compare the buffered secondary & tertiary weights.
         // We might skip the secondary level but continue with the case level
@@ -105,12 +193,12 @@ public static int compareUpToQuaternary(
                 for (; ; ) {
                     int leftSecondary;
                     do {
-                        leftSecondary = ((int) left.getCE(leftIndex++)) >>> 16;
+                        leftSecondary = ((int) leftCEs[leftIndex++]) >>> 16;
                     } while (leftSecondary == 0);
 
                     int rightSecondary;
                     do {
-                        rightSecondary = ((int) right.getCE(rightIndex++)) >>> 16;
+                        rightSecondary = ((int) rightCEs[rightIndex++]) >>> 16;
                     } while (rightSecondary == 0);
 
                     if (leftSecondary != rightSecondary) {
@@ -131,12 +219,12 @@ public static int compareUpToQuaternary(
                     // Find the merge separator or the NO_CE terminator.
                     long p;
                     int leftLimit = leftStart;
-                    while ((p = left.getCE(leftLimit) >>> 32) > Collation.MERGE_SEPARATOR_PRIMARY
+                    while ((p = leftCEs[leftLimit] >>> 32) > Collation.MERGE_SEPARATOR_PRIMARY
                             || p == 0) {
                         ++leftLimit;
                     }
                     int rightLimit = rightStart;
-                    while ((p = right.getCE(rightLimit) >>> 32) > Collation.MERGE_SEPARATOR_PRIMARY
+                    while ((p = rightCEs[rightLimit] >>> 32) > Collation.MERGE_SEPARATOR_PRIMARY
                             || p == 0) {
                         ++rightLimit;
                     }
@@ -147,12 +235,12 @@ public static int compareUpToQuaternary(
                     for (; ; ) {
                         int leftSecondary = 0;
                         while (leftSecondary == 0 && leftIndex > leftStart) {
-                            leftSecondary = ((int) left.getCE(--leftIndex)) >>> 16;
+                            leftSecondary = ((int) leftCEs[--leftIndex]) >>> 16;
                         }
 
                         int rightSecondary = 0;
                         while (rightSecondary == 0 && rightIndex > rightStart) {
-                            rightSecondary = ((int) right.getCE(--rightIndex)) >>> 16;
+                            rightSecondary = ((int) rightCEs[--rightIndex]) >>> 16;
                         }
 
                         if (leftSecondary != rightSecondary) {
@@ -168,7 +256,7 @@ public static int compareUpToQuaternary(
                     // Did we reach the end of either string?
                     // Both strings have the same number of merge separators,
                     // or else there would have been a primary-level difference.
-                    assert (left.getCE(leftLimit) == right.getCE(rightLimit));
+                    assert (leftCEs[leftLimit] == rightCEs[rightLimit]);
                     if (p == Collation.NO_CE_PRIMARY) {
                         break;
                     }
@@ -193,14 +281,14 @@ public static int compareUpToQuaternary(
                     // with only primary weights.
                     long ce;
                     do {
-                        ce = left.getCE(leftIndex++);
+                        ce = leftCEs[leftIndex++];
                         leftCase = (int) ce;
                     } while ((ce >>> 32) == 0 || leftCase == 0);
                     leftLower32 = leftCase;
                     leftCase &= 0xc000;
 
                     do {
-                        ce = right.getCE(rightIndex++);
+                        ce = rightCEs[rightIndex++];
                         rightCase = (int) ce;
                     } while ((ce >>> 32) == 0 || rightCase == 0);
                     rightCase &= 0xc000;
@@ -220,13 +308,13 @@ public static int compareUpToQuaternary(
                     // turning 0.0.ut into 0.0.0.t.
                     // (See LDML Collation, Case Parameters.)
                     do {
-                        leftCase = (int) left.getCE(leftIndex++);
+                        leftCase = (int) leftCEs[leftIndex++];
                     } while ((leftCase & 0xffff0000) == 0);
                     leftLower32 = leftCase;
                     leftCase &= 0xc000;
 
                     do {
-                        rightCase = (int) right.getCE(rightIndex++);
+                        rightCase = (int) rightCEs[rightIndex++];
                     } while ((rightCase & 0xffff0000) == 0);
                     rightCase &= 0xc000;
                 }
@@ -258,7 +346,7 @@ public static int compareUpToQuaternary(
         for (; ; ) {
             int leftLower32, leftTertiary;
             do {
-                leftLower32 = (int) left.getCE(leftIndex++);
+                leftLower32 = (int) leftCEs[leftIndex++];
                 anyQuaternaries |= leftLower32;
                 assert ((leftLower32 & Collation.ONLY_TERTIARY_MASK) != 0
                         || (leftLower32 & 0xc0c0) == 0);
@@ -267,7 +355,7 @@ public static int compareUpToQuaternary(
 
             int rightLower32, rightTertiary;
             do {
-                rightLower32 = (int) right.getCE(rightIndex++);
+                rightLower32 = (int) rightCEs[rightIndex++];
                 anyQuaternaries |= rightLower32;
                 assert ((rightLower32 & Collation.ONLY_TERTIARY_MASK) != 0
                         || (rightLower32 & 0xc0c0) == 0);
@@ -317,7 +405,7 @@ public static int compareUpToQuaternary(
         for (; ; ) {
             long leftQuaternary;
             do {
-                long ce = left.getCE(leftIndex++);
+                long ce = leftCEs[leftIndex++];
                 leftQuaternary = ce & 0xffff;
                 if (leftQuaternary <= Collation.NO_CE_WEIGHT16) {
                     // Variable primary or completely ignorable or NO_CE.
@@ -331,7 +419,7 @@ public static int compareUpToQuaternary(
 
             long rightQuaternary;
             do {
-                long ce = right.getCE(rightIndex++);
+                long ce = rightCEs[rightIndex++];
                 rightQuaternary = ce & 0xffff;
                 if (rightQuaternary <= Collation.NO_CE_WEIGHT16) {
                     // Variable primary or completely ignorable or NO_CE.
@@ -48,9 +48,11 @@ int getCE32FromSupplementary(int c) {
     }
 
     boolean isDigit(int c) {
-        return c < 0x660
-                ? c <= 0x39 && 0x30 <= c
-                : Collation.hasCE32Tag(getCE32(c), Collation.DIGIT_TAG);
+        if (c < 0x660) {
+            return c <= 0x39 && 0x30 <= c;
+        }
+        ensureMappings();
+        return Collation.hasCE32Tag(getCE32(c), Collation.DIGIT_TAG);
     }
 
     public boolean isUnsafeBackward(int c, boolean numeric) {
@@ -501,6 +503,37 @@ private static String scriptCodeString(int script) {
      */
     static final int JAMO_CE32S_LENGTH = 19 + 21 + 27;
 
+    /**
+     * Java-only: Sets the deserializer for the mappings of a tailoring, which are read on first
+     * use. Call only before sharing.
+     */
+    void setLazyMappings(CollationDataReader.LazyMappings mappings) {
+        lazyMappings = mappings;
+    }
+
+    /**
+     * Java-only: Reads the mappings if they have not been read yet. Must be called before using the
+     * trie, ces, ce32s, jamoCE32s or contexts of data that might be a tailoring, for example in the
+     * CollationIterator constructors.
+     */
+    public void ensureMappings() {
+        if (lazyMappings != null) {
+            loadMappings();
+        }
+    }
+
+    private synchronized void loadMappings() {
+        CollationDataReader.LazyMappings mappings = lazyMappings;
+        if (mappings != null) {
+            mappings.read(this);
+            // The volatile write publishes the mappings to other threads.
+            lazyMappings = null;
+        }
+    }
+
+    /** Java-only: Not-yet-read mappings of a tailoring, or null. See ensureMappings(). */
+    private volatile CollationDataReader.LazyMappings lazyMappings;
+
     /** Main lookup trie. */
     Trie2_32 trie;
 
@@ -551,6 +584,24 @@ private static String scriptCodeString(int script) {
      */
     char[] fastLatinTableHeader;
 
+    /**
+     * Java-only: Table for the extended fast path in CollationFastLatin, built on first use. See
+     * getExtendedFastTable().
+     */
+    private volatile long[] extendedFastTable;
+
+    /**
+     * Returns the table for CollationFastLatin.compareUTF16Extended(), building it if necessary.
+     * Concurrent callers might each build an equivalent table; one of them is kept.
+     */
+    public long[] getExtendedFastTable() {
+        long[] table = extendedFastTable;
+        if (table == null) {
+            extendedFastTable = table = CollationFastLatinBuilder.buildExtendedTable(this);
+        }
+        return table;
+    }
+
     /**
      * Data for scripts and reordering groups. Uses include building a reordering permutation table
      * and providing script boundaries to AlphabeticIndex.
@@ -19,6 +19,7 @@
 import com.ibm.icu.text.Collator;
 import com.ibm.icu.text.UnicodeSet;
 import com.ibm.icu.util.ICUException;
+import com.ibm.icu.util.ICUUncheckedIOException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
@@ -215,110 +216,22 @@ static void read(CollationTailoring base, ByteBuffer inBytes, CollationTailoring
             data = tailoring.ownedData;
             data.base = baseData;
             data.numericPrimary = inIndexes[IX_OPTIONS] & 0xff000000L;
-            data.trie = tailoring.trie = Trie2_32.createFromSerialized(inBytes);
-            int trieLength = data.trie.getSerializedLength();
-            if (trieLength > length) {
-                throw new ICUException("Not enough bytes for the mappings trie"); // No mappings.
-            }
-            length -= trieLength;
         } else if (baseData != null) {
             // Use the base data. Only the settings are tailored.
             tailoring.data = baseData;
         } else {
             throw new ICUException("Missing collation data mappings"); // No mappings.
         }
-        ICUBinary.skipBytes(inBytes, length);
 
-        index = IX_RESERVED8_OFFSET;
-        offset = inIndexes[index];
-        length = inIndexes[index + 1] - offset;
-        ICUBinary.skipBytes(inBytes, length);
-
-        index = IX_CES_OFFSET;
-        offset = inIndexes[index];
-        length = inIndexes[index + 1] - offset;
-        if (length >= 8) {
-            if (data == null) {
-                throw new ICUException("Tailored ces without tailored trie");
-            }
-            data.ces = ICUBinary.getLongs(inBytes, length / 8, length & 7);
+        if (data != null && baseData != null) {
+            // Java-only: Defer reading the mappings of a tailoring until they are used.
+            // Collators are often instantiated for many locales, but the fast Latin path and
+            // the settings do not need the mappings.
+            ByteBuffer mappingsBytes = inBytes.duplicate().order(inBytes.order());
+            data.setLazyMappings(new LazyMappings(mappingsBytes, inIndexes, tailoring));
+            ICUBinary.skipBytes(inBytes, inIndexes[IX_UNSAFE_BWD_OFFSET] - offset);
         } else {
-            ICUBinary.skipBytes(inBytes, length);
-        }
-
-        index = IX_RESERVED10_OFFSET;
-        offset = inIndexes[index];
-        length = inIndexes[index + 1] - offset;
-        ICUBinary.skipBytes(inBytes, length);
-
-        index = IX_CE32S_OFFSET;
-        offset = inIndexes[index];
-        length = inIndexes[index + 1] - offset;
-        if (length >= 4) {
-            if (data == null) {
-                throw new ICUException("Tailored ce32s without tailored trie");
-            }
-            data.ce32s = ICUBinary.getInts(inBytes, length / 4, length & 3);
-        } else {
-            ICUBinary.skipBytes(inBytes, length);
-        }
-
-        int jamoCE32sStart = inIndexes[IX_JAMO_CE32S_START];
-        if (jamoCE32sStart >= 0) {
-            if (data == null || data.ce32s == null) {
-                throw new ICUException("JamoCE32sStart index into non-existent ce32s[]");
-            }
-            data.jamoCE32s = new int[CollationData.JAMO_CE32S_LENGTH];
-            System.arraycopy(
-                    data.ce32s, jamoCE32sStart, data.jamoCE32s, 0, CollationData.JAMO_CE32S_LENGTH);
-        } else if (data == null) {
-            // Nothing to do.
-        } else if (baseData != null) {
-            data.jamoCE32s = baseData.jamoCE32s;
-        } else {
-            throw new ICUException("Missing Jamo CE32s for Hangul processing");
-        }
-
-        index = IX_ROOT_ELEMENTS_OFFSET;
-        offset = inIndexes[index];
-        length = inIndexes[index + 1] - offset;
-        if (length >= 4) {
-            int rootElementsLength = length / 4;
-            if (data == null) {
-                throw new ICUException("Root elements but no mappings");
-            }
-            if (rootElementsLength <= CollationRootElements.IX_SEC_TER_BOUNDARIES) {
-                throw new ICUException("Root elements array too short");
-            }
-            data.rootElements = new long[rootElementsLength];
-            for (int i = 0; i < rootElementsLength; ++i) {
-                data.rootElements[i] = inBytes.getInt() & 0xffffffffL; // unsigned int -> long
-            }
-            long commonSecTer = data.rootElements[CollationRootElements.IX_COMMON_SEC_AND_TER_CE];
-            if (commonSecTer != Collation.COMMON_SEC_AND_TER_CE) {
-                throw new ICUException(
-                        "Common sec/ter weights in base data differ from the hardcoded value");
-            }
-            long secTerBoundaries = data.rootElements[CollationRootElements.IX_SEC_TER_BOUNDARIES];
-            if ((secTerBoundaries >>> 24) < CollationKeys.SEC_COMMON_HIGH) {
-                // [fixed last secondary common byte] is too low,
-                // and secondary weights would collide with compressed common secondaries.
-                throw new ICUException("[fixed last secondary common byte] is too low");
-            }
-            length &= 3;
-        }
-        ICUBinary.skipBytes(inBytes, length);
-
-        index = IX_CONTEXTS_OFFSET;
-        offset = inIndexes[index];
-        length = inIndexes[index + 1] - offset;
-        if (length >= 2) {
-            if (data == null) {
-                throw new ICUException("Tailored contexts without tailored trie");
-            }
-            data.contexts = ICUBinary.getString(inBytes, length / 2, length & 1);
-        } else {
-            ICUBinary.skipBytes(inBytes, length);
+            readMappings(inBytes, inIndexes, tailoring, data, baseData);
         }
 
         index = IX_UNSAFE_BWD_OFFSET;
@@ -501,6 +414,148 @@ static void read(CollationTailoring base, ByteBuffer inBytes, CollationTailoring
                         tailoring.data, settings, settings.fastLatinPrimaries);
     }
 
+    /**
+     * Reads the mappings: the trie, ces, ce32s, Jamo CE32s, root elements and contexts. The inBytes
+     * must be positioned at the start of the trie. If data is null, then there is no mappings trie,
+     * and the other parts must be empty as well.
+     */
+    private static void readMappings(
+            ByteBuffer inBytes,
+            int[] inIndexes,
+            CollationTailoring tailoring,
+            CollationData data,
+            CollationData baseData)
+            throws IOException {
+        int index = IX_TRIE_OFFSET;
+        int offset = inIndexes[index];
+        int length = inIndexes[index + 1] - offset;
+        if (data != null) {
+            data.trie = tailoring.trie = Trie2_32.createFromSerialized(inBytes);
+            int trieLength = data.trie.getSerializedLength();
+            if (trieLength > length) {
+                throw new ICUException("Not enough bytes for the mappings trie"); // No mappings.
+            }
+            length -= trieLength;
+        }
+        ICUBinary.skipBytes(inBytes, length);
+
+        index = IX_RESERVED8_OFFSET;
+        offset = inIndexes[index];
+        length = inIndexes[index + 1] - offset;
+        ICUBinary.skipBytes(inBytes, length);
+
+        index = IX_CES_OFFSET;
+        offset = inIndexes[index];
+        length = inIndexes[index + 1] - offset;
+        if (length >= 8) {
+            if (data == null) {
+                throw new ICUException("Tailored ces without tailored trie");
+            }
+            data.ces = ICUBinary.getLongs(inBytes, length / 8, length & 7);
+        } else {
+            ICUBinary.skipBytes(inBytes, length);
+        }
+
+        index = IX_RESERVED10_OFFSET;
+        offset = inIndexes[index];
+        length = inIndexes[index + 1] - offset;
+        ICUBinary.skipBytes(inBytes, length);
+
+        index = IX_CE32S_OFFSET;
+        offset = inIndexes[index];
+        length = inIndexes[index + 1] - offset;
+        if (length >= 4) {
+            if (data == null) {
+                throw new ICUException("Tailored ce32s without tailored trie");
+            }
+            data.ce32s = ICUBinary.getInts(inBytes, length / 4, length & 3);
+        } else {
+            ICUBinary.skipBytes(inBytes, length);
+        }
+
+        int jamoCE32sStart = inIndexes[IX_JAMO_CE32S_START];
+        if (jamoCE32sStart >= 0) {
+            if (data == null || data.ce32s == null) {
+                throw new ICUException("JamoCE32sStart index into non-existent ce32s[]");
+            }
+            data.jamoCE32s = new int[CollationData.JAMO_CE32S_LENGTH];
+            System.arraycopy(
+                    data.ce32s, jamoCE32sStart, data.jamoCE32s, 0, CollationData.JAMO_CE32S_LENGTH);
+        } else if (data == null) {
+            // Nothing to do.
+        } else if (baseData != null) {
+            data.jamoCE32s = baseData.jamoCE32s;
+        } else {
+            throw new ICUException("Missing Jamo CE32s for Hangul processing");
+        }
+
+        index = IX_ROOT_ELEMENTS_OFFSET;
+        offset = inIndexes[index];
+        length = inIndexes[index + 1] - offset;
+        if (length >= 4) {
+            int rootElementsLength = length / 4;
+            if (data == null) {
+                throw new ICUException("Root elements but no mappings");
+            }
+            if (rootElementsLength <= CollationRootElements.IX_SEC_TER_BOUNDARIES) {
+                throw new ICUException("Root elements array too short");
+            }
+            data.rootElements = new long[rootElementsLength];
+            for (int i = 0; i < rootElementsLength; ++i) {
+                data.rootElements[i] = inBytes.getInt() & 0xffffffffL; // unsigned int -> long
+            }
+            long commonSecTer = data.rootElements[CollationRootElements.IX_COMMON_SEC_AND_TER_CE];
+            if (commonSecTer != Collation.COMMON_SEC_AND_TER_CE) {
+                throw new ICUException(
+                        "Common sec/ter weights in base data differ from the hardcoded value");
+            }
+            long secTerBoundaries = data.rootElements[CollationRootElements.IX_SEC_TER_BOUNDARIES];
+            if ((secTerBoundaries >>> 24) < CollationKeys.SEC_COMMON_HIGH) {
+                // [fixed last secondary common byte] is too low,
+                // and secondary weights would collide with compressed common secondaries.
+                throw new ICUException("[fixed last secondary common byte] is too low");
+            }
+            length &= 3;
+        }
+        ICUBinary.skipBytes(inBytes, length);
+
+        index = IX_CONTEXTS_OFFSET;
+        offset = inIndexes[index];
+        length = inIndexes[index + 1] - offset;
+        if (length >= 2) {
+            if (data == null) {
+                throw new ICUException("Tailored contexts without tailored trie");
+            }
+            data.contexts = ICUBinary.getString(inBytes, length / 2, length & 1);
+        } else {
+            ICUBinary.skipBytes(inBytes, length);
+        }
+    }
+
+    /**
+     * Java-only: The not-yet-read mappings of a tailoring. See {@link
+     * CollationData#ensureMappings()}.
+     */
+    static final class LazyMappings {
+        private final ByteBuffer bytes;
+        private final int[] inIndexes;
+        private final CollationTailoring tailoring;
+
+        LazyMappings(ByteBuffer bytes, int[] inIndexes, CollationTailoring tailoring) {
+            this.bytes = bytes;
+            this.inIndexes = inIndexes;
+            this.tailoring = tailoring;
+        }
+
+        void read(CollationData data) {
+            try {
+                readMappings(bytes, inIndexes, tailoring, data, data.base);
+            } catch (IOException e) {
+                throw new ICUUncheckedIOException("Failed to read collation tailoring mappings", e);
+            }
+        }
+    }
+
     private static final class IsAcceptable implements ICUBinary.Authenticate {
         @Override
         public boolean isDataVersionAcceptable(byte version[]) {
@@ -0,0 +1,317 @@
+// © 2026 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+/*
+ * CollationDataWriter.java, ported from the tailoring part of collationdatawriter.h/.cpp
+ */
+
+package com.ibm.icu.impl.coll;
+
+import com.ibm.icu.text.UnicodeSet;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Collation binary data writer. Writes a tailoring in the same format as the %%CollationBin
+ * resources and the ICU4C RuleBasedCollator::cloneBinary(), so that it can be read back with
+ * CollationDataReader.
+ */
+public final class CollationDataWriter /* all static */ {
+    /**
+     * Writes the tailoring data and the given settings. Like in ICU4C, the rule string is not
+     * written.
+     *
+     * @param t tailoring, built from rules or loaded
+     * @param settings settings to be written, normally the collator's current settings
+     * @return the serialized tailoring, big-endian, including the ICU data header
+     */
+    public static byte[] writeTailoring(CollationTailoring t, CollationSettings settings) {
+        CollationData data = t.data;
+        data.ensureMappings();
+        CollationData baseData = data.base;
+        // Java-only: Data read from a binary has null instead of empty arrays.
+        long[] ces = data.ces != null ? data.ces : new long[0];
+        int[] ce32s = data.ce32s != null ? data.ce32s : new int[0];
+        String contexts = data.contexts != null ? data.contexts : "";
+        int[] indexes = new int[CollationDataReader.IX_TOTAL_SIZE + 1];
+
+        // Figure out which data items to write before settling on
+        // the indexes length and writing offsets.
+        // For any data item, we need to write the start and limit offsets,
+        // so the indexes length must be at least index-of-start-offset + 2.
+        int indexesLength;
+        boolean hasMappings;
+        UnicodeSet unsafeBackwardSet = new UnicodeSet();
+        int fastLatinVersion;
+        if (data.fastLatinTable != null) {
+            fastLatinVersion = CollationFastLatin.VERSION << 16;
+        } else {
+            fastLatinVersion = 0;
+        }
+        boolean hasFastLatinTable = false;
+        if (baseData == null) {
+            hasMappings = false;
+            if (settings.reorderCodes.length == 0) {
+                // only options
+                indexesLength = CollationDataReader.IX_OPTIONS + 1; // no limit offset here
+            } else {
+                // only options, reorder codes, and the reorder table
+                indexesLength = CollationDataReader.IX_REORDER_TABLE_OFFSET + 2;
+            }
+        } else {
+            hasMappings = true;
+            // Tailored mappings, and what else?
+            // Check in ascending order of optional tailoring data items.
+            indexesLength = CollationDataReader.IX_CE32S_OFFSET + 2;
+            if (contexts.length() != 0) {
+                indexesLength = CollationDataReader.IX_CONTEXTS_OFFSET + 2;
+            }
+            unsafeBackwardSet.addAll(data.unsafeBackwardSet).removeAll(baseData.unsafeBackwardSet);
+            if (!unsafeBackwardSet.isEmpty()) {
+                indexesLength = CollationDataReader.IX_UNSAFE_BWD_OFFSET + 2;
+            }
+            if (data.fastLatinTable != baseData.fastLatinTable) {
+                hasFastLatinTable = data.fastLatinTable != null;
+                indexesLength = CollationDataReader.IX_FAST_LATIN_TABLE_OFFSET + 2;
+            }
+        }
+
+        int[] reorderCodes = settings.reorderCodes;
+        if (settings.hasReordering()
+                && CollationSettings.reorderTableHasSplitBytes(settings.reorderTable)) {
+            // Rebuild the full list of reorder ranges.
+            // The list in the settings is truncated for efficiency.
+            UVector32 codesAndRanges = new UVector32();
+            data.makeReorderRanges(reorderCodes, codesAndRanges);
+            // Write the codes, then the ranges.
+            for (int i = 0; i < reorderCodes.length; ++i) {
+                codesAndRanges.insertElementAt(reorderCodes[i], i);
+            }
+            reorderCodes = new int[codesAndRanges.size()];
+            System.arraycopy(codesAndRanges.getBuffer(), 0, reorderCodes, 0, reorderCodes.length);
+        }
+
+        int headerSize = DATA_HEADER_SIZE;
+        if (hasMappings && ces.length != 0) {
+            // Sum of the sizes of the data items which are
+            // not automatically multiples of 8 bytes and which are placed before the CEs.
+            int sum = headerSize + (indexesLength + reorderCodes.length) * 4;
+            if ((sum & 7) != 0) {
+                // We need to add padding somewhere so that the 64-bit CEs are 8-aligned.
+                // We add to the header size here.
+                headerSize += 4;
+            }
+        }
+
+        indexes[CollationDataReader.IX_INDEXES_LENGTH] = indexesLength;
+        assert (settings.options & ~0xffff) == 0;
+        indexes[CollationDataReader.IX_OPTIONS] =
+                (int) data.numericPrimary | fastLatinVersion | settings.options;
+        indexes[CollationDataReader.IX_RESERVED2] = 0;
+        indexes[CollationDataReader.IX_RESERVED3] = 0;
+
+        // Byte offsets of data items all start from the start of the indexes.
+        // We add the headerSize at the very end.
+        int totalSize = indexesLength * 4;
+
+        if (hasMappings && data.jamoCE32s != baseData.jamoCE32s) {
+            indexes[CollationDataReader.IX_JAMO_CE32S_START] = findJamoCE32s(ce32s, data.jamoCE32s);
+        } else {
+            indexes[CollationDataReader.IX_JAMO_CE32S_START] = -1;
+        }
+
+        indexes[CollationDataReader.IX_REORDER_CODES_OFFSET] = totalSize;
+        totalSize += reorderCodes.length * 4;
+
+        indexes[CollationDataReader.IX_REORDER_TABLE_OFFSET] = totalSize;
+        if (settings.reorderTable != null) {
+            totalSize += 256;
+        }
+
+        indexes[CollationDataReader.IX_TRIE_OFFSET] = totalSize;
+        byte[] trie = null;
+        if (hasMappings) {
+            ByteArrayOutputStream trieBytes = new ByteArrayOutputStream();
+            try {
+                data.trie.serialize(trieBytes);
+            } catch (IOException e) {
+                throw new AssertionError(e); // A ByteArrayOutputStream does not fail.
+            }
+            trie = trieBytes.toByteArray();
+            // Pad the trie to a multiple of 8 bytes, as it is in ICU4C,
+            // so that the CEs that follow are 8-aligned.
+            totalSize += (trie.length + 7) & ~7;
+        }
+
+        indexes[CollationDataReader.IX_RESERVED8_OFFSET] = totalSize;
+        indexes[CollationDataReader.IX_CES_OFFSET] = totalSize;
+        if (hasMappings && ces.length != 0) {
+            assert ((headerSize + totalSize) & 7) == 0;
+            totalSize += ces.length * 8;
+        }
+
+        indexes[CollationDataReader.IX_RESERVED10_OFFSET] = totalSize;
+        indexes[CollationDataReader.IX_CE32S_OFFSET] = totalSize;
+        if (hasMappings) {
+            totalSize += ce32s.length * 4;
+        }
+
+        indexes[CollationDataReader.IX_ROOT_ELEMENTS_OFFSET] = totalSize;
+
+        indexes[CollationDataReader.IX_CONTEXTS_OFFSET] = totalSize;
+        if (hasMappings) {
+            totalSize += contexts.length() * 2;
+        }
+
+        indexes[CollationDataReader.IX_UNSAFE_BWD_OFFSET] = totalSize;
+        char[] unsafeBackward = null;
+        if (hasMappings && !unsafeBackwardSet.isEmpty()) {
+            unsafeBackward = serialize(unsafeBackwardSet);
+            totalSize += unsafeBackward.length * 2;
+        }
+
+        indexes[CollationDataReader.IX_FAST_LATIN_TABLE_OFFSET] = totalSize;
+        if (hasFastLatinTable) {
+            totalSize += (data.fastLatinTableHeader.length + data.fastLatinTable.length) * 2;
+        }
+
+        indexes[CollationDataReader.IX_SCRIPTS_OFFSET] = totalSize;
+        indexes[CollationDataReader.IX_COMPRESSIBLE_BYTES_OFFSET] = totalSize;
+        indexes[CollationDataReader.IX_RESERVED18_OFFSET] = totalSize;
+        indexes[CollationDataReader.IX_TOTAL_SIZE] = totalSize;
+
+        ByteBuffer dest = ByteBuffer.allocate(headerSize + totalSize);
+        assert dest.order() == ByteOrder.BIG_ENDIAN;
+        writeHeader(dest, headerSize, t.version);
+        for (int i = 0; i < indexesLength; ++i) {
+            dest.putInt(indexes[i]);
+        }
+        for (int code : reorderCodes) {
+            dest.putInt(code);
+        }
+        if (settings.reorderTable != null) {
+            dest.put(settings.reorderTable);
+        }
+        if (hasMappings) {
+            dest.put(trie);
+            dest.position(headerSize + indexes[CollationDataReader.IX_CES_OFFSET]);
+            for (long ce : ces) {
+                dest.putLong(ce);
+            }
+            for (int ce32 : ce32s) {
+                dest.putInt(ce32);
+            }
+            for (int i = 0; i < contexts.length(); ++i) {
+                dest.putChar(contexts.charAt(i));
+            }
+        }
+        if (unsafeBackward != null) {
+            for (char c : unsafeBackward) {
+                dest.putChar(c);
+            }
+        }
+        if (hasFastLatinTable) {
+            for (char c : data.fastLatinTableHeader) {
+                dest.putChar(c);
+            }
+            for (char c : data.fastLatinTable) {
+                dest.putChar(c);
+            }
+        }
+        assert !dest.hasRemaining();
+        return dest.array();
+    }
+
+    /** Size of the ICU data header with the UDataInfo, without padding. */
+    private static final int DATA_HEADER_SIZE = 24;
+
+    /**
+     * Writes the ICU data header, see C++ ucmndata.h and unicode/udata.h, followed by zero bytes up
+     * to headerSize so that the padding is not mistaken for a copyright string.
+     */
+    private static void writeHeader(ByteBuffer dest, int headerSize, int dataVersion) {
+        dest.putChar((char) headerSize);
+        dest.put((byte) 0xda); // magic1
+        dest.put((byte) 0x27); // magic2
+        dest.putChar((char) 20); // sizeof(UDataInfo)
+        dest.putChar((char) 0); // reservedWord
+        dest.put((byte) 1); // isBigEndian
+        dest.put((byte) 0); // charsetFamily: ASCII
+        dest.put((byte) 2); // sizeofUChar
+        dest.put((byte) 0); // reservedByte
+        dest.putInt(DATA_FORMAT);
+        dest.putInt(FORMAT_VERSION);
+        dest.putInt(dataVersion);
+        dest.position(headerSize);
+    }
+
+    private static final int DATA_FORMAT = 0x55436f6c; // "UCol"
+    private static final int FORMAT_VERSION = 0x05000000; // 5.0.0.0
+
+    /**
+     * Java-only: Returns the index of the Jamo CE32s in the ce32s. In ICU4C, data.jamoCE32s points
+     * into data.ce32s; in Java it is a copy.
+     */
+    private static int findJamoCE32s(int[] ce32s, int[] jamoCE32s) {
+        // The builder appends the Jamo CE32s last, so search from the end.
+        outer:
+        for (int start = ce32s.length - jamoCE32s.length; start >= 0; --start) {
+            for (int i = 0; i < jamoCE32s.length; ++i) {
+                if (ce32s[start + i] != jamoCE32s[i]) {
+                    continue outer;
+                }
+            }
+            return start;
+        }
+        throw new IllegalStateException("tailored Jamo CE32s not found in the ce32s");
+    }
+
+    /**
+     * Serializes the set in the format read by USerializedSet, like the ICU4C
+     * UnicodeSet::serialize().
+     */
+    private static char[] serialize(UnicodeSet set) {
+        // Inversion list without the final, implicit limit 0x110000.
+        int rangeCount = set.getRangeCount();
+        int[] list = new int[2 * rangeCount];
+        int length = 0;
+        for (int i = 0; i < rangeCount; ++i) {
+            list[length++] = set.getRangeStart(i);
+            int limit = set.getRangeEnd(i) + 1;
+            if (limit < 0x110000) {
+                list[length++] = limit;
+            }
+        }
+        int bmpLength = 0;
+        while (bmpLength < length && list[bmpLength] <= 0xffff) {
+            ++bmpLength;
+        }
+        int unitsLength = bmpLength + 2 * (length - bmpLength);
+        if (unitsLength > 0x7fff) {
+            // There are only 15 bits for the length in the first serialized word.
+            throw new IndexOutOfBoundsException("set too large to serialize");
+        }
+        boolean hasSupplementary = unitsLength > bmpLength;
+        char[] dest = new char[unitsLength + (hasSupplementary ? 2 : 1)];
+        int destIndex = 0;
+        if (hasSupplementary) {
+            dest[destIndex++] = (char) (0x8000 | unitsLength);
+            dest[destIndex++] = (char) bmpLength;
+        } else {
+            dest[destIndex++] = (char) unitsLength;
+        }
+        for (int i = 0; i < length; ++i) {
+            int c = list[i];
+            if (i < bmpLength) {
+                dest[destIndex++] = (char) c;
+            } else {
+                dest[destIndex++] = (char) (c >> 16);
+                dest[destIndex++] = (char) c;
+            }
+        }
+        return dest;
+    }
+
+    private CollationDataWriter() {} // no constructor
+}
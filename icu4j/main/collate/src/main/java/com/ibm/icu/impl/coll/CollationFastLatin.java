@@ -947,5 +947,159 @@ private static int getQuaternaries(int variableTop, int pair) {
         return pair;
     }
 
+    // Extended fast path ----------------------------------------------------
+
+    // Java-only: The mini CEs above cannot represent enough primary weights for the letters of
+    // other alphabetic scripts. The extended fast path instead maps each character in a larger
+    // range directly to its full CEs, via a table that is built at runtime on first use,
+    // and then compares the CE arrays without running CollationIterators over the text.
+    // It bails out for characters with prefix mappings, for contraction starters
+    // whose contractions might continue with supported characters,
+    // and for characters that might need normalization.
+
+    /** U+0000..U+052F: Latin, IPA, spacing modifiers, Greek, Cyrillic, Cyrillic Supplement. */
+    static final int EXTENDED_LIMIT = 0x530;
+
+    /** U+1E00..U+206F: Latin Extended Additional, Greek Extended, General Punctuation. */
+    static final int EXTENDED_ADDITIONAL_START = 0x1e00;
+
+    static final int EXTENDED_ADDITIONAL_LIMIT = 0x2070;
+
+    static final int NUM_EXTENDED_CHARS =
+            EXTENDED_LIMIT + (EXTENDED_ADDITIONAL_LIMIT - EXTENDED_ADDITIONAL_START);
+
+    /**
+     * Capacity for the CE arrays passed into compareUTF16Extended(). Strings with more CEs are
+     * compared via the regular code path.
+     */
+    public static final int EXTENDED_CE_CAPACITY = 128;
+
+    static int getExtendedCharIndex(char c) {
+        if (c < EXTENDED_LIMIT) {
+            return c;
+        } else if (EXTENDED_ADDITIONAL_START <= c && c < EXTENDED_ADDITIONAL_LIMIT) {
+            return c - (EXTENDED_ADDITIONAL_START - EXTENDED_LIMIT);
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * Compares two strings using the extended fast path table.
+     *
+     * @param table the data's extended fast path table, see {@link
+     *     CollationData#getExtendedFastTable()}
+     * @param settings collation settings; must not be numeric
+     * @param leftCEs scratch array with EXTENDED_CE_CAPACITY elements
+     * @param rightCEs scratch array with EXTENDED_CE_CAPACITY elements
+     * @return the comparison result, or BAIL_OUT_RESULT if the regular comparison must be used
+     */
+    public static int compareUTF16Extended(
+            long[] table,
+            CollationSettings settings,
+            CharSequence left,
+            CharSequence right,
+            int startIndex,
+            long[] leftCEs,
+            long[] rightCEs) {
+        assert !settings.isNumeric();
+        // Most strings differ in the primary weight of an early character.
+        // Look for that difference before fetching all of the CEs.
+        long variableTop;
+        if ((settings.options & CollationSettings.ALTERNATE_MASK) == 0) {
+            variableTop = 0;
+        } else {
+            variableTop = settings.variableTop + 1;
+        }
+        int leftLength = left.length();
+        int rightLength = right.length();
+        for (int i = startIndex; i < leftLength && i < rightLength; ++i) {
+            long leftPrimary = getSingleExtendedPrimary(table, left.charAt(i));
+            long rightPrimary = getSingleExtendedPrimary(table, right.charAt(i));
+            if (leftPrimary < variableTop
+                    || rightPrimary < variableTop
+                    || leftPrimary == 0
+                    || rightPrimary == 0) {
+                break; // Unsupported, or ignorable, variable, or multiple CEs.
+            }
+            if (leftPrimary != rightPrimary) {
+                // A supported following character cannot change these primaries.
+                if (isExtendedBoundary(table, left, i + 1)
+                        && isExtendedBoundary(table, right, i + 1)) {
+                    if (settings.hasReordering()) {
+                        leftPrimary = settings.reorder(leftPrimary);
+                        rightPrimary = settings.reorder(rightPrimary);
+                    }
+                    return (leftPrimary < rightPrimary) ? Collation.LESS : Collation.GREATER;
+                }
+                break;
+            }
+        }
+        if (!fetchExtendedCEs(table, left, startIndex, leftCEs)
+                || !fetchExtendedCEs(table, right, startIndex, rightCEs)) {
+            return BAIL_OUT_RESULT;
+        }
+        return CollationCompare.compareUpToQuaternary(leftCEs, rightCEs, settings);
+    }
+
+    /**
+     * Returns the primary weight if c maps to exactly one CE via the extended table, otherwise 0.
+     */
+    private static long getSingleExtendedPrimary(long[] table, char c) {
+        int index = getExtendedCharIndex(c);
+        if (index < 0) {
+            return 0;
+        }
+        long entry = table[index];
+        if (entry < 0 || (entry & 0xff) != 1) {
+            return 0;
+        }
+        return table[(int) (entry >> 8)] >>> 32;
+    }
+
+    /** Returns true if s[i] is the end of s or a character supported by the extended table. */
+    private static boolean isExtendedBoundary(long[] table, CharSequence s, int i) {
+        if (i == s.length()) {
+            return true;
+        }
+        int index = getExtendedCharIndex(s.charAt(i));
+        return index >= 0 && table[index] >= 0;
+    }
+
+    /**
+     * Writes the CEs for s[i..] followed by Collation.NO_CE. Returns false if s contains a
+     * character that is not supported by the table, or if the CEs do not fit.
+     */
+    private static boolean fetchExtendedCEs(long[] table, CharSequence s, int i, long[] ces) {
+        int length = 0;
+        int capacity = ces.length - 1; // Reserve space for the NO_CE terminator.
+        for (int limit = s.length(); i < limit; ++i) {
+            int index = getExtendedCharIndex(s.charAt(i));
+            if (index < 0) {
+                return false;
+            }
+            long entry = table[index];
+            if (entry < 0) {
+                return false; // EXTENDED_BAIL_OUT
+            }
+            int count = (int) entry & 0xff;
+            if (count > capacity - length) {
+                return false;
+            }
+            for (int j = (int) (entry >> 8); count > 0; --count) {
+                ces[length++] = table[j++];
+            }
+        }
+        ces[length] = Collation.NO_CE;
+        return true;
+    }
+
+    /**
+     * Extended table entry for a character that is not supported. Supported characters have entries
+     * with the index of their first CE in the same table in bits 62..8, and the number of CEs in
+     * bits 7..0.
+     */
+    static final long EXTENDED_BAIL_OUT = -1;
+
     private CollationFastLatin() {} // no constructor
 }
@@ -77,6 +77,79 @@ private static final int binarySearch(long[] list, int limit, long ce) {
         headerLength = 0;
     }
 
+    /**
+     * Builds the table for CollationFastLatin.compareUTF16Extended(): One entry per character,
+     * followed by the CEs that the entries point to.
+     */
+    static long[] buildExtendedTable(CollationData data) {
+        data.ensureMappings();
+        UVector64 table = new UVector64();
+        for (int i = 0; i < CollationFastLatin.NUM_EXTENDED_CHARS; ++i) {
+            table.addElement(CollationFastLatin.EXTENDED_BAIL_OUT);
+        }
+        UTF16CollationIterator iter = new UTF16CollationIterator(data);
+        StringBuilder s = new StringBuilder(1);
+        for (char c = 0; ; ++c) {
+            if (c == CollationFastLatin.EXTENDED_LIMIT) {
+                c = CollationFastLatin.EXTENDED_ADDITIONAL_START;
+            } else if (c == CollationFastLatin.EXTENDED_ADDITIONAL_LIMIT) {
+                break;
+            }
+            // Characters with a non-zero lead combining class can make the text not FCD,
+            // and they are often in contraction suffixes.
+            if ((data.nfcImpl.getFCD16(c) >> 8) != 0) {
+                continue;
+            }
+            CollationData d = data;
+            int ce32 = d.getCE32(c);
+            if (ce32 == Collation.FALLBACK_CE32) {
+                d = data.base;
+                ce32 = d.getCE32(c);
+            }
+            ce32 = d.getFinalCE32(ce32);
+            if (Collation.isPrefixCE32(ce32)
+                    || (Collation.isContractionCE32(ce32)
+                            && hasExtendedContractionSuffix(d, ce32))) {
+                continue;
+            }
+            // Let a collation iterator resolve all other kinds of mappings.
+            s.setLength(0);
+            s.append(c);
+            iter.setText(false, s, 0);
+            int length = iter.fetchCEs() - 1; // without the NO_CE terminator
+            if (length > 0xff) {
+                continue;
+            }
+            int start = table.size();
+            for (int j = 0; j < length; ++j) {
+                table.addElement(iter.getCE(j));
+            }
+            table.setElementAt(
+                    ((long) start << 8) | length, CollationFastLatin.getExtendedCharIndex(c));
+        }
+        long[] result = new long[table.size()];
+        System.arraycopy(table.getBuffer(), 0, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Returns true if the contraction has a suffix that starts with a character which might be
+     * supported by the extended fast path. Other contractions are only matched when a combining
+     * mark or another unsupported character follows, and then the fast path bails out anyway.
+     */
+    private static boolean hasExtendedContractionSuffix(CollationData data, int ce32) {
+        int trieIndex = Collation.indexFromCE32(ce32);
+        CharsTrie.Iterator suffixes = CharsTrie.iterator(data.contexts, trieIndex + 2, 0);
+        while (suffixes.hasNext()) {
+            char c = suffixes.next().chars.charAt(0);
+            if (CollationFastLatin.getExtendedCharIndex(c) >= 0
+                    && (data.nfcImpl.getFCD16(c) >> 8) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     boolean forData(CollationData data) {
         if (result.length() != 0) { // This builder is not reusable.
             throw new IllegalStateException("attempt to reuse a CollationFastLatinBuilder");
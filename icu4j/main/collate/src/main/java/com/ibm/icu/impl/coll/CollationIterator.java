@@ -202,6 +202,7 @@ void resetToTrieState(CharsTrie trie) {
      * <p>In C++, there is only one constructor, and iterators are stack-allocated as needed.
      */
     public CollationIterator(CollationData d) {
+        d.ensureMappings();
         trie = d.trie;
         data = d;
         numCpFwd = -1;
@@ -210,6 +211,7 @@ public CollationIterator(CollationData d) {
     }
 
     public CollationIterator(CollationData d, boolean numeric) {
+        d.ensureMappings();
         trie = d.trie;
         data = d;
         numCpFwd = -1;
@@ -0,0 +1,198 @@
+// © 2026 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+
+package com.ibm.icu.impl.coll;
+
+import com.ibm.icu.text.RawCollationKey;
+import com.ibm.icu.text.RuleBasedCollator;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorts large lists of strings by first computing all of their sort keys and then sorting by the
+ * key bytes, both in parallel with fork/join tasks. Each string is processed by the collation code
+ * once rather than once per comparison.
+ *
+ * <p>The sort keys are computed in chunks of consecutive strings, with all of the keys of a chunk
+ * in one byte array, so that there is no per-string object. The sort is a stable merge sort of an
+ * index permutation.
+ */
+public final class CollationKeySorter {
+    /** Number of strings per chunk of sort keys; a power of 2. */
+    private static final int CHUNK_SHIFT = 12;
+
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** Lists up to this size are sorted in the calling thread. */
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    /** Ranges up to this size are sorted with insertion sort. */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final RuleBasedCollator collator;
+    private final List<? extends CharSequence> sources;
+    private final byte[][] keys;
+    private final int[][] offsets;
+
+    private CollationKeySorter(RuleBasedCollator collator, List<? extends CharSequence> sources) {
+        this.collator = collator;
+        this.sources = sources;
+        int numChunks = (sources.size() + CHUNK_MASK) >> CHUNK_SHIFT;
+        keys = new byte[numChunks][];
+        offsets = new int[numChunks][];
+    }
+
+    /**
+     * Returns the permutation that sorts the sources according to the collator: The result[i] index
+     * is the index in sources of the string that sorts at position i. Strings with equal sort keys
+     * remain in their original order.
+     *
+     * @param collator must be safe for concurrent use, that is, frozen
+     * @param sources the strings to be sorted; must not contain null
+     */
+    public static int[] sort(RuleBasedCollator collator, List<? extends CharSequence> sources) {
+        assert collator.isFrozen();
+        CollationKeySorter sorter = new CollationKeySorter(collator, sources);
+        int count = sources.size();
+        int[] order = new int[count];
+        for (int i = 0; i < count; ++i) {
+            order[i] = i;
+        }
+        if (count <= SEQUENTIAL_THRESHOLD) {
+            sorter.writeKeys(0, sorter.keys.length);
+            sorter.mergeSort(order, new int[count], 0, count);
+        } else {
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            pool.invoke(sorter.new KeysTask(0, sorter.keys.length));
+            pool.invoke(sorter.new SortTask(order, new int[count], 0, count));
+        }
+        return order;
+    }
+
+    private void writeKeys(int chunkStart, int chunkLimit) {
+        for (int chunk = chunkStart; chunk < chunkLimit; ++chunk) {
+            int start = chunk << CHUNK_SHIFT;
+            List<? extends CharSequence> chunkSources =
+                    sources.subList(start, Math.min(start + CHUNK_SIZE, sources.size()));
+            int[] chunkOffsets = new int[chunkSources.size() + 1];
+            RawCollationKey chunkKeys =
+                    collator.getRawCollationKeys(chunkSources, null, chunkOffsets);
+            keys[chunk] = chunkKeys.bytes;
+            offsets[chunk] = chunkOffsets;
+        }
+    }
+
+    /** Compares the sort keys of sources[i] and sources[j]. */
+    private int compareKeys(int i, int j) {
+        int iChunk = i >> CHUNK_SHIFT;
+        int jChunk = j >> CHUNK_SHIFT;
+        int[] iOffsets = offsets[iChunk];
+        int[] jOffsets = offsets[jChunk];
+        i &= CHUNK_MASK;
+        j &= CHUNK_MASK;
+        return Arrays.compareUnsigned(
+                keys[iChunk],
+                iOffsets[i],
+                iOffsets[i + 1],
+                keys[jChunk],
+                jOffsets[j],
+                jOffsets[j + 1]);
+    }
+
+    /** Stable sort of order[start, limit[, using temp[start, limit[ as scratch space. */
+    private void mergeSort(int[] order, int[] temp, int start, int limit) {
+        if ((limit - start) <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(order, start, limit);
+            return;
+        }
+        int middle = (start + limit) >>> 1;
+        mergeSort(order, temp, start, middle);
+        mergeSort(order, temp, middle, limit);
+        merge(order, temp, start, middle, limit);
+    }
+
+    private void insertionSort(int[] order, int start, int limit) {
+        for (int i = start + 1; i < limit; ++i) {
+            int index = order[i];
+            int j = i;
+            while (j > start && compareKeys(order[j - 1], index) > 0) {
+                order[j] = order[j - 1];
+                --j;
+            }
+            order[j] = index;
+        }
+    }
+
+    /** Merges the sorted order[start, middle[ and order[middle, limit[. */
+    private void merge(int[] order, int[] temp, int start, int middle, int limit) {
+        if (compareKeys(order[middle - 1], order[middle]) <= 0) {
+            return; // already in order
+        }
+        System.arraycopy(order, start, temp, start, middle - start);
+        int i = start;
+        int j = middle;
+        int k = start;
+        while (i < middle && j < limit) {
+            // Take from the left run when equal, to keep the sort stable.
+            if (compareKeys(temp[i], order[j]) <= 0) {
+                order[k++] = temp[i++];
+            } else {
+                order[k++] = order[j++];
+            }
+        }
+        // Any rest of the right run is already in place.
+        System.arraycopy(temp, i, order, k, middle - i);
+    }
+
+    private final class KeysTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int chunkStart;
+        private final int chunkLimit;
+
+        KeysTask(int chunkStart, int chunkLimit) {
+            this.chunkStart = chunkStart;
+            this.chunkLimit = chunkLimit;
+        }
+
+        @Override
+        protected void compute() {
+            if ((chunkLimit - chunkStart) <= 1) {
+                writeKeys(chunkStart, chunkLimit);
+            } else {
+                int middle = (chunkStart + chunkLimit) >>> 1;
+                invokeAll(new KeysTask(chunkStart, middle), new KeysTask(middle, chunkLimit));
+            }
+        }
+    }
+
+    private final class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int[] order;
+        private final int[] temp;
+        private final int start;
+        private final int limit;
+
+        SortTask(int[] order, int[] temp, int start, int limit) {
+            this.order = order;
+            this.temp = temp;
+            this.start = start;
+            this.limit = limit;
+        }
+
+        @Override
+        protected void compute() {
+            if ((limit - start) <= SEQUENTIAL_THRESHOLD) {
+                mergeSort(order, temp, start, limit);
+            } else {
+                int middle = (start + limit) >>> 1;
+                invokeAll(
+                        new SortTask(order, temp, start, middle),
+                        new SortTask(order, temp, middle, limit));
+                merge(order, temp, start, middle, limit);
+            }
+        }
+    }
+}
@@ -22,13 +22,16 @@ public final class CollationKeys /* all methods are static */ {
     // collation features.
     public abstract static class SortKeyByteSink {
         protected byte[] buffer_;
-        // protected int capacity_; == buffer_.length
+        // The number of bytes that fit into buffer_, normally buffer_.length.
+        // A subclass may set it lower, so that no more bytes are written to a larger array.
+        protected int capacity_;
         private int appended_ = 0;
 
         // not used in Java -- private int ignore_ = 0;
 
         public SortKeyByteSink(byte[] dest) {
             buffer_ = dest;
+            capacity_ = dest.length;
         }
 
         /**
@@ -39,6 +42,7 @@ public SortKeyByteSink(byte[] dest) {
          */
         public void setBufferAndAppended(byte[] dest, int app) {
             buffer_ = dest;
+            capacity_ = dest.length;
             appended_ = app;
         }
 
@@ -70,7 +74,7 @@ public void Append(byte[] bytes, int n) {
             int length = appended_;
             appended_ += n;
 
-            int available = buffer_.length - length;
+            int available = capacity_ - length;
             if (n <= available) {
                 System.arraycopy(bytes, 0, buffer_, length, n);
             } else {
@@ -82,7 +86,7 @@ public void Append(int b) {
             /* not used in Java -- if (ignore_ > 0) {
                 --ignore_;
             } else */ {
-                if (appended_ < buffer_.length || Resize(1, appended_)) {
+                if (appended_ < capacity_ || Resize(1, appended_)) {
                     buffer_[appended_] = (byte) b;
                 }
                 ++appended_;
@@ -101,11 +105,11 @@ public int NumberOfBytesAppended() {
         }
 
         public int GetRemainingCapacity() {
-            return /* not used in Java -- ignore_ + */ buffer_.length - appended_;
+            return /* not used in Java -- ignore_ + */ capacity_ - appended_;
         }
 
         public boolean Overflowed() {
-            return appended_ > buffer_.length;
+            return appended_ > capacity_;
         }
 
         /* not used in Java -- public boolean IsOk() {
@@ -341,6 +345,32 @@ public static void writeSortKeyUpToQuaternary(
             int minLevel,
             LevelCallback callback,
             boolean preflight) {
+        writeSortKeyUpToQuaternary(
+                iter,
+                compressibleBytes,
+                settings,
+                sink,
+                minLevel,
+                Collation.QUATERNARY_LEVEL,
+                callback,
+                preflight);
+    }
+
+    /**
+     * Same as the other writeSortKeyUpToQuaternary() but does not process or write levels above
+     * maxLevel, for partial sort keys. For example, with maxLevel=Collation.PRIMARY_LEVEL only the
+     * primary weights are written. When the primary level overflows the sink and preflight is
+     * false, then the rest of the text is not processed at all.
+     */
+    public static void writeSortKeyUpToQuaternary(
+            CollationIterator iter,
+            boolean[] compressibleBytes,
+            CollationSettings settings,
+            SortKeyByteSink sink,
+            int minLevel,
+            int maxLevel,
+            LevelCallback callback,
+            boolean preflight) {
 
         int options = settings.options;
         // Set of levels to process and write.
@@ -348,8 +378,9 @@ public static void writeSortKeyUpToQuaternary(
         if ((options & CollationSettings.CASE_LEVEL) != 0) {
             levels |= Collation.CASE_LEVEL_FLAG;
         }
-        // Minus the levels below minLevel.
+        // Minus the levels below minLevel and above maxLevel.
         levels &= ~((1 << minLevel) - 1);
+        levels &= (2 << maxLevel) - 1;
         if (levels == 0) {
             return;
         }
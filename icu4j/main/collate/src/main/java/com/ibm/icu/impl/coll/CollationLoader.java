@@ -92,6 +92,21 @@ private static final UResourceBundle findWithFallback(UResourceBundle table, Str
         return ((ICUResourceBundle) table).findWithFallback(entryName);
     }
 
+    /**
+     * Deserializes a tailoring of the root collator, as written by
+     * CollationDataWriter.writeTailoring(). Like ICU4C, it has no actual locale and no rules.
+     *
+     * @param inBytes the binary data, at position 0; must not be modified afterwards
+     * @throws IOException if the data header is not valid
+     */
+    public static CollationTailoring loadTailoring(ByteBuffer inBytes) throws IOException {
+        CollationTailoring root = CollationRoot.getRoot();
+        CollationTailoring t = new CollationTailoring(root.settings);
+        CollationDataReader.read(root, inBytes, t);
+        t.actualLocale = null;
+        return t;
+    }
+
     public static CollationTailoring loadTailoring(ULocale locale, Output<ULocale> outValidLocale) {
 
         // Java porting note: ICU4J getWithFallback/getStringWithFallback currently does not
@@ -283,7 +283,7 @@ public boolean hasReordering() {
         return reorderTable != null;
     }
 
-    private static boolean reorderTableHasSplitBytes(byte[] table) {
+    static boolean reorderTableHasSplitBytes(byte[] table) {
         assert (table[0] == 0);
         for (int i = 1; i < 256; ++i) {
             if (table[i] == 0) {
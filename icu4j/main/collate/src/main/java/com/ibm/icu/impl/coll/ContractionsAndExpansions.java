@@ -47,6 +47,7 @@ public ContractionsAndExpansions(UnicodeSet con, UnicodeSet exp, CESink s, boole
     }
 
     public void forData(CollationData d) {
+        d.ensureMappings();
         // Add all from the data, can be tailoring or base.
         if (d.base != null) {
             checkTailored = -1;
@@ -100,6 +101,7 @@ private void enumCnERange(int start, int end, int ce32, ContractionsAndExpansion
     }
 
     public void forCodePoint(CollationData d, int c) {
+        d.ensureMappings();
         int ce32 = d.getCE32(c);
         if (ce32 == Collation.FALLBACK_CE32) {
             d = d.base;
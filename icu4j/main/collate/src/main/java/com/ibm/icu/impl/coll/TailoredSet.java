@@ -47,6 +47,7 @@ public TailoredSet(UnicodeSet t) {
     }
 
     public void forData(CollationData d) {
+        d.ensureMappings();
         data = d;
         baseData = d.base;
         assert (baseData != null);
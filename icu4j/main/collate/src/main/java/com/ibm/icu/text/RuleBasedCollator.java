@@ -15,8 +15,10 @@
 import com.ibm.icu.impl.coll.Collation;
 import com.ibm.icu.impl.coll.CollationCompare;
 import com.ibm.icu.impl.coll.CollationData;
+import com.ibm.icu.impl.coll.CollationDataWriter;
 import com.ibm.icu.impl.coll.CollationFastLatin;
 import com.ibm.icu.impl.coll.CollationIterator;
+import com.ibm.icu.impl.coll.CollationKeySorter;
 import com.ibm.icu.impl.coll.CollationKeys;
 import com.ibm.icu.impl.coll.CollationKeys.SortKeyByteSink;
 import com.ibm.icu.impl.coll.CollationLoader;
@@ -31,14 +33,17 @@
 import com.ibm.icu.lang.UScript;
 import com.ibm.icu.util.ULocale;
 import com.ibm.icu.util.VersionInfo;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.text.CharacterIterator;
 import java.text.ParseException;
 import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
 import java.util.Objects;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * RuleBasedCollator is a concrete subclass of Collator. It allows customization of the Collator via
@@ -220,6 +225,28 @@ public RuleBasedCollator(String rules) throws Exception {
         internalBuildTailoring(rules);
     }
 
+    /**
+     * Opens a collator from a binary image that was created by {@link #cloneBinary()}, for example
+     * one that was cached in a file, without parsing and building the rules again. The binary image
+     * can also come from the ICU4C RuleBasedCollator::cloneBinary().
+     *
+     * <p>Like a collator built from rules, the new collator is based on the CLDR root collation.
+     * The binary image does not contain the rule string, so {@link #getRules()} returns an empty
+     * string.
+     *
+     * @param bin binary image of a collator; it is copied
+     * @throws IOException if bin is not a collation binary image of a supported format version
+     * @throws com.ibm.icu.util.ICUException if bin is not valid, or if it was created with a
+     *     different version of the root collation data
+     * @see #cloneBinary()
+     * @draft ICU 79
+     */
+    public RuleBasedCollator(byte[] bin) throws IOException {
+        validLocale = ULocale.ROOT;
+        // Copy the bytes: The tailoring mappings are read from the buffer on first use.
+        adoptTailoring(CollationLoader.loadTailoring(ByteBuffer.wrap(bin.clone())));
+    }
+
     /**
      * Implements from-rule constructors.
      *
@@ -263,6 +290,23 @@ public RuleBasedCollator clone() throws CloneNotSupportedException {
         return cloneAsThawed();
     }
 
+    /**
+     * Creates a binary image of this collator: its tailoring data and its current settings. A
+     * collator can be created from the image with {@link #RuleBasedCollator(byte[])} much faster
+     * than from rules. The image is compatible with the ICU4C RuleBasedCollator::cloneBinary(); it
+     * does not contain the rule string.
+     *
+     * <p>The image is only valid with the same version of the root collation data, see {@link
+     * #getUCAVersion()}.
+     *
+     * @return the binary image
+     * @see #RuleBasedCollator(byte[])
+     * @draft ICU 79
+     */
+    public byte[] cloneBinary() {
+        return CollationDataWriter.writeTailoring(tailoring, settings.readOnly());
+    }
+
     private final void initMaxExpansions() {
         if (tailoring.maxExpansions != null) {
             return;
@@ -323,7 +367,7 @@ public CollationElementIterator getCollationElementIterator(UCharacterIterator s
      */
     @Override
     public boolean isFrozen() {
-        return frozenLock != null;
+        return frozenBuffers != null;
     }
 
     /**
@@ -335,9 +379,10 @@ public boolean isFrozen() {
     @Override
     public Collator freeze() {
         if (!isFrozen()) {
-            frozenLock = new ReentrantLock();
-            if (collationBuffer == null) {
-                collationBuffer = new CollationBuffer(data);
+            frozenBuffers = new AtomicReferenceArray<>(FROZEN_BUFFER_SLOTS);
+            if (collationBuffer != null) {
+                frozenBuffers.set(homeSlot(), collationBuffer);
+                collationBuffer = null;
             }
         }
         return this;
@@ -357,7 +402,7 @@ public RuleBasedCollator cloneAsThawed() {
             // except in cases where we can't
             result.settings = settings.clone();
             result.collationBuffer = null;
-            result.frozenLock = null;
+            result.frozenBuffers = null;
             return result;
         } catch (CloneNotSupportedException e) {
             // Clone is implemented
@@ -1151,23 +1196,341 @@ public RawCollationKey getRawCollationKey(String source, RawCollationKey key) {
         }
     }
 
+    /**
+     * Writes the sort keys for all of the source strings back to back into one byte array, for
+     * example for building an index. This is more efficient than calling {@link
+     * #getRawCollationKey(String, RawCollationKey)} for each string because the internal iterators
+     * and buffers are set up only once for the whole batch, and no per-key objects are allocated.
+     * When the keys object is reused for the next batch, its byte array is reused as well and only
+     * grown when necessary.
+     *
+     * <p>The sort key for sources[i] is stored in keys.bytes from index offsets[i] to index
+     * offsets[i + 1]; keys.size is set to offsets[sources.length]. Each sort key includes its
+     * terminating zero byte, just like a key returned by getRawCollationKey(). Sort keys are
+     * compared with unsigned byte comparison up to and including the first zero byte.
+     *
+     * @param sources the strings to be transformed into sort keys; must not contain null
+     * @param keys output RawCollationKey to hold all of the sort keys; if null, a new one is
+     *     created
+     * @param offsets output array of at least sources.length + 1 elements that receives the index
+     *     of each sort key in keys.bytes and the total length
+     * @return keys, or a new RawCollationKey if keys was null
+     * @see #getRawCollationKey(String, RawCollationKey)
+     * @draft ICU 79
+     */
+    public RawCollationKey getRawCollationKeys(
+            CharSequence[] sources, RawCollationKey keys, int[] offsets) {
+        return getRawCollationKeys(Arrays.asList(sources), keys, offsets);
+    }
+
+    /**
+     * Writes the sort keys for all of the source strings back to back into one byte array. Same as
+     * {@link #getRawCollationKeys(CharSequence[], RawCollationKey, int[])} but with a List of
+     * source strings.
+     *
+     * @param sources the strings to be transformed into sort keys; must not contain null
+     * @param keys output RawCollationKey to hold all of the sort keys; if null, a new one is
+     *     created
+     * @param offsets output array of at least sources.size() + 1 elements that receives the index
+     *     of each sort key in keys.bytes and the total length
+     * @return keys, or a new RawCollationKey if keys was null
+     * @draft ICU 79
+     */
+    public RawCollationKey getRawCollationKeys(
+            List<? extends CharSequence> sources, RawCollationKey keys, int[] offsets) {
+        int count = sources.size();
+        if (offsets.length <= count) {
+            throw new IllegalArgumentException("offsets.length must be greater than the count");
+        }
+        if (keys == null) {
+            keys = new RawCollationKey();
+        }
+        if (keys.bytes == null || keys.bytes.length == 0) {
+            long estimate = 0;
+            for (int i = 0; i < count; ++i) {
+                estimate += simpleKeyLengthEstimate(sources.get(i));
+            }
+            // The sink grows the array if the estimate is too small.
+            keys.bytes = new byte[(int) Math.min(Math.max(estimate, 1), 1 << 24)];
+        }
+        CollationKeyByteSink sink = new CollationKeyByteSink(keys);
+        CollationBuffer buffer = null;
+        try {
+            buffer = getCollationBuffer();
+            for (int i = 0; i < count; ++i) {
+                offsets[i] = sink.NumberOfBytesAppended();
+                writeSortKey(sources.get(i), sink, buffer);
+            }
+        } finally {
+            releaseCollationBuffer(buffer);
+        }
+        keys.size = offsets[count] = sink.NumberOfBytesAppended();
+        return keys;
+    }
+
+    /**
+     * Writes sort keys back to back into the destination buffer, starting with the one for
+     * sources.get(start), as long as they fit. This is useful for writing the keys of a large
+     * number of strings into a direct buffer or a memory-mapped file in bounded chunks.
+     *
+     * <p>The sort key for sources.get(start + i) is stored in dest from index offsets[i] to index
+     * offsets[i + 1]; these are absolute indexes, and dest's position is advanced past the last
+     * complete sort key. Each sort key includes its terminating zero byte. Writing stops before a
+     * sort key that does not fit into the remaining space of dest, or when the offsets array is
+     * full.
+     *
+     * @param sources the strings to be transformed into sort keys; must not contain null
+     * @param start index in sources of the first string to be processed
+     * @param dest output buffer
+     * @param offsets output array that receives the position of each sort key in dest and the
+     *     position after the last one; its length limits the number of keys to one fewer
+     * @return the number of sort keys written; 0 if the first one does not fit
+     * @see #getRawCollationKeys(List, RawCollationKey, int[])
+     * @draft ICU 79
+     */
+    public int writeSortKeys(
+            List<? extends CharSequence> sources, int start, ByteBuffer dest, int[] offsets) {
+        int limit = Math.min(sources.size(), start + offsets.length - 1);
+        int i = start;
+        CollationBuffer buffer = null;
+        try {
+            buffer = getCollationBuffer();
+            RawCollationKey key = buffer.rawCollationKey;
+            if (key == null) {
+                key = buffer.rawCollationKey = new RawCollationKey();
+            }
+            for (; i < limit; ++i) {
+                key = getRawCollationKey(sources.get(i), key, buffer);
+                if (key.size > dest.remaining()) {
+                    break;
+                }
+                offsets[i - start] = dest.position();
+                dest.put(key.bytes, 0, key.size);
+            }
+            buffer.rawCollationKey = key;
+        } finally {
+            releaseCollationBuffer(buffer);
+        }
+        offsets[i - start] = dest.position();
+        return i - start;
+    }
+
+    /**
+     * Returns a partial sort key for the source string, for example for a database index with
+     * fixed-size keys. The sort key contains only the levels up to the given strength (and not more
+     * than this collator's strength), and it is truncated to at most maxLength bytes. Once the
+     * primary weights alone exceed maxLength bytes, the rest of the string is not processed, so
+     * that a long string costs no more than its prefix.
+     *
+     * <p>A partial sort key that is shorter than maxLength ends with a terminating zero byte just
+     * like a complete sort key; a truncated one does not. Partial sort keys are compared with
+     * unsigned byte comparison where a proper prefix sorts before the longer key. For two strings s
+     * &lt; t, the partial key of s is less than or equal to the partial key of t when both are
+     * created with the same strength and maxLength.
+     *
+     * <p>The case level, if enabled, is included if the strength is at least TERTIARY. The
+     * identical level is included only if both the strength and this collator's strength are
+     * IDENTICAL.
+     *
+     * @param source the string to be transformed into a sort key
+     * @param strength the highest strength level for the sort key: PRIMARY, SECONDARY, TERTIARY,
+     *     QUATERNARY or IDENTICAL
+     * @param maxLength the maximum number of bytes of the sort key
+     * @param key output RawCollationKey to hold the sort key; if null, a new one is created
+     * @return key, or a new RawCollationKey if key was null
+     * @throws IllegalArgumentException if the strength is not one of the Collator strength
+     *     constants, or if maxLength is negative
+     * @see #getPrefixUpperBound(CharSequence, RawCollationKey)
+     * @draft ICU 79
+     */
+    public RawCollationKey getPartialRawCollationKey(
+            CharSequence source, int strength, int maxLength, RawCollationKey key) {
+        int maxLevel;
+        switch (strength) {
+            case PRIMARY:
+                maxLevel = Collation.PRIMARY_LEVEL;
+                break;
+            case SECONDARY:
+                maxLevel = Collation.SECONDARY_LEVEL;
+                break;
+            case TERTIARY:
+                maxLevel = Collation.TERTIARY_LEVEL;
+                break;
+            case QUATERNARY:
+                maxLevel = Collation.QUATERNARY_LEVEL;
+                break;
+            case IDENTICAL:
+                maxLevel = Collation.IDENTICAL_LEVEL;
+                break;
+            default:
+                throw new IllegalArgumentException("illegal strength value " + strength);
+        }
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("maxLength must not be negative");
+        }
+        int capacity = Math.min(simpleKeyLengthEstimate(source), maxLength);
+        if (key == null) {
+            key = new RawCollationKey(capacity);
+        } else if (key.bytes == null) {
+            key.bytes = new byte[capacity];
+        }
+        CollationKeyByteSink sink = new CollationKeyByteSink(key, maxLength);
+        CollationBuffer buffer = null;
+        try {
+            buffer = getCollationBuffer();
+            writeSortKey(source, sink, buffer, maxLevel);
+        } finally {
+            releaseCollationBuffer(buffer);
+        }
+        key.size = Math.min(sink.NumberOfBytesAppended(), maxLength);
+        return key;
+    }
+
+    /**
+     * Returns the smallest byte sequence that is greater than the sort keys of all strings that
+     * start with the prefix, according to their primary weights. This exclusive upper bound
+     * delimits the range of sort keys for a prefix search, for example in a B-tree index. The
+     * inclusive lower bound is the primary-level partial sort key of the prefix, with the same
+     * maxLength as the indexed keys. The indexed keys can be complete sort keys or partial sort
+     * keys of any strength.
+     *
+     * <p>If the prefix ends with a character that forms a contraction with following text (like "c"
+     * with "h" in some languages), then strings that continue that contraction may not be in the
+     * range.
+     *
+     * @param prefix the prefix of the strings to be found
+     * @param key output RawCollationKey to hold the bound; if null, a new one is created
+     * @return key or a new RawCollationKey with the upper bound, or null if the prefix has no
+     *     primary weights (then all strings match)
+     * @see #getPartialRawCollationKey(CharSequence, int, int, RawCollationKey)
+     * @draft ICU 79
+     */
+    public RawCollationKey getPrefixUpperBound(CharSequence prefix, RawCollationKey key) {
+        key = getPartialRawCollationKey(prefix, PRIMARY, Integer.MAX_VALUE, key);
+        // Remove the terminator byte, and any trailing 0xff bytes which cannot be incremented.
+        int length = key.size - 1;
+        while (length > 0 && key.bytes[length - 1] == (byte) 0xff) {
+            --length;
+        }
+        if (length == 0) {
+            return null;
+        }
+        ++key.bytes[length - 1];
+        key.size = length;
+        return key;
+    }
+
+    /**
+     * Returns the order in which the source strings sort according to this collator. The result[i]
+     * element is the index in sources of the string that sorts at position i. Strings that compare
+     * equal remain in their original order.
+     *
+     * <p>This is much faster than sorting with this collator as a Comparator for large numbers of
+     * strings: The sort keys for all of the strings are computed once and then compared as bytes.
+     * For large lists, both steps are performed in parallel in the common fork/join pool. The sort
+     * keys are held in memory for the duration of the call.
+     *
+     * <p>If primaryOnly is true, then the strings are sorted only by their primary weights, as with
+     * strength PRIMARY without case level. This yields shorter sort keys, and strings that differ
+     * only in accents or case remain in their original order.
+     *
+     * @param sources the strings to be sorted; must not contain null
+     * @param primaryOnly true if the sort keys are to be truncated at the primary level
+     * @return the sorted order of the indexes of the sources
+     * @see #sort(List, boolean)
+     * @draft ICU 79
+     */
+    public int[] getSortOrder(List<? extends CharSequence> sources, boolean primaryOnly) {
+        RuleBasedCollator coll = this;
+        if (!isFrozen() || (primaryOnly && (getStrength() != PRIMARY || isCaseLevel()))) {
+            // The sort keys are computed concurrently.
+            coll = cloneAsThawed();
+            if (primaryOnly) {
+                coll.setStrength(PRIMARY);
+                coll.setCaseLevel(false);
+            }
+            coll.freeze();
+        }
+        return CollationKeySorter.sort(coll, sources);
+    }
+
+    /**
+     * Sorts the list according to this collator, in place. Same as {@link
+     * java.util.Collections#sort(List, java.util.Comparator)} with this collator, but faster for
+     * large lists; see {@link #getSortOrder(List, boolean)} for details. The sort is stable.
+     *
+     * @param list the strings to be sorted; must not contain null
+     * @param primaryOnly true if the strings are to be sorted only by their primary weights
+     * @see #getSortOrder(List, boolean)
+     * @draft ICU 79
+     */
+    public <T extends CharSequence> void sort(List<T> list, boolean primaryOnly) {
+        int[] order = getSortOrder(list, primaryOnly);
+        Object[] sorted = new Object[order.length];
+        for (int i = 0; i < order.length; ++i) {
+            sorted[i] = list.get(order[i]);
+        }
+        ListIterator<T> iter = list.listIterator();
+        for (Object s : sorted) {
+            iter.next();
+            @SuppressWarnings("unchecked")
+            T t = (T) s;
+            iter.set(t);
+        }
+    }
+
     private static final class CollationKeyByteSink extends SortKeyByteSink {
         CollationKeyByteSink(RawCollationKey key) {
+            this(key, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Constructs a sink that writes no more than limit bytes. It does not grow the key's byte
+         * array beyond limit bytes, and it uses only the first limit bytes of a larger array.
+         */
+        CollationKeyByteSink(RawCollationKey key, int limit) {
             super(key.bytes);
             key_ = key;
+            limit_ = limit;
+            if (capacity_ > limit) {
+                capacity_ = limit;
+            }
+        }
+
+        @Override
+        public void setBufferAndAppended(byte[] dest, int app) {
+            super.setBufferAndAppended(dest, app);
+            if (capacity_ > limit_) {
+                capacity_ = limit_;
+            }
+        }
+
+        boolean hasLimit() {
+            return limit_ != Integer.MAX_VALUE;
+        }
+
+        /** Returns true if no more bytes fit within the limit. */
+        boolean isFull() {
+            return NumberOfBytesAppended() >= limit_;
         }
 
         @Override
         protected void AppendBeyondCapacity(byte[] bytes, int start, int n, int length) {
             // n > 0 && appended_ > capacity_
-            if (Resize(n, length)) {
-                System.arraycopy(bytes, start, buffer_, length, n);
+            Resize(n, length);
+            // Copy what fits; only a limited sink truncates.
+            int fit = Math.min(n, capacity_ - length);
+            if (fit > 0) {
+                System.arraycopy(bytes, start, buffer_, length, fit);
             }
         }
 
         @Override
         protected boolean Resize(int appendCapacity, int length) {
-            int newCapacity = 2 * buffer_.length;
+            if (capacity_ >= limit_) {
+                return false;
+            }
+            int newCapacity = 2 * capacity_;
             int altCapacity = length + 2 * appendCapacity;
             if (newCapacity < altCapacity) {
                 newCapacity = altCapacity;
@@ -1175,16 +1538,21 @@ protected boolean Resize(int appendCapacity, int length) {
             if (newCapacity < 200) {
                 newCapacity = 200;
             }
+            if (newCapacity > limit_) {
+                newCapacity = limit_;
+            }
             // Do not call key_.ensureCapacity(newCapacity) because we do not
             // keep key_.size in sync with appended_.
             // We only set it when we are done.
             byte[] newBytes = new byte[newCapacity];
             System.arraycopy(buffer_, 0, newBytes, 0, length);
             buffer_ = key_.bytes = newBytes;
-            return true;
+            capacity_ = newCapacity;
+            return newCapacity > length;
         }
 
         private RawCollationKey key_;
+        private final int limit_;
     }
 
     private RawCollationKey getRawCollationKey(
@@ -1205,7 +1573,16 @@ private int simpleKeyLengthEstimate(CharSequence source) {
     }
 
     private void writeSortKey(CharSequence s, CollationKeyByteSink sink, CollationBuffer buffer) {
+        writeSortKey(s, sink, buffer, Collation.IDENTICAL_LEVEL);
+    }
+
+    /** Writes the sort key levels up to maxLevel, and the terminator byte. */
+    private void writeSortKey(
+            CharSequence s, CollationKeyByteSink sink, CollationBuffer buffer, int maxLevel) {
         boolean numeric = settings.readOnly().isNumeric();
+        // Without preflighting, a limited sink stops the iteration when the primary level
+        // exceeds the limit.
+        boolean preflight = !sink.hasLimit();
         if (settings.readOnly().dontCheckFCD()) {
             buffer.leftUTF16CollIter.setText(numeric, s, 0);
             CollationKeys.writeSortKeyUpToQuaternary(
@@ -1214,8 +1591,9 @@ private void writeSortKey(CharSequence s, CollationKeyByteSink sink, CollationBu
                     settings.readOnly(),
                     sink,
                     Collation.PRIMARY_LEVEL,
+                    maxLevel,
                     CollationKeys.SIMPLE_LEVEL_FALLBACK,
-                    true);
+                    preflight);
         } else {
             buffer.leftFCDUTF16Iter.setText(numeric, s, 0);
             CollationKeys.writeSortKeyUpToQuaternary(
@@ -1224,21 +1602,29 @@ private void writeSortKey(CharSequence s, CollationKeyByteSink sink, CollationBu
                     settings.readOnly(),
                     sink,
                     Collation.PRIMARY_LEVEL,
+                    maxLevel,
                     CollationKeys.SIMPLE_LEVEL_FALLBACK,
-                    true);
+                    preflight);
         }
-        if (settings.readOnly().getStrength() == IDENTICAL) {
+        if (settings.readOnly().getStrength() == IDENTICAL
+                && maxLevel == Collation.IDENTICAL_LEVEL
+                && !sink.isFull()) {
             writeIdenticalLevel(s, sink);
         }
         sink.Append(Collation.TERMINATOR_BYTE);
     }
 
     private void writeIdenticalLevel(CharSequence s, CollationKeyByteSink sink) {
-        // NFD quick check
-        int nfdQCYesLimit = data.nfcImpl.decompose(s, 0, s.length(), null);
         sink.Append(Collation.LEVEL_SEPARATOR_BYTE);
         // Sync the ByteArrayWrapper size with the key length.
         sink.key_.size = sink.NumberOfBytesAppended();
+        if (sink.hasLimit()) {
+            writeIdenticalLevelUpTo(s, sink.key_, sink.limit_);
+            sink.setBufferAndAppended(sink.key_.bytes, sink.key_.size);
+            return;
+        }
+        // NFD quick check
+        int nfdQCYesLimit = data.nfcImpl.decompose(s, 0, s.length(), null);
         int prev = 0;
         if (nfdQCYesLimit != 0) {
             prev = BOCSU.writeIdenticalLevelRun(prev, s, 0, nfdQCYesLimit, sink.key_);
@@ -1255,6 +1641,36 @@ private void writeIdenticalLevel(CharSequence s, CollationKeyByteSink sink) {
         sink.setBufferAndAppended(sink.key_.bytes, sink.key_.size);
     }
 
+    /**
+     * Writes the identical level in chunks of the string, and stops once the key has at least limit
+     * bytes. Each chunk ends on a decomposition boundary, so that its NFD is the NFD of that part
+     * of the whole string.
+     */
+    private void writeIdenticalLevelUpTo(CharSequence s, RawCollationKey key, int limit) {
+        StringBuilder nfd = new StringBuilder();
+        int prev = 0;
+        int start = 0;
+        while (start < s.length() && key.size < limit) {
+            // Each code point yields at least one byte.
+            int end = Math.min(start + (limit - key.size), s.length());
+            if (end < s.length()
+                    && Character.isHighSurrogate(s.charAt(end - 1))
+                    && Character.isLowSurrogate(s.charAt(end))) {
+                ++end;
+            }
+            while (end < s.length()) {
+                int c = Character.codePointAt(s, end);
+                if (data.nfcImpl.hasDecompBoundaryBefore(c)) {
+                    break;
+                }
+                end += Character.charCount(c);
+            }
+            data.nfcImpl.decompose(s, start, end, nfd, end - start);
+            prev = BOCSU.writeIdenticalLevelRun(prev, nfd, 0, nfd.length(), key);
+            start = end;
+        }
+    }
+
     /**
      * Returns the CEs for the string.
      *
@@ -1777,7 +2193,21 @@ protected int doCompare(CharSequence left, CharSequence right) {
             CollationBuffer buffer = null;
             try {
                 buffer = getCollationBuffer();
-                if (roSettings.dontCheckFCD()) {
+                if (!numeric) {
+                    // Extended fast path for Latin, Greek, Cyrillic, and more.
+                    result =
+                            CollationFastLatin.compareUTF16Extended(
+                                    data.getExtendedFastTable(),
+                                    roSettings,
+                                    left,
+                                    right,
+                                    equalPrefixLength,
+                                    buffer.leftExtendedCEs,
+                                    buffer.rightExtendedCEs);
+                }
+                if (result != CollationFastLatin.BAIL_OUT_RESULT) {
+                    // Compared via the extended fast path.
+                } else if (roSettings.dontCheckFCD()) {
                     buffer.leftUTF16CollIter.setText(numeric, left, equalPrefixLength);
                     buffer.rightUTF16CollIter.setText(numeric, right, equalPrefixLength);
                     result =
@@ -1852,8 +2282,18 @@ final boolean isUnsafe(int c) {
         return data.isUnsafeBackward(c, settings.readOnly().isNumeric());
     }
 
-    /** Frozen state of the collator. */
-    private Lock frozenLock;
+    /**
+     * Frozen state of the collator: Slots of idle CollationBuffers shared by all threads, without a
+     * lock. A call takes a buffer out of a slot with an atomic swap, starting at a slot chosen by
+     * the thread ID, and puts it back into the first empty slot from there when done. A thread thus
+     * normally finds its own buffer in its home slot, and creates a new buffer only when all slots
+     * are empty. At most FROZEN_BUFFER_SLOTS idle buffers are kept, so that a collator used by many
+     * threads over time does not retain a buffer for each of them.
+     */
+    private AtomicReferenceArray<CollationBuffer> frozenBuffers;
+
+    /** Number of buffer slots of a frozen collator. Must be a power of 2. */
+    private static final int FROZEN_BUFFER_SLOTS = 64;
 
     private static final class CollationBuffer {
         private CollationBuffer(CollationData data) {
@@ -1865,6 +2305,8 @@ private CollationBuffer(CollationData data) {
             rightUTF16NFDIter = new UTF16NFDIterator();
             leftFCDUTF16NFDIter = new FCDUTF16NFDIterator();
             rightFCDUTF16NFDIter = new FCDUTF16NFDIterator();
+            leftExtendedCEs = new long[CollationFastLatin.EXTENDED_CE_CAPACITY];
+            rightExtendedCEs = new long[CollationFastLatin.EXTENDED_CE_CAPACITY];
         }
 
         UTF16CollationIterator leftUTF16CollIter;
@@ -1877,6 +2319,9 @@ private CollationBuffer(CollationData data) {
         FCDUTF16NFDIterator leftFCDUTF16NFDIter;
         FCDUTF16NFDIterator rightFCDUTF16NFDIter;
 
+        long[] leftExtendedCEs;
+        long[] rightExtendedCEs;
+
         RawCollationKey rawCollationKey;
     }
 
@@ -1918,9 +2363,24 @@ public VersionInfo getUCAVersion() {
 
     private CollationBuffer collationBuffer;
 
+    private static int homeSlot() {
+        return (int) Thread.currentThread().getId() & (FROZEN_BUFFER_SLOTS - 1);
+    }
+
     private final CollationBuffer getCollationBuffer() {
         if (isFrozen()) {
-            frozenLock.lock();
+            int home = homeSlot();
+            for (int i = 0; i < FROZEN_BUFFER_SLOTS; ++i) {
+                int slot = (home + i) & (FROZEN_BUFFER_SLOTS - 1);
+                // Read before swapping, so that empty slots are not written to.
+                if (frozenBuffers.get(slot) != null) {
+                    CollationBuffer buffer = frozenBuffers.getAndSet(slot, null);
+                    if (buffer != null) {
+                        return buffer;
+                    }
+                }
+            }
+            return new CollationBuffer(data);
         } else if (collationBuffer == null) {
             collationBuffer = new CollationBuffer(data);
         }
@@ -1928,8 +2388,17 @@ private final CollationBuffer getCollationBuffer() {
     }
 
     private final void releaseCollationBuffer(CollationBuffer buffer) {
-        if (isFrozen()) {
-            frozenLock.unlock();
+        // An unfrozen collator is not thread-safe and keeps its one buffer.
+        if (isFrozen() && buffer != null) {
+            int home = homeSlot();
+            for (int i = 0; i < FROZEN_BUFFER_SLOTS; ++i) {
+                int slot = (home + i) & (FROZEN_BUFFER_SLOTS - 1);
+                if (frozenBuffers.get(slot) == null
+                        && frozenBuffers.compareAndSet(slot, null, buffer)) {
+                    return;
+                }
+            }
+            // All slots are full: Leave the surplus buffer to the garbage collector.
         }
     }
 
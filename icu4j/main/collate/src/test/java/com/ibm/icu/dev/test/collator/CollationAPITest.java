@@ -26,13 +26,19 @@
 import com.ibm.icu.text.UnicodeSet;
 import com.ibm.icu.util.ULocale;
 import com.ibm.icu.util.VersionInfo;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.MissingResourceException;
+import java.util.Random;
 import java.util.Set;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -173,6 +179,297 @@ public void TestRawCollationKey() {
         }
     }
 
+    @Test
+    public void TestGetRawCollationKeys() {
+        String[] sources = {
+            "abc", "ABC", "a\u0301bc", "\u00e1bc", "", "\uac00\u11a8", "Stra\u00dfe", "\ud835\udc00"
+        };
+        int[] strengths = {Collator.PRIMARY, Collator.TERTIARY, Collator.IDENTICAL};
+        for (int strength : strengths) {
+            RuleBasedCollator coll = (RuleBasedCollator) Collator.getInstance(ULocale.GERMAN);
+            coll.setStrength(strength);
+            for (boolean frozen : new boolean[] {false, true}) {
+                if (frozen) {
+                    coll = (RuleBasedCollator) coll.cloneAsThawed().freeze();
+                }
+                int[] offsets = new int[sources.length + 1];
+                // Start with a tiny array so that it has to grow.
+                RawCollationKey keys =
+                        coll.getRawCollationKeys(sources, new RawCollationKey(1), offsets);
+                assertEquals("keys.size", offsets[sources.length], keys.size);
+                for (int i = 0; i < sources.length; ++i) {
+                    RawCollationKey key = coll.getRawCollationKey(sources[i], null);
+                    assertTrue(
+                            "sort key " + i + " strength " + strength,
+                            Arrays.equals(
+                                    Arrays.copyOf(key.bytes, key.size),
+                                    Arrays.copyOfRange(keys.bytes, offsets[i], offsets[i + 1])));
+                }
+
+                // Reuse the keys object with the List variant.
+                byte[] bytes = keys.bytes;
+                int[] offsets2 = new int[sources.length + 1];
+                RawCollationKey keys2 =
+                        coll.getRawCollationKeys(Arrays.asList(sources), keys, offsets2);
+                assertTrue("keys reused", keys2 == keys && keys2.bytes == bytes);
+                assertTrue("same offsets", Arrays.equals(offsets, offsets2));
+
+                // Write into a ByteBuffer in chunks that hold only a few keys at a time.
+                ByteBuffer dest = ByteBuffer.allocate(offsets[3] - offsets[0]);
+                int[] chunkOffsets = new int[4];
+                int start = 0;
+                while (start < sources.length) {
+                    dest.clear();
+                    int count =
+                            coll.writeSortKeys(Arrays.asList(sources), start, dest, chunkOffsets);
+                    if (count == 0) {
+                        dest = ByteBuffer.allocate(2 * dest.capacity());
+                        continue;
+                    }
+                    assertEquals("ByteBuffer position", chunkOffsets[count], dest.position());
+                    for (int i = 0; i < count; ++i) {
+                        int k = start + i;
+                        assertTrue(
+                                "ByteBuffer sort key " + k,
+                                Arrays.equals(
+                                        Arrays.copyOfRange(keys.bytes, offsets[k], offsets[k + 1]),
+                                        Arrays.copyOfRange(
+                                                dest.array(),
+                                                chunkOffsets[i],
+                                                chunkOffsets[i + 1])));
+                    }
+                    start += count;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void TestPartialSortKeys() {
+        String[] sources = {
+            "",
+            "a",
+            "abc",
+            "ABC",
+            "\u00e4bc",
+            "abcd",
+            "Stra\u00dfe",
+            "strasse",
+            "x-y",
+            "xy",
+            "\u0436\u0436\u0436\u0436\u0436\u0436\u0436\u0436\u0436\u0436\u0436\u0436"
+        };
+        int[] strengths = {
+            Collator.PRIMARY,
+            Collator.SECONDARY,
+            Collator.TERTIARY,
+            Collator.QUATERNARY,
+            Collator.IDENTICAL
+        };
+        RuleBasedCollator coll = (RuleBasedCollator) Collator.getInstance(ULocale.GERMAN);
+        coll.setAlternateHandlingShifted(true);
+        coll.setStrength(Collator.IDENTICAL);
+        RawCollationKey partial = new RawCollationKey();
+        for (int strength : strengths) {
+            RuleBasedCollator strengthColl = coll.cloneAsThawed();
+            strengthColl.setStrength(strength);
+            for (String s : sources) {
+                RawCollationKey key = strengthColl.getRawCollationKey(s, null);
+                // Without truncation, the partial key is the full key for that strength.
+                partial = coll.getPartialRawCollationKey(s, strength, 1000, partial);
+                assertTrue(
+                        "partial key = full key for strength " + strength,
+                        Arrays.equals(
+                                Arrays.copyOf(key.bytes, key.size),
+                                Arrays.copyOf(partial.bytes, partial.size)));
+                // Truncated partial keys are prefixes of the full key.
+                for (int maxLength = 0; maxLength <= key.size + 1; ++maxLength) {
+                    RawCollationKey truncated =
+                            coll.getPartialRawCollationKey(s, strength, maxLength, null);
+                    assertTrue(
+                            "truncated key is a prefix of the full key",
+                            Arrays.equals(
+                                    Arrays.copyOf(key.bytes, Math.min(key.size, maxLength)),
+                                    Arrays.copyOf(truncated.bytes, truncated.size)));
+                }
+            }
+        }
+        // The partial key strength is capped by the collator strength.
+        coll.setStrength(Collator.PRIMARY);
+        assertEquals(
+                "strength capped",
+                coll.getRawCollationKey("abc", null).size,
+                coll.getPartialRawCollationKey("abc", Collator.TERTIARY, 100, null).size);
+        try {
+            coll.getPartialRawCollationKey("abc", 7, 100, null);
+            errln("getPartialRawCollationKey() should fail with an illegal strength");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void TestPartialSortKeyIdenticalLevel() {
+        // Short lower levels and a long identical level: U+0001 is completely ignorable.
+        // U+1E0A U+0323 is not in NFD, and its NFD reorders the marks.
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 300; ++i) {
+            sb.append("\u1e0a\u0323\u0001\ud834\udd65");
+        }
+        for (int i = 0; i < 100000; ++i) {
+            sb.append('\u0001');
+        }
+        String s = sb.toString();
+        RuleBasedCollator coll = (RuleBasedCollator) Collator.getInstance(ULocale.ROOT);
+        coll.setStrength(Collator.IDENTICAL);
+        RawCollationKey key = coll.getRawCollationKey(s, null);
+        RuleBasedCollator quaternaryColl = coll.cloneAsThawed();
+        quaternaryColl.setStrength(Collator.QUATERNARY);
+        // Where the identical level starts, replacing the terminator byte.
+        int identicalStart = quaternaryColl.getRawCollationKey(s, null).size - 1;
+        assertTrue("long identical level", key.size > identicalStart + 100000);
+        for (int maxLength = identicalStart; maxLength < identicalStart + 2000; maxLength += 7) {
+            RawCollationKey truncated =
+                    coll.getPartialRawCollationKey(s, Collator.IDENTICAL, maxLength, null);
+            assertTrue(
+                    "truncated key is a prefix of the full key",
+                    Arrays.equals(
+                            Arrays.copyOf(key.bytes, maxLength),
+                            Arrays.copyOf(truncated.bytes, truncated.size)));
+            // The identical level is not written much beyond maxLength.
+            assertTrue(
+                    "truncated key capacity " + truncated.bytes.length,
+                    truncated.bytes.length < 10 * maxLength);
+        }
+    }
+
+    @Test
+    public void TestPartialSortKeyReusedKey() {
+        // A reused key with an array larger than maxLength must not be written beyond maxLength.
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2000; ++i) {
+            sb.append("abcäж");
+        }
+        for (int i = 0; i < 100000; ++i) {
+            sb.append('\u0001');
+        }
+        String s = sb.toString();
+        RuleBasedCollator coll = (RuleBasedCollator) Collator.getInstance(ULocale.ROOT);
+        coll.setStrength(Collator.IDENTICAL);
+        RuleBasedCollator quaternaryColl = coll.cloneAsThawed();
+        quaternaryColl.setStrength(Collator.QUATERNARY);
+        int identicalStart = quaternaryColl.getRawCollationKey(s, null).size - 1;
+        final byte unwritten = (byte) 0xa5;
+        RawCollationKey reused = new RawCollationKey(coll.getRawCollationKey(s, null).size + 1000);
+        byte[] bytes = reused.bytes;
+        for (int strength : new int[] {Collator.PRIMARY, Collator.IDENTICAL}) {
+            RuleBasedCollator strengthColl = coll.cloneAsThawed();
+            strengthColl.setStrength(strength);
+            RawCollationKey key = strengthColl.getRawCollationKey(s, null);
+            for (int maxLength :
+                    new int[] {0, 1, 10, 100, identicalStart + 10, identicalStart + 500}) {
+                Arrays.fill(bytes, unwritten);
+                coll.getPartialRawCollationKey(s, strength, maxLength, reused);
+                assertTrue("reused key array", reused.bytes == bytes);
+                int size = Math.min(key.size, maxLength);
+                assertEquals("reused key size", size, reused.size);
+                assertTrue(
+                        "truncated key is a prefix of the full key",
+                        Arrays.equals(Arrays.copyOf(key.bytes, size), Arrays.copyOf(bytes, size)));
+                // The identical level is written in runs that may pass maxLength by a few bytes.
+                int writeLimit =
+                        strength == Collator.IDENTICAL && maxLength > identicalStart
+                                ? 10 * maxLength
+                                : maxLength;
+                for (int i = writeLimit; i < bytes.length; ++i) {
+                    if (bytes[i] != unwritten) {
+                        errln(
+                                "strength "
+                                        + strength
+                                        + " maxLength "
+                                        + maxLength
+                                        + ": byte written at index "
+                                        + i);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void TestPrefixUpperBound() {
+        String[] sources = {
+            "ab", "Ab", "\u00e1b", "abc", "a-b-c", "ABCD", "ac", "b", "aa", "a", "", "zzz"
+        };
+        RuleBasedCollator coll = (RuleBasedCollator) Collator.getInstance(ULocale.ENGLISH);
+        coll.setAlternateHandlingShifted(true);
+        for (String prefix : new String[] {"ab", "a", "b", "z"}) {
+            RawCollationKey upper = coll.getPrefixUpperBound(prefix, null);
+            for (int maxLength : new int[] {2, 3, 1000}) {
+                RawCollationKey lower =
+                        coll.getPartialRawCollationKey(prefix, Collator.PRIMARY, maxLength, null);
+                for (String s : sources) {
+                    RawCollationKey key =
+                            coll.getPartialRawCollationKey(s, Collator.TERTIARY, maxLength, null);
+                    boolean inRange = lower.compareTo(key) <= 0 && key.compareTo(upper) < 0;
+                    // Fold the string the way the primary level does for these examples.
+                    String folded =
+                            s.toLowerCase(Locale.ROOT).replace("\u00e1", "a").replace("-", "");
+                    boolean startsWith = folded.startsWith(prefix);
+                    if (startsWith) {
+                        assertTrue(prefix + " range contains " + s, inRange);
+                    } else if (maxLength == 1000) {
+                        assertFalse(prefix + " range does not contain " + s, inRange);
+                    }
+                }
+            }
+        }
+        assertNull("no upper bound for an ignorable prefix", coll.getPrefixUpperBound("-", null));
+    }
+
+    @Test
+    public void TestSortOrder() {
+        // Enough strings for parallel sorting, with many duplicates and near-duplicates.
+        final String[] parts = {
+            "a", "A", "\u00e4", "b", "Stra\u00dfe", "strasse", "-", " ", "\u0436"
+        };
+        Random random = new Random(79);
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < 20000; ++i) {
+            StringBuilder sb = new StringBuilder();
+            for (int length = random.nextInt(4); length > 0; --length) {
+                sb.append(parts[random.nextInt(parts.length)]);
+            }
+            list.add(sb.toString());
+        }
+        RuleBasedCollator coll = (RuleBasedCollator) Collator.getInstance(ULocale.GERMAN);
+        coll.setAlternateHandlingShifted(true);
+        for (boolean primaryOnly : new boolean[] {false, true}) {
+            RuleBasedCollator expectedColl = coll.cloneAsThawed();
+            if (primaryOnly) {
+                expectedColl.setStrength(Collator.PRIMARY);
+            }
+            // Collections.sort() is stable, so the result must be the same.
+            List<String> expected = new ArrayList<>(list);
+            Collections.sort(expected, expectedColl);
+            List<String> sorted = new ArrayList<>(list);
+            coll.sort(sorted, primaryOnly);
+            assertEquals("sort(primaryOnly=" + primaryOnly + ")", expected, sorted);
+
+            // Also a short list, which is sorted without the fork/join pool.
+            List<String> shortList = list.subList(0, 100);
+            int[] order = coll.getSortOrder(shortList, primaryOnly);
+            List<String> shortExpected = new ArrayList<>(shortList);
+            Collections.sort(shortExpected, expectedColl);
+            for (int i = 0; i < order.length; ++i) {
+                assertEquals("order[" + i + "]", shortExpected.get(i), shortList.get(order[i]));
+            }
+        }
+        // The collator was not frozen, and its settings were not changed.
+        assertFalse("not frozen", coll.isFrozen());
+        assertEquals("strength", Collator.TERTIARY, coll.getStrength());
+    }
+
     void doAssert(boolean conditions, String message) {
         if (!conditions) {
             errln(message);
@@ -1534,6 +1831,64 @@ public void TestClone() {
         }
     }
 
+    @Test
+    public void TestCloneBinary() throws Exception {
+        RuleBasedCollator rbc =
+                (RuleBasedCollator) Collator.getInstance(new ULocale("de@collation=phonebook"));
+        rbc.setStrength(Collator.PRIMARY);
+        String uUmlaut = "\u00fc";
+        String ue = "ue";
+        assertEquals("rbc/primary: u-umlaut==ue", 0, rbc.compare(uUmlaut, ue));
+        byte[] bin = rbc.cloneBinary();
+        logln("rbc.cloneBinary() -> " + bin.length + " bytes");
+
+        RuleBasedCollator rbc2 = new RuleBasedCollator(bin);
+        assertEquals("rbc2.strength==primary", Collator.PRIMARY, rbc2.getStrength());
+        assertEquals("rbc2: u-umlaut==ue", 0, rbc2.compare(uUmlaut, ue));
+        assertTrue("rbc==rbc2", rbc.equals(rbc2));
+        byte[] bin2 = rbc2.cloneBinary();
+        assertTrue("rbc binary==rbc2 binary", Arrays.equals(bin, bin2));
+
+        // Changing the input bytes must not affect the new collator.
+        Arrays.fill(bin, (byte) 0);
+        RuleBasedCollator rbc3 = new RuleBasedCollator(bin2);
+        Arrays.fill(bin2, (byte) 0);
+        assertEquals("rbc3: u-umlaut==ue", 0, rbc3.compare(uUmlaut, ue));
+        assertTrue("rbc==rbc3", rbc.equals(rbc3));
+
+        // Rules with Jamo, contractions, a supplementary combining mark, and reordering.
+        String rules =
+                "[reorder Grek Latn][caseFirst upper]"
+                        + "&z<\u1100<<<x&c<ch<<<cH<<<Ch<<<CH&b<a\ud834\udd65&\u03c9<\u00e6";
+        RuleBasedCollator built = new RuleBasedCollator(rules);
+        RuleBasedCollator loaded = new RuleBasedCollator(built.cloneBinary());
+        assertEquals("loaded rules", "", loaded.getRules());
+        assertEquals("tailored set", built.getTailoredSet(), loaded.getTailoredSet());
+        assertTrue("built==loaded", built.equals(loaded));
+        String[] strings =
+                ("a A b ch Ch cz d z \u1100 x \uac00 \uac01 a\ud834\udd65 \u00e6 \u03c9 \u03b1"
+                                + " ab\u0301 \ud834\udd65a")
+                        .split(" ");
+        for (String s : strings) {
+            for (String t : strings) {
+                assertEquals(
+                        "compare(" + Utility.escape(s) + ", " + Utility.escape(t) + ")",
+                        built.compare(s, t),
+                        loaded.compare(s, t));
+            }
+            assertEquals(
+                    "sort key of " + Utility.escape(s),
+                    built.getCollationKey(s),
+                    loaded.getCollationKey(s));
+        }
+
+        try {
+            new RuleBasedCollator(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+            errln("RuleBasedCollator(bad binary) did not fail");
+        } catch (IOException expected) {
+        }
+    }
+
     private void dump(String msg, RuleBasedCollator c) {
         logln(
                 msg
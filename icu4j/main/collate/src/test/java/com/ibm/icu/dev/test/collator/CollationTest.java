@@ -30,6 +30,7 @@
 import com.ibm.icu.impl.coll.FCDUTF16CollationIterator;
 import com.ibm.icu.impl.coll.UTF16CollationIterator;
 import com.ibm.icu.impl.coll.UVector32;
+import com.ibm.icu.lang.UScript;
 import com.ibm.icu.text.CollationElementIterator;
 import com.ibm.icu.text.CollationKey;
 import com.ibm.icu.text.Collator;
@@ -48,6 +49,7 @@
 import java.io.IOException;
 import java.text.ParseException;
 import java.util.HashSet;
+import java.util.Random;
 import java.util.Set;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -411,6 +413,141 @@ public void TestSubSequence() {
         }
     }
 
+    // ICU4J-only: The extended fast path in RuleBasedCollator.compare() must yield the same
+    // results as sort keys, which are always computed via the regular code path.
+    @Test
+    public void TestExtendedFastPath() {
+        final String chars =
+                "aAbcCdhHiIzZ\u00e4\u00c5\u00df\u00e9\u0131\u01c6\u1e9e\u1ec7"
+                        + "\u03b1\u0391\u03ac\u03b2\u03c2\u03c3\u03a3\u03ce\u1f00"
+                        + "\u0430\u0410\u0435\u0451\u0438\u0439\u0456\u0457\u044f\u0490"
+                        + "\u0306\u0301\u0308 -.'09\u00a0\u2019\u00ad\u4e00";
+        final String[] locales = {"root", "de", "da", "sk", "ru", "uk", "el"};
+        String alphabet = Utility.unescape(chars);
+        Random random = new Random(20261017);
+        // Contractions and canonically equivalent strings, then random strings.
+        final String[] special = {
+            "\u0438\u0306",
+            "\u0439",
+            "\u0438\u0306a",
+            "\u0439b",
+            "\u0435\u0308",
+            "\u0451",
+            "ch",
+            "chz",
+            "cz",
+            "d",
+            "h"
+        };
+        String[] strings = new String[200];
+        for (int i = 0; i < special.length; ++i) {
+            strings[i] = Utility.unescape(special[i]);
+        }
+        for (int i = special.length; i < strings.length; ++i) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(8);
+            for (int j = 0; j < length; ++j) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            strings[i] = sb.toString();
+        }
+        for (String locale : locales) {
+            for (int variant = 0; variant < 6; ++variant) {
+                RuleBasedCollator coll =
+                        (RuleBasedCollator) Collator.getInstance(new ULocale(locale));
+                switch (variant) {
+                    case 1:
+                        coll.setAlternateHandlingShifted(true);
+                        coll.setStrength(Collator.QUATERNARY);
+                        break;
+                    case 2:
+                        coll.setUpperCaseFirst(true);
+                        coll.setCaseLevel(true);
+                        break;
+                    case 3:
+                        coll.setFrenchCollation(true);
+                        coll.setStrength(Collator.SECONDARY);
+                        break;
+                    case 4:
+                        coll.setReorderCodes(UScript.GREEK, UScript.CYRILLIC);
+                        break;
+                    case 5:
+                        coll.setStrength(Collator.PRIMARY);
+                        coll.setAlternateHandlingShifted(true);
+                        break;
+                    default:
+                        break;
+                }
+                coll.freeze();
+                CollationKey[] keys = new CollationKey[strings.length];
+                for (int i = 0; i < strings.length; ++i) {
+                    keys[i] = coll.getCollationKey(strings[i]);
+                }
+                for (int i = 0; i < strings.length; ++i) {
+                    for (int j = 0; j < strings.length; ++j) {
+                        int expected = Integer.signum(keys[i].compareTo(keys[j]));
+                        int actual = coll.compare(strings[i], strings[j]);
+                        if (actual != expected) {
+                            errln(
+                                    String.format(
+                                            "%s variant %d: compare(%s, %s) = %d but sort keys"
+                                                    + " compare %d",
+                                            locale,
+                                            variant,
+                                            Utility.escape(strings[i]),
+                                            Utility.escape(strings[j]),
+                                            actual,
+                                            expected));
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The mappings of a tailoring from the data file are read only on first use. Collators built
+     * from the same rules at runtime have all of their mappings right away, and must order the
+     * tailored strings the same way.
+     */
+    @Test
+    public void TestLazyTailoringMappings() throws Exception {
+        final String[] locales = {"da", "sk", "hsb", "vi", "ar"};
+        for (String locale : locales) {
+            RuleBasedCollator coll = (RuleBasedCollator) Collator.getInstance(new ULocale(locale));
+            // Only the settings and the fast Latin table are needed for this comparison.
+            assertTrue(locale + " a<b", coll.compare("a", "b") < 0);
+            RuleBasedCollator built = new RuleBasedCollator(coll.getRules());
+            UnicodeSet tailored = coll.getTailoredSet();
+            assertEquals(locale + " tailored set", built.getTailoredSet(), tailored);
+            String[] strings = new String[tailored.size() + 2];
+            int count = 0;
+            for (UnicodeSetIterator iter = new UnicodeSetIterator(tailored); iter.next(); ) {
+                strings[count++] = iter.getString();
+            }
+            strings[count++] = "a";
+            strings[count++] = "z";
+            for (int i = 0; i < count; ++i) {
+                for (int j = 0; j < count; ++j) {
+                    int expected = built.compare(strings[i], strings[j]);
+                    int actual = coll.compare(strings[i], strings[j]);
+                    if (actual != expected) {
+                        errln(
+                                String.format(
+                                        "%s: compare(%s, %s) = %d but %d with the built rules",
+                                        locale,
+                                        Utility.escape(strings[i]),
+                                        Utility.escape(strings[j]),
+                                        actual,
+                                        expected));
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
     // ICU4C: TestIllegalUTF8 / not applicable to ICU4J
 
     private static void addLeadSurrogatesForSupplementary(UnicodeSet src, UnicodeSet dest) {
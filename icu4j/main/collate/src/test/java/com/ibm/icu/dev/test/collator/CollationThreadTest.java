@@ -10,7 +10,9 @@
 package com.ibm.icu.dev.test.collator;
 
 import com.ibm.icu.dev.test.TestFmwk;
+import com.ibm.icu.text.CollationKey;
 import com.ibm.icu.text.Collator;
+import com.ibm.icu.text.RawCollationKey;
 import java.util.Arrays;
 import java.util.Locale;
 import java.util.Random;
@@ -222,6 +224,60 @@ public void run() {
         }
     }
 
+    private static class KeyTest implements Runnable {
+        private String name;
+        private Collator collator;
+        private byte[][] expectedKeys;
+        private int[][] expectedOrder;
+        private Random r;
+        private Control control;
+
+        KeyTest(
+                String name,
+                Collator collator,
+                byte[][] expectedKeys,
+                int[][] expectedOrder,
+                Random r,
+                Control control) {
+            this.name = name;
+            this.collator = collator;
+            this.expectedKeys = expectedKeys;
+            this.expectedOrder = expectedOrder;
+            this.r = r;
+            this.control = control;
+        }
+
+        @Override
+        public void run() {
+            try {
+                synchronized (control) {
+                    while (!control.go()) {
+                        control.wait();
+                    }
+                }
+
+                RawCollationKey raw = null;
+                while (control.go()) {
+                    int i = r.nextInt(threadTestData.length);
+                    int j = r.nextInt(threadTestData.length);
+                    CollationKey key = collator.getCollationKey(threadTestData[i]);
+                    raw = collator.getRawCollationKey(threadTestData[j], raw);
+                    if (!Arrays.equals(key.toByteArray(), expectedKeys[i])
+                            || !Arrays.equals(
+                                    Arrays.copyOf(raw.bytes, raw.size), expectedKeys[j])) {
+                        control.fail(name + ": incorrect sort key");
+                    } else if (Integer.signum(
+                                    collator.compare(threadTestData[i], threadTestData[j]))
+                            != expectedOrder[i][j]) {
+                        control.fail(name + ": incorrect comparison");
+                    }
+                }
+            } catch (InterruptedException e) {
+                // die
+            }
+        }
+    }
+
     private void runThreads(Thread[] threads, Control control) {
         for (int i = 0; i < threads.length; ++i) {
             threads[i].start();
@@ -294,4 +350,39 @@ public void testFrozen() {
 
         runThreads(threads, control);
     }
+
+    @org.junit.Test
+    public void testFrozenKeysAndCompare() {
+        final Collator theCollator = Collator.getInstance(new Locale("pl", "", ""));
+        theCollator.setStrength(Collator.IDENTICAL);
+        final int length = threadTestData.length;
+        final byte[][] expectedKeys = new byte[length][];
+        final int[][] expectedOrder = new int[length][length];
+        for (int i = 0; i < length; ++i) {
+            expectedKeys[i] = theCollator.getCollationKey(threadTestData[i]).toByteArray();
+            for (int j = 0; j < length; ++j) {
+                expectedOrder[i][j] =
+                        Integer.signum(theCollator.compare(threadTestData[i], threadTestData[j]));
+            }
+        }
+        theCollator.freeze();
+        Control control = new Control();
+
+        // More threads than a frozen collator keeps idle buffers,
+        // so that buffers are both reused and discarded.
+        Thread[] threads = new Thread[20];
+        for (int i = 0; i < threads.length; ++i) {
+            KeyTest test =
+                    new KeyTest(
+                            "Frozen key test thread " + i,
+                            theCollator,
+                            expectedKeys,
+                            expectedOrder,
+                            new Random(i),
+                            control);
+            threads[i] = new Thread(test);
+        }
+
+        runThreads(threads, control);
+    }
 }
@@ -17,14 +17,26 @@
 import com.ibm.icu.lang.UCharacter;
 import com.ibm.icu.lang.UCharacterCategory;
 import com.ibm.icu.lang.UProperty;
+import com.ibm.icu.text.Edits;
 import com.ibm.icu.text.FilteredNormalizer2;
 import com.ibm.icu.text.Normalizer;
 import com.ibm.icu.text.Normalizer2;
+import com.ibm.icu.text.NormalizingReader;
+import com.ibm.icu.text.NormalizingWriter;
 import com.ibm.icu.text.UCharacterIterator;
 import com.ibm.icu.text.UTF16;
 import com.ibm.icu.text.UnicodeSet;
 import com.ibm.icu.text.UnicodeSetIterator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
 import java.text.StringCharacterIterator;
+import java.util.Arrays;
 import java.util.Random;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -3289,6 +3301,341 @@ public void TestFCD() {
         assertEquals("fcd impl.getQuickCheck(ä)", 0, impl.getQuickCheck('ä'));
     }
 
+    @Test
+    public void TestNormalizeCharBuffer() {
+        Normalizer2[] norm2s = {
+            Normalizer2.getNFCInstance(),
+            Normalizer2.getNFDInstance(),
+            Normalizer2.getNFKCInstance(),
+            Normalizer2.getNFKDInstance(),
+            Normalizer2.getInstance(null, "nfc", Normalizer2.Mode.FCD),
+            new FilteredNormalizer2(Normalizer2.getNFCInstance(), new UnicodeSet("[^a-z]"))
+        };
+        StringBuilder sb = new StringBuilder();
+        for (String[] test : canonTests) {
+            sb.append(test[0]).append(' ');
+        }
+        for (String[] test : compatTests) {
+            sb.append(test[0]);
+        }
+        sb.append("\uac00\u11a8 D\ud834\udd5f\u0307\u0323 \ud800\u0300 a\u0300\u0301\u0327");
+        // U+1D165 has a lower combining class than U+0301 and must be reordered with it.
+        sb.append(" a\u0301\ud834\udd65");
+        String input = sb.toString();
+        int[] chunkSizes = {1, 2, 3, 7, 64, input.length()};
+        int[] destSizes = {1, 2, 5, 16, 2 * input.length()};
+        for (Normalizer2 norm2 : norm2s) {
+            String expected = norm2.normalize(input);
+            for (int chunkSize : chunkSizes) {
+                for (int destSize : destSizes) {
+                    String actual = normalizeInChunks(norm2, input, chunkSize, destSize);
+                    assertEquals(
+                            "normalize(CharBuffer) chunk=" + chunkSize + " dest=" + destSize,
+                            expected,
+                            actual);
+                }
+            }
+        }
+    }
+
+    // Feeds the input in chunks of at most chunkSize chars into a source buffer
+    // and drains a destination buffer of initially destSize chars.
+    private static String normalizeInChunks(
+            Normalizer2 norm2, String input, int chunkSize, int destSize) {
+        // The source buffer needs to be larger than any segment without a boundary.
+        CharBuffer src = CharBuffer.allocate(chunkSize + 32);
+        CharBuffer dest = CharBuffer.allocate(destSize);
+        StringBuilder result = new StringBuilder();
+        int inputIndex = 0;
+        boolean endOfInput = false;
+        src.flip();
+        for (; ; ) {
+            if (!endOfInput) {
+                src.compact();
+                int length =
+                        Math.min(Math.min(chunkSize, src.remaining()), input.length() - inputIndex);
+                src.put(input, inputIndex, inputIndex + length);
+                inputIndex += length;
+                endOfInput = inputIndex == input.length();
+                src.flip();
+            }
+            CoderResult cr;
+            do {
+                cr = norm2.normalize(src, dest, endOfInput);
+                if (cr.isOverflow() && dest.position() == 0) {
+                    // The next segment does not fit at all.
+                    dest = CharBuffer.allocate(2 * dest.capacity());
+                    continue;
+                }
+                dest.flip();
+                result.append(dest);
+                dest.clear();
+            } while (cr.isOverflow());
+            if (endOfInput) {
+                assertFalse("normalize(CharBuffer) consumed all input", src.hasRemaining());
+                return result.toString();
+            }
+        }
+    }
+
+    @Test
+    public void TestComposeUTF8WithEdits() {
+        Normalizer2 nfkc_cf = Normalizer2.getNFKCCasefoldInstance();
+        String src = "  AÄA\u0308A\u0308\u00ad\u0323Ä\u0323,\u00ad\u1100\u1161가\u11A8가\u3133  ";
+        String expected = "  aääạ\u0308ạ\u0308,가각갃  ";
+        Edits edits = new Edits();
+        ByteBuffer srcBytes = ByteBuffer.wrap(src.getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream result =
+                nfkc_cf.normalizeUTF8(srcBytes, new ByteArrayOutputStream(), edits);
+        assertEquals(
+                "normalizeUTF8 with Edits",
+                expected,
+                new String(result.toByteArray(), StandardCharsets.UTF_8));
+        assertFalse("normalizeUTF8 consumes the source", srcBytes.hasRemaining());
+        int[][] expectedChanges = {
+            {0, 2, 2}, // 2 spaces
+            {1, 1, 1}, // A→a
+            {1, 2, 2}, // Ä→ä
+            {1, 3, 2}, // A\u0308→ä
+            {1, 7, 5}, // A\u0308\u00ad\u0323→ạ\u0308 removes the soft hyphen
+            {1, 4, 5}, // Ä\u0323→ạ\u0308
+            {0, 1, 1}, // comma
+            {1, 2, 0}, // U+00AD soft hyphen maps to empty
+            {1, 6, 3}, // \u1100\u1161→가
+            {1, 6, 3}, // 가\u11A8→각
+            {1, 6, 3}, // 가\u3133→갃
+            {0, 2, 2} // 2 spaces
+        };
+        assertTrue("normalizeUTF8 with Edits hasChanges", edits.hasChanges());
+        assertEquals("normalizeUTF8 with Edits numberOfChanges", 9, edits.numberOfChanges());
+        Edits.Iterator ei = edits.getFineIterator();
+        for (int[] change : expectedChanges) {
+            assertTrue("fine iterator has next", ei.next());
+            assertEquals("hasChange", change[0] != 0, ei.hasChange());
+            assertEquals("oldLength", change[1], ei.oldLength());
+            assertEquals("newLength", change[2], ei.newLength());
+        }
+        assertFalse("fine iterator is done", ei.next());
+
+        srcBytes.rewind();
+        assertFalse("isNormalizedUTF8(source)", nfkc_cf.isNormalizedUTF8(srcBytes));
+        assertTrue(
+                "isNormalizedUTF8(normalized)",
+                nfkc_cf.isNormalizedUTF8(ByteBuffer.wrap(result.toByteArray())));
+    }
+
+    @Test
+    public void TestNormalizeUTF8() {
+        Normalizer2[] norm2s = {
+            Normalizer2.getNFCInstance(),
+            Normalizer2.getNFDInstance(),
+            Normalizer2.getNFKCInstance(),
+            Normalizer2.getNFKDInstance(),
+            Normalizer2.getNFKCCasefoldInstance(),
+            Normalizer2.getInstance(null, "nfc", Normalizer2.Mode.COMPOSE_CONTIGUOUS),
+            Normalizer2.getInstance(null, "nfc", Normalizer2.Mode.FCD)
+        };
+        for (Normalizer2 norm2 : norm2s) {
+            for (String[] test : canonTests) {
+                checkNormalizeUTF8(norm2, test[0]);
+            }
+            for (String[] test : compatTests) {
+                checkNormalizeUTF8(norm2, test[0]);
+            }
+            checkNormalizeUTF8(norm2, "\u1100\u1161\u11a8 \uac00\u11a8 \u1100\u1161\u3133");
+            checkNormalizeUTF8(norm2, "D\ud834\udd5f\u0307\u0323 \u0f73\u0f71");
+            checkNormalizeUTF8(norm2, "a\u0301\u0327\u0315\u0300 \u1e0a\u0323\u0308");
+        }
+        // Ill-formed UTF-8 is copied unchanged.
+        byte[] illFormed = {
+            'a', (byte) 0xcc, 'b', (byte) 0xe1, (byte) 0x84, (byte) 0xcc, (byte) 0x81
+        };
+        ByteArrayOutputStream out =
+                Normalizer2.getNFCInstance()
+                        .normalizeUTF8(
+                                ByteBuffer.wrap(illFormed), new ByteArrayOutputStream(), null);
+        assertTrue("NFC ill-formed UTF-8", Arrays.equals(illFormed, out.toByteArray()));
+        // Direct buffers work the same as heap buffers.
+        String s = "\u1e0a\u0323 A\u030a \uac00\u11a8";
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        out = Normalizer2.getNFCInstance().normalizeUTF8(direct, new ByteArrayOutputStream(), null);
+        assertEquals(
+                "NFC direct ByteBuffer",
+                Normalizer2.getNFCInstance().normalize(s),
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private void checkNormalizeUTF8(Normalizer2 norm2, String s) {
+        String expected = norm2.normalize(s);
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out =
+                norm2.normalizeUTF8(ByteBuffer.wrap(bytes), new ByteArrayOutputStream(), null);
+        String actual = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals("normalizeUTF8(" + Utility.hex(s) + ")", expected, actual);
+        assertEquals(
+                "isNormalizedUTF8(" + Utility.hex(s) + ")",
+                norm2.isNormalized(s),
+                norm2.isNormalizedUTF8(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    public void TestNormalizeUTF8ByteBuffer() {
+        Normalizer2[] norm2s = {
+            Normalizer2.getNFCInstance(),
+            Normalizer2.getNFKDInstance(),
+            Normalizer2.getInstance(null, "nfc", Normalizer2.Mode.FCD),
+            new FilteredNormalizer2(Normalizer2.getNFCInstance(), new UnicodeSet("[^a-z]"))
+        };
+        StringBuilder sb = new StringBuilder();
+        for (String[] test : canonTests) {
+            sb.append(test[0]).append(' ');
+        }
+        for (String[] test : compatTests) {
+            sb.append(test[0]);
+        }
+        sb.append(" a\u0301\ud834\udd65 \uac00\u11a8 D\ud834\udd5f\u0307\u0323");
+        String input = sb.toString();
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        int[] chunkSizes = {1, 3, 7, 64, bytes.length};
+        int[] destSizes = {1, 4, 16, 2 * bytes.length};
+        for (Normalizer2 norm2 : norm2s) {
+            String expected = norm2.normalize(input);
+            for (int chunkSize : chunkSizes) {
+                for (int destSize : destSizes) {
+                    String actual = normalizeUTF8InChunks(norm2, bytes, chunkSize, destSize);
+                    assertEquals(
+                            "normalizeUTF8(ByteBuffer) chunk=" + chunkSize + " dest=" + destSize,
+                            expected,
+                            actual);
+                }
+            }
+        }
+    }
+
+    // Like normalizeInChunks() but with UTF-8 buffers.
+    private static String normalizeUTF8InChunks(
+            Normalizer2 norm2, byte[] input, int chunkSize, int destSize) {
+        ByteBuffer src = ByteBuffer.allocate(chunkSize + 64);
+        ByteBuffer dest = ByteBuffer.allocate(destSize);
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        int inputIndex = 0;
+        boolean endOfInput = false;
+        src.flip();
+        for (; ; ) {
+            if (!endOfInput) {
+                src.compact();
+                int length =
+                        Math.min(Math.min(chunkSize, src.remaining()), input.length - inputIndex);
+                src.put(input, inputIndex, length);
+                inputIndex += length;
+                endOfInput = inputIndex == input.length;
+                src.flip();
+            }
+            CoderResult cr;
+            do {
+                cr = norm2.normalizeUTF8(src, dest, endOfInput);
+                if (cr.isOverflow() && dest.position() == 0) {
+                    // The next segment does not fit at all.
+                    dest = ByteBuffer.allocate(2 * dest.capacity());
+                    continue;
+                }
+                dest.flip();
+                result.write(dest.array(), 0, dest.limit());
+                dest.clear();
+            } while (cr.isOverflow());
+            if (endOfInput) {
+                assertFalse("normalizeUTF8(ByteBuffer) consumed all input", src.hasRemaining());
+                return new String(result.toByteArray(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    @Test
+    public void TestNormalizingReaderWriter() throws IOException {
+        Normalizer2[] norm2s = {
+            Normalizer2.getNFCInstance(),
+            Normalizer2.getNFKDInstance(),
+            Normalizer2.getNFKCCasefoldInstance(),
+            new FilteredNormalizer2(Normalizer2.getNFCInstance(), new UnicodeSet("[^a-z]"))
+        };
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50; ++i) {
+            for (String[] test : canonTests) {
+                sb.append(test[0]).append(' ');
+            }
+            for (String[] test : compatTests) {
+                sb.append(test[0]);
+            }
+            sb.append(" a\u0301\ud834\udd65 \u1100\u1161\u11a8\u00ad ");
+        }
+        // One segment that is longer than the initial buffers.
+        sb.append('A');
+        for (int i = 0; i < 3000; ++i) {
+            sb.append(i % 3 == 0 ? '\u0327' : '\u0301');
+        }
+        sb.append("\u0300 end");
+        String input = sb.toString();
+        for (Normalizer2 norm2 : norm2s) {
+            String expected = norm2.normalize(input);
+
+            for (int bufferSize : new int[] {1, 7, 4096}) {
+                NormalizingReader reader = new NormalizingReader(new StringReader(input), norm2);
+                StringBuilder result = new StringBuilder();
+                char[] buffer = new char[bufferSize];
+                int length;
+                while ((length = reader.read(buffer, 0, bufferSize)) >= 0) {
+                    result.append(buffer, 0, length);
+                }
+                reader.close();
+                assertEquals("NormalizingReader buffer=" + bufferSize, expected, result.toString());
+            }
+
+            for (int chunkSize : new int[] {1, 5, 1000}) {
+                StringWriter out = new StringWriter();
+                NormalizingWriter writer = new NormalizingWriter(out, norm2);
+                for (int i = 0; i < input.length(); i += chunkSize) {
+                    int limit = Math.min(i + chunkSize, input.length());
+                    if (chunkSize == 1) {
+                        writer.write(input.charAt(i));
+                    } else if ((i / chunkSize) % 2 == 0) {
+                        writer.write(input, i, limit - i);
+                    } else {
+                        writer.write(input.substring(i, limit).toCharArray());
+                    }
+                    if ((i / chunkSize) % 100 == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.close();
+                assertEquals("NormalizingWriter chunk=" + chunkSize, expected, out.toString());
+            }
+        }
+    }
+
+    @Test
+    public void TestNormalizingWriterFinish() throws IOException {
+        Normalizer2 nfc = Normalizer2.getNFCInstance();
+        StringWriter out = new StringWriter();
+        NormalizingWriter writer = new NormalizingWriter(out, nfc);
+        writer.write("A\u030a a");
+        writer.flush();
+        // The trailing "a" might still combine with later text.
+        assertEquals("flush() holds back the last segment", "\u00c5 ", out.toString());
+        writer.finish();
+        assertEquals("finish() writes the rest", "\u00c5 a", out.toString());
+        // Text after finish() is normalized separately.
+        writer.write("\u0301");
+        writer.close();
+        assertEquals("close() after finish()", "\u00c5 a\u0301", out.toString());
+        try {
+            writer.write('x');
+            errln("NormalizingWriter.write() after close() did not throw");
+        } catch (IOException expected) {
+        }
+    }
+
     @Test
     public void TestNoneNormalizer() {
         // Use the deprecated Mode Normalizer.NONE for coverage of the internal NoopNormalizer2
@@ -44,6 +44,21 @@ public void TestBurmeseGraphclust() {
         runTestFromFile("Burmese_graphclust_model5_heavy_Test.txt", UScript.MYANMAR);
     }
 
+    @Test
+    public void TestThaiAfterText() {
+        // The range to break starts after other Thai text, which must not affect the result.
+        runTestFromFile(
+                "Thai_graphclust_model4_heavy_Test.txt", UScript.THAI, "\u0e20\u0e32\u0e29\u0e32 ");
+    }
+
+    @Test
+    public void TestBurmeseAfterText() {
+        runTestFromFile(
+                "Burmese_graphclust_model5_heavy_Test.txt",
+                UScript.MYANMAR,
+                "\u1019\u103c\u1014\u103a\u1019\u102c ");
+    }
+
     private LSTMBreakEngine createEngineFromTestData(String modelName, int script) {
         UResourceBundle bundle =
                 UResourceBundle.getBundleInstance(
@@ -52,6 +67,14 @@ private LSTMBreakEngine createEngineFromTestData(String modelName, int script) {
     }
 
     private void runTestFromFile(String filename, int script) {
+        runTestFromFile(filename, script, "");
+    }
+
+    /**
+     * Runs the tests from the file, with each input placed after {@code prefix}. The breaks are
+     * found from the end of the prefix and reported relative to it.
+     */
+    private void runTestFromFile(String filename, int script, String prefix) {
 
         String testString;
         InputStream is =
@@ -74,14 +97,16 @@ private void runTestFromFile(String filename, int script) {
                     engine = createEngineFromTestData(fields[1], script);
                 } else if (fields[0].equals("Input:")) {
                     caseNum++;
+                    int start = prefix.length();
                     int length = fields[1].length();
-                    CharacterIterator input = new StringCharacterIterator(fields[1]);
+                    CharacterIterator input =
+                            new StringCharacterIterator(prefix + fields[1], start);
                     DictionaryBreakEngine.DequeI foundBreaks = new DictionaryBreakEngine.DequeI();
-                    int ret = engine.findBreaks(input, 0, length, foundBreaks, false);
+                    int ret = engine.findBreaks(input, start, start + length, foundBreaks, false);
                     StringBuilder sb = new StringBuilder();
                     sb.append('{');
                     for (int i = 0; i < foundBreaks.size(); i++) {
-                        sb.append(foundBreaks.elementAt(i)).append(", ");
+                        sb.append(foundBreaks.elementAt(i) - start).append(", ");
                     }
                     sb.append(length).append('}');
                     actual = sb.toString();
@@ -0,0 +1,95 @@
+// © 2026 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.impl;
+
+import com.ibm.icu.text.Edits;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Helpers for writing UTF-8 output to an OutputStream while recording Edits, like the ICU4C
+ * ByteSinkUtil. Intended for internal use by ICU only.
+ */
+public final class ByteSinkUtil {
+    private ByteSinkUtil() {}
+
+    // Size of the temporary array for copying from a buffer without an accessible array.
+    private static final int COPY_CHUNK_SIZE = 1024;
+
+    /**
+     * Appends the change of length source bytes to the UTF-8 version of s16[start, limit[.
+     *
+     * @param length number of source bytes that are replaced
+     * @param s16 UTF-16 replacement text
+     * @param start start index in s16
+     * @param limit limit index in s16
+     * @param sink receives the UTF-8 bytes
+     * @param edits records the change; can be null
+     */
+    public static void appendChange(
+            int length, CharSequence s16, int start, int limit, OutputStream sink, Edits edits)
+            throws IOException {
+        byte[] s8 = new byte[3 * (limit - start)]; // max 3 UTF-8 bytes per UTF-16 code unit
+        int s8Length = 0;
+        while (start < limit) {
+            int c = Character.codePointAt(s16, start);
+            start += Character.charCount(c);
+            s8Length = UTF8.append(s8, s8Length, c);
+        }
+        if (edits != null) {
+            edits.addReplace(length, s8Length);
+        }
+        sink.write(s8, 0, s8Length);
+    }
+
+    /**
+     * Appends the change of length source bytes to the UTF-8 version of the code point c.
+     *
+     * @param length number of source bytes that are replaced
+     * @param c replacement code point
+     * @param sink receives the UTF-8 bytes
+     * @param edits records the change; can be null
+     */
+    public static void appendCodePoint(int length, int c, OutputStream sink, Edits edits)
+            throws IOException {
+        byte[] s8 = new byte[UTF8.MAX_LENGTH];
+        int s8Length = UTF8.append(s8, 0, c);
+        if (edits != null) {
+            edits.addReplace(length, s8Length);
+        }
+        sink.write(s8, 0, s8Length);
+    }
+
+    /**
+     * Appends s[start, limit[ unchanged.
+     *
+     * @param s source bytes, accessed with absolute indexes
+     * @param start start index
+     * @param limit limit index
+     * @param sink receives the bytes
+     * @param edits records the unchanged text; can be null
+     */
+    public static void appendUnchanged(
+            ByteBuffer s, int start, int limit, OutputStream sink, Edits edits) throws IOException {
+        int length = limit - start;
+        if (length <= 0) {
+            return;
+        }
+        if (edits != null) {
+            edits.addUnchanged(length);
+        }
+        if (s.hasArray()) {
+            sink.write(s.array(), s.arrayOffset() + start, length);
+        } else {
+            byte[] chunk = new byte[Math.min(length, COPY_CHUNK_SIZE)];
+            ByteBuffer source = s.duplicate();
+            source.limit(limit).position(start);
+            while (source.hasRemaining()) {
+                int chunkLength = Math.min(source.remaining(), chunk.length);
+                source.get(chunk, 0, chunkLength);
+                sink.write(chunk, 0, chunkLength);
+            }
+        }
+    }
+}
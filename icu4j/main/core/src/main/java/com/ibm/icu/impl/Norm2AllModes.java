@@ -9,10 +9,12 @@
 
 package com.ibm.icu.impl;
 
+import com.ibm.icu.text.Edits;
 import com.ibm.icu.text.Normalizer;
 import com.ibm.icu.text.Normalizer2;
 import com.ibm.icu.util.ICUUncheckedIOException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 
 public final class Norm2AllModes {
@@ -43,6 +45,22 @@ public Appendable normalize(CharSequence src, Appendable dest) {
             }
         }
 
+        @Override
+        public <S extends OutputStream> S normalizeUTF8(ByteBuffer src, S dest, Edits edits) {
+            if (edits != null) {
+                edits.reset();
+            }
+            int start = src.position();
+            int limit = src.limit();
+            try {
+                ByteSinkUtil.appendUnchanged(src, start, limit, dest, edits);
+            } catch (IOException e) {
+                throw new ICUUncheckedIOException(e); // Avoid declaring "throws IOException".
+            }
+            src.position(limit);
+            return dest;
+        }
+
         @Override
         public StringBuilder normalizeSecondAndAppend(StringBuilder first, CharSequence second) {
             if (first != second) {
@@ -72,6 +90,11 @@ public boolean isNormalized(CharSequence s) {
             return true;
         }
 
+        @Override
+        public boolean isNormalizedUTF8(ByteBuffer s) {
+            return true;
+        }
+
         @Override
         public Normalizer.QuickCheckResult quickCheck(CharSequence s) {
             return Normalizer.YES;
@@ -210,6 +233,31 @@ protected void normalizeAndAppend(
             impl.decomposeAndAppend(src, doNormalize, buffer);
         }
 
+        @Override
+        public <S extends OutputStream> S normalizeUTF8(ByteBuffer src, S dest, Edits edits) {
+            if (edits != null) {
+                edits.reset();
+            }
+            int limit = src.limit();
+            try {
+                impl.decomposeUTF8(src, src.position(), limit, dest, edits);
+            } catch (IOException e) {
+                throw new ICUUncheckedIOException(e); // Avoid declaring "throws IOException".
+            }
+            src.position(limit);
+            return dest;
+        }
+
+        @Override
+        public boolean isNormalizedUTF8(ByteBuffer s) {
+            int limit = s.limit();
+            try {
+                return impl.decomposeUTF8(s, s.position(), limit, null, null) == limit;
+            } catch (IOException e) {
+                throw new ICUUncheckedIOException(e); // Will not occur without a sink.
+            }
+        }
+
         @Override
         public int spanQuickCheckYes(CharSequence s) {
             return impl.decompose(s, 0, s.length(), null);
@@ -253,6 +301,30 @@ protected void normalizeAndAppend(
             impl.composeAndAppend(src, doNormalize, onlyContiguous, buffer);
         }
 
+        @Override
+        public <S extends OutputStream> S normalizeUTF8(ByteBuffer src, S dest, Edits edits) {
+            if (edits != null) {
+                edits.reset();
+            }
+            int limit = src.limit();
+            try {
+                impl.composeUTF8(onlyContiguous, src, src.position(), limit, dest, edits);
+            } catch (IOException e) {
+                throw new ICUUncheckedIOException(e); // Avoid declaring "throws IOException".
+            }
+            src.position(limit);
+            return dest;
+        }
+
+        @Override
+        public boolean isNormalizedUTF8(ByteBuffer s) {
+            try {
+                return impl.composeUTF8(onlyContiguous, s, s.position(), s.limit(), null, null);
+            } catch (IOException e) {
+                throw new ICUUncheckedIOException(e); // Will not occur without a sink.
+            }
+        }
+
         @Override
         public boolean isNormalized(CharSequence s) {
             // 5: small destCapacity for substring normalization
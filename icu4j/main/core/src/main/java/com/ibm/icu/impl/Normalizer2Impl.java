@@ -9,6 +9,7 @@
 
 package com.ibm.icu.impl;
 
+import com.ibm.icu.text.Edits;
 import com.ibm.icu.text.UTF16;
 import com.ibm.icu.text.UnicodeSet;
 import com.ibm.icu.util.CodePointMap;
@@ -17,6 +18,7 @@
 import com.ibm.icu.util.MutableCodePointTrie;
 import com.ibm.icu.util.VersionInfo;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 
@@ -185,6 +187,27 @@ public boolean equals(CharSequence s, int start, int limit) {
             return UTF16Plus.equal(str, 0, str.length(), s, start, limit);
         }
 
+        public boolean equalsUTF8(ByteBuffer s, int start, int limit) {
+            int length = str.length();
+            // UTF-8 is at least as long as UTF-16 and at most three times as long.
+            if ((limit - start) < length || (limit - start) > 3 * length) {
+                return false;
+            }
+            for (int i = 0; i < length; ) {
+                if (start == limit) {
+                    return false;
+                }
+                int c = str.codePointAt(i);
+                i += Character.charCount(c);
+                int result = UTF8.next(s, start, limit);
+                if (UTF8.getCodePoint(result) != c) {
+                    return false;
+                }
+                start += UTF8.getLength(result);
+            }
+            return start == limit;
+        }
+
         public void append(int c, int cc) {
             if (lastCC <= cc || cc == 0) {
                 str.appendCodePoint(c);
@@ -1203,6 +1226,112 @@ public void decomposeAndAppend(CharSequence s, boolean doDecompose, ReorderingBu
         buffer.append(s, src, limit);
     }
 
+    // Dual functionality:
+    // sink!=null: normalize
+    // sink==null: isNormalized/spanQuickCheckYes
+    public int decomposeUTF8(ByteBuffer s, int src, int limit, OutputStream sink, Edits edits)
+            throws IOException {
+        StringBuilder s16 = null;
+        int minNoLead = leadByteForCP(minDecompNoCP);
+
+        int prevBoundary = src;
+        // only for quick check
+        int prevCC = 0;
+
+        for (; ; ) {
+            // Fast path: Scan over a sequence of characters below the minimum "no" code point,
+            // or with (decompYes && ccc==0) properties.
+            int fastStart = src;
+            int prevSrc = src;
+            int norm16 = 0;
+
+            for (; ; ) {
+                if (src == limit) {
+                    if (prevBoundary != limit && sink != null) {
+                        ByteSinkUtil.appendUnchanged(s, prevBoundary, limit, sink, edits);
+                    }
+                    return src;
+                }
+                if ((s.get(src) & 0xff) < minNoLead) {
+                    ++src;
+                } else {
+                    prevSrc = src;
+                    int result = UTF8.next(s, src, limit);
+                    src += UTF8.getLength(result);
+                    norm16 = getNorm16FromUTF8(result);
+                    if (!isMostDecompYesAndZeroCC(norm16)) {
+                        break;
+                    }
+                }
+            }
+            // isMostDecompYesAndZeroCC(norm16) is false, that is, norm16>=minYesNo,
+            // and the current character at [prevSrc..src[ is not a common case with cc=0
+            // (MIN_NORMAL_MAYBE_YES or JAMO_VT).
+            // It could still be a maybeYes with cc=0.
+            if (prevSrc != fastStart) {
+                // The fast path looped over yes/0 characters before the current one.
+                if (sink != null) {
+                    ByteSinkUtil.appendUnchanged(s, prevBoundary, prevSrc, sink, edits);
+                }
+                prevBoundary = prevSrc;
+                prevCC = 0;
+            }
+
+            // Medium-fast path: Quick check.
+            if (isMaybeYesOrNonZeroCC(norm16)) {
+                // Does not decompose.
+                int cc = getCCFromYesOrMaybeYes(norm16);
+                if (prevCC <= cc || cc == 0) {
+                    prevCC = cc;
+                    if (cc <= 1) {
+                        if (sink != null) {
+                            ByteSinkUtil.appendUnchanged(s, prevBoundary, src, sink, edits);
+                        }
+                        prevBoundary = src;
+                    }
+                    continue;
+                }
+            }
+            if (sink == null) {
+                return prevBoundary; // quick check: "no" or cc out of order
+            }
+
+            // Slow path
+            // Decompose up to and including the current character.
+            if (prevBoundary != prevSrc && norm16HasDecompBoundaryBefore(norm16)) {
+                ByteSinkUtil.appendUnchanged(s, prevBoundary, prevSrc, sink, edits);
+                prevBoundary = prevSrc;
+            }
+            if (s16 == null) {
+                s16 = new StringBuilder();
+            } else {
+                s16.setLength(0);
+            }
+            ReorderingBuffer buffer = new ReorderingBuffer(this, s16, 8);
+            decomposeShort(s, prevBoundary, src, STOP_AT_LIMIT, false /* onlyContiguous */, buffer);
+            // Decompose until the next boundary.
+            if (buffer.getLastCC() > 1) {
+                src =
+                        decomposeShort(
+                                s,
+                                src,
+                                limit,
+                                STOP_AT_DECOMP_BOUNDARY,
+                                false /* onlyContiguous */,
+                                buffer);
+            }
+            // We already know there was a change if the original character decomposed;
+            // otherwise compare.
+            if (isMaybeYesOrNonZeroCC(norm16) && buffer.equalsUTF8(s, prevBoundary, src)) {
+                ByteSinkUtil.appendUnchanged(s, prevBoundary, src, sink, edits);
+            } else {
+                ByteSinkUtil.appendChange(src - prevBoundary, s16, 0, s16.length(), sink, edits);
+            }
+            prevBoundary = src;
+            prevCC = 0;
+        }
+    }
+
     // Very similar to composeQuickCheck(): Make the same changes in both places if relevant.
     // doCompose: normalize
     // !doCompose: isNormalized (buffer must be empty and initialized)
@@ -1585,6 +1714,238 @@ public void composeAndAppend(
         }
     }
 
+    // Same as compose() but for UTF-8 input and output.
+    // sink!=null: normalize
+    // sink==null: isNormalized
+    public boolean composeUTF8(
+            boolean onlyContiguous,
+            ByteBuffer s,
+            int src,
+            int limit,
+            OutputStream sink,
+            Edits edits)
+            throws IOException {
+        StringBuilder s16 = null;
+        int minNoMaybeLead = leadByteForCP(minCompNoMaybeCP);
+        int prevBoundary = src;
+
+        for (; ; ) {
+            // Fast path: Scan over a sequence of characters below the minimum "no or maybe" code
+            // point, or with (compYes && ccc==0) properties.
+            int prevSrc = src;
+            int c = 0;
+            int norm16 = 0;
+            for (; ; ) {
+                if (src == limit) {
+                    if (prevBoundary != limit && sink != null) {
+                        ByteSinkUtil.appendUnchanged(s, prevBoundary, limit, sink, edits);
+                    }
+                    return true;
+                }
+                if ((s.get(src) & 0xff) < minNoMaybeLead) {
+                    ++src;
+                } else {
+                    prevSrc = src;
+                    int result = UTF8.next(s, src, limit);
+                    src += UTF8.getLength(result);
+                    c = UTF8.getCodePoint(result);
+                    norm16 = getNorm16FromUTF8(result);
+                    if (!isCompYesAndZeroCC(norm16)) {
+                        break;
+                    }
+                }
+            }
+            // isCompYesAndZeroCC(norm16) is false, that is, norm16>=minNoNo.
+            // The current character is either a "noNo" (has a mapping)
+            // or a "maybeYes" / "maybeNo" (combines backward)
+            // or a "yesYes" with ccc!=0.
+            // It is not a Hangul syllable or Jamo L because those have "yes" properties.
+
+            // Medium-fast path: Handle cases that do not require full decomposition and
+            // recomposition.
+            if (norm16 < minMaybeNo) { // minNoNo <= norm16 < minMaybeNo
+                if (sink == null) {
+                    return false;
+                }
+                // Fast path for mapping a character that is immediately surrounded by boundaries.
+                // In this case, we need not decompose around the current character.
+                if (isDecompNoAlgorithmic(norm16)) {
+                    // Maps to a single isCompYesAndZeroCC character
+                    // which also implies hasCompBoundaryBefore.
+                    if (norm16HasCompBoundaryAfter(norm16, onlyContiguous)
+                            || hasCompBoundaryBefore(s, src, limit)) {
+                        ByteSinkUtil.appendUnchanged(s, prevBoundary, prevSrc, sink, edits);
+                        ByteSinkUtil.appendCodePoint(
+                                src - prevSrc, mapAlgorithmic(c, norm16), sink, edits);
+                        prevBoundary = src;
+                        continue;
+                    }
+                } else if (norm16 < minNoNoCompBoundaryBefore) {
+                    // The mapping is comp-normalized which also implies hasCompBoundaryBefore.
+                    if (norm16HasCompBoundaryAfter(norm16, onlyContiguous)
+                            || hasCompBoundaryBefore(s, src, limit)) {
+                        ByteSinkUtil.appendUnchanged(s, prevBoundary, prevSrc, sink, edits);
+                        int mapping = getDataForYesOrNo(norm16);
+                        int length = extraData.charAt(mapping++) & MAPPING_LENGTH_MASK;
+                        ByteSinkUtil.appendChange(
+                                src - prevSrc, extraData, mapping, mapping + length, sink, edits);
+                        prevBoundary = src;
+                        continue;
+                    }
+                } else if (norm16 >= minNoNoEmpty) {
+                    // The current character maps to nothing.
+                    // Simply omit it from the output if there is a boundary before _or_ after it.
+                    // The character itself implies no boundaries.
+                    if (hasCompBoundaryBefore(s, src, limit)
+                            || hasCompBoundaryAfter(s, prevBoundary, prevSrc, onlyContiguous)) {
+                        ByteSinkUtil.appendUnchanged(s, prevBoundary, prevSrc, sink, edits);
+                        if (edits != null) {
+                            edits.addReplace(src - prevSrc, 0);
+                        }
+                        prevBoundary = src;
+                        continue;
+                    }
+                }
+                // Other "noNo" type, or need to examine more text around this character:
+                // Fall through to the slow path.
+            } else if (isJamoVT(norm16)) {
+                // Jamo L: E1 84 80..92
+                // Jamo V: E1 85 A1..B5
+                // Jamo T: E1 86 A8..E1 87 82
+                int prev = previousHangulOrJamo(s, prevBoundary, prevSrc);
+                if (c < Hangul.JAMO_T_BASE) {
+                    // The current character is a Jamo Vowel,
+                    // compose with previous Jamo L and following Jamo T.
+                    int l = prev - Hangul.JAMO_L_BASE;
+                    if (0 <= l && l < Hangul.JAMO_L_COUNT) {
+                        if (sink == null) {
+                            return false;
+                        }
+                        int t = getJamoTMinusBase(s, src, limit);
+                        if (t >= 0) {
+                            // The next character is a Jamo T.
+                            src += 3;
+                        } else if (hasCompBoundaryBefore(s, src, limit)) {
+                            // No Jamo T follows, not even via decomposition.
+                            t = 0;
+                        }
+                        if (t >= 0) {
+                            int syllable =
+                                    Hangul.HANGUL_BASE
+                                            + (l * Hangul.JAMO_V_COUNT + (c - Hangul.JAMO_V_BASE))
+                                                    * Hangul.JAMO_T_COUNT
+                                            + t;
+                            prevSrc -= 3; // Replace the Jamo L as well.
+                            ByteSinkUtil.appendUnchanged(s, prevBoundary, prevSrc, sink, edits);
+                            ByteSinkUtil.appendCodePoint(src - prevSrc, syllable, sink, edits);
+                            prevBoundary = src;
+                            continue;
+                        }
+                        // If we see L+V+x where x!=T then we drop to the slow path,
+                        // decompose and recompose.
+                        // This is to deal with NFKC finding normal L and V but a
+                        // compatibility variant of a T.
+                        // We need to either fully compose that combination here
+                        // (which would complicate the code and may not work with strange custom
+                        // data)
+                        // or use the slow path.
+                    }
+                } else if (Hangul.isHangulLV(prev)) {
+                    // The current character is a Jamo Trailing consonant,
+                    // compose with previous Hangul LV that does not contain a Jamo T.
+                    if (sink == null) {
+                        return false;
+                    }
+                    int syllable = prev + c - Hangul.JAMO_T_BASE;
+                    prevSrc -= 3; // Replace the Hangul LV as well.
+                    ByteSinkUtil.appendUnchanged(s, prevBoundary, prevSrc, sink, edits);
+                    ByteSinkUtil.appendCodePoint(src - prevSrc, syllable, sink, edits);
+                    prevBoundary = src;
+                    continue;
+                }
+                // No matching context, or may need to decompose surrounding text first:
+                // Fall through to the slow path.
+            } else if (norm16 > JAMO_VT) { // norm16 >= MIN_YES_YES_WITH_CC
+                // One or more combining marks that do not combine-back:
+                // Check for canonical order, copy unchanged if ok and
+                // if followed by a character with a boundary-before.
+                int cc = getCCFromNormalYesOrMaybe(norm16); // cc!=0
+                if (onlyContiguous /* FCC */ && getPreviousTrailCC(s, prevBoundary, prevSrc) > cc) {
+                    // Fails FCD test, need to decompose and contiguously recompose.
+                    if (sink == null) {
+                        return false;
+                    }
+                } else {
+                    // If !onlyContiguous (not FCC), then we ignore the tccc of
+                    // the previous character which passed the quick check "yes && ccc==0" test.
+                    int nextSrc;
+                    int n16;
+                    for (; ; ) {
+                        if (src == limit) {
+                            if (sink != null) {
+                                ByteSinkUtil.appendUnchanged(s, prevBoundary, limit, sink, edits);
+                            }
+                            return true;
+                        }
+                        int prevCC = cc;
+                        int result = UTF8.next(s, src, limit);
+                        nextSrc = src + UTF8.getLength(result);
+                        n16 = getNorm16FromUTF8(result);
+                        if (n16 >= MIN_YES_YES_WITH_CC) {
+                            cc = getCCFromNormalYesOrMaybe(n16);
+                            if (prevCC > cc) {
+                                if (sink == null) {
+                                    return false;
+                                }
+                                break;
+                            }
+                        } else {
+                            break;
+                        }
+                        src = nextSrc;
+                    }
+                    // src is after the last in-order combining mark.
+                    // If there is a boundary here, then we continue with no change.
+                    if (norm16HasCompBoundaryBefore(n16)) {
+                        if (isCompYesAndZeroCC(n16)) {
+                            src = nextSrc;
+                        }
+                        continue;
+                    }
+                    // Use the slow path. There is no boundary in [prevSrc, src[.
+                }
+            }
+
+            // Slow path: Find the nearest boundaries around the current character,
+            // decompose and recompose.
+            if (prevBoundary != prevSrc && !norm16HasCompBoundaryBefore(norm16)) {
+                int result = UTF8.previous(s, prevBoundary, prevSrc);
+                if (!norm16HasCompBoundaryAfter(getNorm16FromUTF8(result), onlyContiguous)) {
+                    prevSrc -= UTF8.getLength(result);
+                }
+            }
+            if (s16 == null) {
+                s16 = new StringBuilder();
+            } else {
+                s16.setLength(0);
+            }
+            ReorderingBuffer buffer = new ReorderingBuffer(this, s16, 8);
+            // We know there is not a boundary here.
+            decomposeShort(s, prevSrc, src, STOP_AT_LIMIT, onlyContiguous, buffer);
+            // Decompose until the next boundary.
+            src = decomposeShort(s, src, limit, STOP_AT_COMP_BOUNDARY, onlyContiguous, buffer);
+            recompose(buffer, 0, onlyContiguous);
+            if (!buffer.equalsUTF8(s, prevSrc, src)) {
+                if (sink == null) {
+                    return false;
+                }
+                ByteSinkUtil.appendUnchanged(s, prevBoundary, prevSrc, sink, edits);
+                ByteSinkUtil.appendChange(src - prevSrc, s16, 0, s16.length(), sink, edits);
+                prevBoundary = src;
+            }
+        }
+    }
+
     // Dual functionality:
     // buffer!=NULL: normalize
     // buffer==NULL: isNormalized/quickCheck/spanQuickCheckYes
@@ -2008,6 +2369,87 @@ private int decomposeShort(
         return src;
     }
 
+    private static final int STOP_AT_LIMIT = 0;
+    private static final int STOP_AT_DECOMP_BOUNDARY = 1;
+    private static final int STOP_AT_COMP_BOUNDARY = 2;
+
+    // UTF-8 version of decomposeShort().
+    // Called by the composeUTF8() and decomposeUTF8() implementations.
+    private int decomposeShort(
+            ByteBuffer s,
+            int src,
+            int limit,
+            int stopAt,
+            boolean onlyContiguous,
+            ReorderingBuffer buffer) {
+        while (src < limit) {
+            int prevSrc = src;
+            int result = UTF8.next(s, src, limit);
+            src += UTF8.getLength(result);
+            int c = UTF8.getCodePoint(result);
+            int norm16 = getNorm16FromUTF8(result);
+            // Get the decomposition and the lead and trail cc's.
+            if (norm16 >= limitNoNo) {
+                if (isMaybeYesOrNonZeroCC(norm16)) {
+                    // No comp boundaries around this character.
+                    int cc = getCCFromYesOrMaybeYes(norm16);
+                    if (cc == 0 && stopAt == STOP_AT_DECOMP_BOUNDARY) {
+                        return prevSrc;
+                    }
+                    buffer.append(c, cc);
+                    if (stopAt == STOP_AT_DECOMP_BOUNDARY && buffer.getLastCC() <= 1) {
+                        return src;
+                    }
+                    continue;
+                } else if (norm16 < minMaybeNo) {
+                    // Maps to an isCompYesAndZeroCC.
+                    if (stopAt != STOP_AT_LIMIT) {
+                        return prevSrc;
+                    }
+                    c = mapAlgorithmic(c, norm16);
+                    norm16 = getRawNorm16(c);
+                }
+            } else if (stopAt != STOP_AT_LIMIT && norm16 < minNoNoCompNoMaybeCC) {
+                return prevSrc;
+            }
+            // norm16!=INERT guarantees that [prevSrc, src[ is valid UTF-8.
+            // We do not see invalid UTF-8 here because
+            // its norm16==INERT is normalization-inert,
+            // so it gets copied unchanged in the fast path,
+            // and we stop the slow path where invalid UTF-8 begins.
+            if (norm16 < minYesNo) {
+                // does not decompose
+                buffer.append(c, 0);
+            } else if (isHangulLV(norm16) || isHangulLVT(norm16)) {
+                // Hangul syllable: decompose algorithmically
+                Hangul.decompose(c, buffer);
+            } else {
+                // The character decomposes, get everything from the variable-length extra data.
+                int mapping = getData(norm16);
+                int firstUnit = extraData.charAt(mapping);
+                int length = firstUnit & MAPPING_LENGTH_MASK;
+                int trailCC = firstUnit >> 8;
+                int leadCC;
+                if ((firstUnit & MAPPING_HAS_CCC_LCCC_WORD) != 0) {
+                    leadCC = extraData.charAt(mapping - 1) >> 8;
+                } else {
+                    leadCC = 0;
+                }
+                if (leadCC == 0 && stopAt == STOP_AT_DECOMP_BOUNDARY) {
+                    return prevSrc;
+                }
+                ++mapping; // skip over the firstUnit
+                buffer.append(extraData, mapping, mapping + length, true, leadCC, trailCC);
+            }
+            if ((stopAt == STOP_AT_COMP_BOUNDARY
+                            && norm16HasCompBoundaryAfter(norm16, onlyContiguous))
+                    || (stopAt == STOP_AT_DECOMP_BOUNDARY && buffer.getLastCC() <= 1)) {
+                return src;
+            }
+        }
+        return src;
+    }
+
     private void decompose(int c, int norm16, ReorderingBuffer buffer) {
         // get the decomposition and the lead and trail cc's
         if (norm16 >= limitNoNo) {
@@ -2384,6 +2826,83 @@ private boolean isTrailCC01ForCompBoundaryAfter(int norm16) {
                         : extraData.charAt(getDataForYesOrNo(norm16)) <= 0x1ff);
     }
 
+    private boolean hasCompBoundaryBefore(ByteBuffer s, int src, int limit) {
+        return src == limit
+                || norm16HasCompBoundaryBefore(getNorm16FromUTF8(UTF8.next(s, src, limit)));
+    }
+
+    private boolean hasCompBoundaryAfter(ByteBuffer s, int start, int p, boolean onlyContiguous) {
+        return start == p
+                || norm16HasCompBoundaryAfter(
+                        getNorm16FromUTF8(UTF8.previous(s, start, p)), onlyContiguous);
+    }
+
+    // Ill-formed UTF-8 is normalization-inert, like the trie error value in C++.
+    private int getNorm16FromUTF8(int result) {
+        int c = UTF8.getCodePoint(result);
+        return c < 0 ? INERT : normTrie.get(c);
+    }
+
+    /**
+     * UTF-8 lead byte for minNoMaybeCP. Can be lower than the actual lead byte for c. Typically
+     * U+0300 for NFC/NFD, U+00A0 for NFKC/NFKD, U+0041 for NFKC_Casefold.
+     */
+    private static int leadByteForCP(int c) {
+        if (c <= 0x7f) {
+            return c;
+        } else if (c <= 0x7ff) {
+            return 0xc0 + (c >> 6);
+        } else {
+            // Should not occur because ccc(U+0300)!=0.
+            return 0xe0;
+        }
+    }
+
+    /**
+     * Returns the last code point in [start, p[ if it is valid and in U+1000..U+D7FF. Otherwise
+     * returns a negative value.
+     */
+    private static int previousHangulOrJamo(ByteBuffer s, int start, int p) {
+        if ((p - start) >= 3) {
+            p -= 3;
+            int l = s.get(p) & 0xff;
+            int t1, t2;
+            if (0xe1 <= l
+                    && l <= 0xed
+                    && (t1 = (s.get(p + 1) & 0xff) - 0x80) >= 0
+                    && t1 <= 0x3f
+                    && (t2 = (s.get(p + 2) & 0xff) - 0x80) >= 0
+                    && t2 <= 0x3f
+                    && (l < 0xed || t1 <= 0x1f)) {
+                return ((l & 0xf) << 12) | (t1 << 6) | t2;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the offset from the Jamo T base if [src, limit[ starts with a single Jamo T code
+     * point. Otherwise returns a negative value.
+     */
+    private static int getJamoTMinusBase(ByteBuffer s, int src, int limit) {
+        // Jamo T: E1 86 A8..E1 87 82
+        if ((limit - src) >= 3 && (s.get(src) & 0xff) == 0xe1) {
+            int t = s.get(src + 2) & 0xff;
+            if ((s.get(src + 1) & 0xff) == 0x86) {
+                // The first Jamo T is U+11A8 but JAMO_T_BASE is 11A7.
+                // Offset 0 does not correspond to any conjoining Jamo.
+                if (0xa8 <= t && t <= 0xbf) {
+                    return t - 0xa7;
+                }
+            } else if ((s.get(src + 1) & 0xff) == 0x87) {
+                if (0x80 <= t && t <= 0x82) {
+                    return t - (0xa7 - 0x40);
+                }
+            }
+        }
+        return -1;
+    }
+
     private int findPreviousCompBoundary(CharSequence s, int p, boolean onlyContiguous) {
         while (p > 0) {
             int c = Character.codePointBefore(s, p);
@@ -2451,6 +2970,14 @@ private int getPreviousTrailCC(CharSequence s, int start, int p) {
         return getFCD16(Character.codePointBefore(s, p));
     }
 
+    private int getPreviousTrailCC(ByteBuffer s, int start, int p) {
+        if (start == p) {
+            return 0;
+        }
+        int c = UTF8.getCodePoint(UTF8.previous(s, start, p));
+        return c < 0 ? 0 : getFCD16(c) & 0xff;
+    }
+
     private void addToStartSet(MutableCodePointTrie mutableTrie, int origin, int decompLead) {
         int canonValue = mutableTrie.get(decompLead);
         if ((canonValue & (CANON_HAS_SET | CANON_VALUE_MASK)) == 0 && origin != 0) {
@@ -0,0 +1,165 @@
+// © 2026 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.impl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * UTF-8 code point iteration over ByteBuffer contents, similar to the ICU4C U8_NEXT() and U8_PREV()
+ * macros. The buffer is accessed with absolute indexes; its position and limit are not used or
+ * modified.
+ *
+ * <p>The iteration functions return a code point and its byte length packed into one int. A
+ * well-formed sequence yields its code point; an ill-formed sequence yields a negative value for
+ * the code point and the length of its maximal subpart (at least 1), as in the WHATWG Encoding
+ * Standard and the ICU4C macros. Intended for internal use by ICU only.
+ */
+public final class UTF8 {
+    private UTF8() {}
+
+    /** The maximum number of UTF-8 bytes for one code point. */
+    public static final int MAX_LENGTH = 4;
+
+    /**
+     * Returns the code point starting at s[i] together with its byte length.
+     *
+     * @param s UTF-8 bytes
+     * @param i index of the first byte, must be less than limit
+     * @param limit index after the last byte that may be read
+     * @return packed code point and length; use {@link #getCodePoint(int)} and {@link
+     *     #getLength(int)}
+     */
+    public static int next(ByteBuffer s, int i, int limit) {
+        int c = s.get(i) & 0xff;
+        if (c < 0x80) {
+            return (c << 3) | 1;
+        }
+        int trailCount;
+        int lowerTrail = 0x80;
+        int upperTrail = 0xbf;
+        if (0xc2 <= c && c <= 0xdf) {
+            trailCount = 1;
+            c &= 0x1f;
+        } else if (0xe0 <= c && c <= 0xef) {
+            trailCount = 2;
+            c &= 0xf;
+            if (c == 0) {
+                lowerTrail = 0xa0; // no non-shortest forms
+            } else if (c == 0xd) {
+                upperTrail = 0x9f; // no surrogates
+            }
+        } else if (0xf0 <= c && c <= 0xf4) {
+            trailCount = 3;
+            c &= 7;
+            if (c == 0) {
+                lowerTrail = 0x90; // no non-shortest forms
+            } else if (c == 4) {
+                upperTrail = 0x8f; // nothing above U+10FFFF
+            }
+        } else {
+            return ILL_FORMED | 1;
+        }
+        int length = 1;
+        do {
+            int t;
+            if ((i + length) == limit
+                    || (t = s.get(i + length) & 0xff) < lowerTrail
+                    || t > upperTrail) {
+                return ILL_FORMED | length;
+            }
+            c = (c << 6) | (t & 0x3f);
+            ++length;
+            lowerTrail = 0x80;
+            upperTrail = 0xbf;
+        } while (--trailCount > 0);
+        return (c << 3) | length;
+    }
+
+    /**
+     * Returns the code point that ends before s[i] together with its byte length. A trail byte that
+     * does not complete a well-formed sequence starting at or after start is returned as a single
+     * ill-formed byte.
+     *
+     * @param s UTF-8 bytes
+     * @param start index of the first byte that may be read
+     * @param i index after the code point, must be greater than start
+     * @return packed code point and length; use {@link #getCodePoint(int)} and {@link
+     *     #getLength(int)}
+     */
+    public static int previous(ByteBuffer s, int start, int i) {
+        int c = s.get(i - 1) & 0xff;
+        if (c < 0x80) {
+            return (c << 3) | 1;
+        }
+        if (isTrail(c)) {
+            int minLead = Math.max(start, i - MAX_LENGTH);
+            for (int lead = i - 2; lead >= minLead; --lead) {
+                int b = s.get(lead) & 0xff;
+                if (!isTrail(b)) {
+                    int result = next(s, lead, i);
+                    if (result >= 0 && getLength(result) == (i - lead)) {
+                        return result;
+                    }
+                    break;
+                }
+            }
+        }
+        return ILL_FORMED | 1;
+    }
+
+    /**
+     * @param result packed value returned by {@link #next(ByteBuffer, int, int)} or {@link
+     *     #previous(ByteBuffer, int, int)}
+     * @return the code point, or a negative value for an ill-formed sequence
+     */
+    public static int getCodePoint(int result) {
+        return result >> 3;
+    }
+
+    /**
+     * @param result packed value returned by {@link #next(ByteBuffer, int, int)} or {@link
+     *     #previous(ByteBuffer, int, int)}
+     * @return the number of bytes, 1..4
+     */
+    public static int getLength(int result) {
+        return result & 7;
+    }
+
+    /**
+     * @param b byte value
+     * @return true if b is a UTF-8 trail byte (0x80..0xbf)
+     */
+    public static boolean isTrail(int b) {
+        return (b & 0xc0) == 0x80;
+    }
+
+    /**
+     * Writes the UTF-8 bytes for a code point, like the ICU4C U8_APPEND_UNSAFE() macro.
+     *
+     * @param dest destination array, must have room for the bytes
+     * @param i destination index
+     * @param c code point, must not be a surrogate
+     * @return the index after the written bytes
+     */
+    public static int append(byte[] dest, int i, int c) {
+        if (c <= 0x7f) {
+            dest[i++] = (byte) c;
+        } else {
+            if (c <= 0x7ff) {
+                dest[i++] = (byte) ((c >> 6) | 0xc0);
+            } else {
+                if (c <= 0xffff) {
+                    dest[i++] = (byte) ((c >> 12) | 0xe0);
+                } else {
+                    dest[i++] = (byte) ((c >> 18) | 0xf0);
+                    dest[i++] = (byte) (((c >> 12) & 0x3f) | 0x80);
+                }
+                dest[i++] = (byte) (((c >> 6) & 0x3f) | 0x80);
+            }
+            dest[i++] = (byte) ((c & 0x3f) | 0x80);
+        }
+        return i;
+    }
+
+    private static final int ILL_FORMED = -1 << 3;
+}
@@ -16,10 +16,12 @@
 
 class BytesDictionaryMatcher extends DictionaryMatcher {
     private final byte[] characters;
+    private final int offset;
     private final int transform;
 
-    public BytesDictionaryMatcher(byte[] chars, int transform) {
+    public BytesDictionaryMatcher(byte[] chars, int offset, int transform) {
         characters = chars;
+        this.offset = offset;
         Assert.assrt(
                 (transform & DictionaryData.TRANSFORM_TYPE_MASK)
                         == DictionaryData.TRANSFORM_TYPE_OFFSET);
@@ -52,7 +54,7 @@ public int matches(
             int limit,
             int[] values) {
         UCharacterIterator text = UCharacterIterator.getInstance(text_);
-        BytesTrie bt = new BytesTrie(characters, 0);
+        BytesTrie bt = new BytesTrie(characters, offset);
         int c = text.nextCodePoint();
         if (c == UCharacterIterator.DONE) {
             return 0;
@@ -16,6 +16,7 @@
 import com.ibm.icu.util.UResourceBundle;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
 
 final class DictionaryData {
     // disallow instantiation
@@ -42,11 +43,37 @@ private DictionaryData() {}
 
     private static final int DATA_FORMAT_ID = 0x44696374;
 
+    /**
+     * Loaded dictionaries, by data file name. The break engines for several scripts or languages
+     * may use the same dictionary, for example Chinese, Japanese and Korean. A dictionary is loaded
+     * once and then shared by all of them.
+     */
+    private static final ConcurrentHashMap<String, DictionaryMatcher> dictionaries =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Returns the dictionary for the given dictionary type, loading it on first use. The matcher
+     * reads the dictionary trie directly from the ICU data buffer, and it is shared process-wide.
+     */
     public static DictionaryMatcher loadDictionaryFor(String dictType) throws IOException {
         ICUResourceBundle rb =
                 (ICUResourceBundle) UResourceBundle.getBundleInstance(ICUData.ICU_BRKITR_BASE_NAME);
         String dictFileName = rb.getStringWithFallback("dictionaries/" + dictType);
         dictFileName = ICUData.ICU_BRKITR_NAME + '/' + dictFileName;
+        DictionaryMatcher m = dictionaries.get(dictFileName);
+        if (m == null) {
+            m = loadDictionary(dictFileName);
+            if (m != null) {
+                DictionaryMatcher previous = dictionaries.putIfAbsent(dictFileName, m);
+                if (previous != null) {
+                    m = previous;
+                }
+            }
+        }
+        return m;
+    }
+
+    private static DictionaryMatcher loadDictionary(String dictFileName) throws IOException {
         ByteBuffer bytes = ICUBinary.getRequiredData(dictFileName);
         ICUBinary.readHeader(bytes, DATA_FORMAT_ID, null);
         int[] indexes = new int[IX_COUNT];
@@ -65,13 +92,23 @@ public static DictionaryMatcher loadDictionaryFor(String dictType) throws IOExce
         DictionaryMatcher m = null;
         if (trieType == TRIE_TYPE_BYTES) {
             int transform = indexes[IX_TRANSFORM];
-            byte[] data = new byte[totalSize];
-            bytes.get(data);
-            m = new BytesDictionaryMatcher(data, transform);
+            if (bytes.hasArray()) {
+                // Data read from a resource stream is in a heap buffer: Use its array in place.
+                m =
+                        new BytesDictionaryMatcher(
+                                bytes.array(), bytes.arrayOffset() + bytes.position(), transform);
+            } else {
+                // BytesTrie needs a byte[], so data in a mapped buffer must be copied.
+                byte[] data = new byte[totalSize];
+                bytes.get(data);
+                m = new BytesDictionaryMatcher(data, 0, transform);
+            }
         } else if (trieType == TRIE_TYPE_UCHARS) {
             Assert.assrt(totalSize % 2 == 0);
-            String data = ICUBinary.getString(bytes, totalSize / 2, totalSize & 1);
-            m = new CharsDictionaryMatcher(data);
+            // CharsTrie reads any CharSequence, so read the trie units from the buffer in place.
+            ByteBuffer trieBytes = ICUBinary.sliceWithOrder(bytes);
+            trieBytes.limit(totalSize);
+            m = new CharsDictionaryMatcher(trieBytes.asCharBuffer());
         } else {
             m = null;
         }
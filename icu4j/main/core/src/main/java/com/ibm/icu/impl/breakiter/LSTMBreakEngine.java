@@ -12,8 +12,6 @@
 import com.ibm.icu.text.BreakIterator;
 import com.ibm.icu.text.UnicodeSet;
 import com.ibm.icu.util.UResourceBundle;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.text.CharacterIterator;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -38,32 +36,14 @@ public enum LSTMClass {
         SINGLE,
     }
 
-    private static float[][] make2DArray(int[] data, int start, int d1, int d2) {
-        byte[] bytes = new byte[4];
-        float[][] result = new float[d1][d2];
-        for (int i = 0; i < d1; i++) {
-            for (int j = 0; j < d2; j++) {
-                int d = data[start++];
-                bytes[0] = (byte) (d >> 24);
-                bytes[1] = (byte) (d >> 16);
-                bytes[2] = (byte) (d >> 8);
-                bytes[3] = (byte) (d /*>> 0*/);
-                result[i][j] = ByteBuffer.wrap(bytes).order(ByteOrder.BIG_ENDIAN).getFloat();
-            }
-        }
-        return result;
-    }
-
-    private static float[] make1DArray(int[] data, int start, int d1) {
-        byte[] bytes = new byte[4];
-        float[] result = new float[d1];
-        for (int i = 0; i < d1; i++) {
-            int d = data[start++];
-            bytes[0] = (byte) (d >> 24);
-            bytes[1] = (byte) (d >> 16);
-            bytes[2] = (byte) (d >> 8);
-            bytes[3] = (byte) (d /*>> 0*/);
-            result[i] = ByteBuffer.wrap(bytes).order(ByteOrder.BIG_ENDIAN).getFloat();
+    /**
+     * Returns a flat array of the floats whose IEEE 754 bits are stored in {@code data}. Matrices
+     * are stored row by row.
+     */
+    private static float[] makeArray(int[] data, int start, int length) {
+        float[] result = new float[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = Float.intBitsToFloat(data[start + i]);
         }
         return result;
     }
@@ -106,37 +86,44 @@ public LSTMData(UResourceBundle rb) {
             assert dataLen
                     == mat1Size + mat2Size + mat3Size + mat4Size + mat5Size + mat6Size + mat7Size
                             + mat8Size + mat9Size;
+            this.fEmbeddingSize = embeddings;
+            this.fHunits = hunits;
             int start = 0;
-            this.fEmbedding = make2DArray(data, start, (numIndex + 1), embeddings);
+            this.fEmbedding = makeArray(data, start, mat1Size);
             start += mat1Size;
-            this.fForwardW = make2DArray(data, start, embeddings, 4 * hunits);
+            this.fForwardW = makeArray(data, start, mat2Size);
             start += mat2Size;
-            this.fForwardU = make2DArray(data, start, hunits, 4 * hunits);
+            this.fForwardU = makeArray(data, start, mat3Size);
             start += mat3Size;
-            this.fForwardB = make1DArray(data, start, 4 * hunits);
+            this.fForwardB = makeArray(data, start, mat4Size);
             start += mat4Size;
-            this.fBackwardW = make2DArray(data, start, embeddings, 4 * hunits);
+            this.fBackwardW = makeArray(data, start, mat5Size);
             start += mat5Size;
-            this.fBackwardU = make2DArray(data, start, hunits, 4 * hunits);
+            this.fBackwardU = makeArray(data, start, mat6Size);
             start += mat6Size;
-            this.fBackwardB = make1DArray(data, start, 4 * hunits);
+            this.fBackwardB = makeArray(data, start, mat7Size);
             start += mat7Size;
-            this.fOutputW = make2DArray(data, start, 2 * hunits, 4);
+            this.fOutputW = makeArray(data, start, mat8Size);
             start += mat8Size;
-            this.fOutputB = make1DArray(data, start, 4);
+            this.fOutputB = makeArray(data, start, mat9Size);
         }
 
         public EmbeddingType fType;
         public String fName;
         public Map<String, Integer> fDict;
-        public float fEmbedding[][];
-        public float fForwardW[][];
-        public float fForwardU[][];
+        public int fEmbeddingSize;
+        public int fHunits;
+        // The matrices are flat arrays, row by row: fEmbedding is (dict size + 1) x fEmbeddingSize,
+        // fForwardW and fBackwardW are fEmbeddingSize x (4 * fHunits), fForwardU and fBackwardU
+        // are fHunits x (4 * fHunits), and fOutputW is (2 * fHunits) x 4.
+        public float fEmbedding[];
+        public float fForwardW[];
+        public float fForwardU[];
         public float fForwardB[];
-        public float fBackwardW[][];
-        public float fBackwardU[][];
+        public float fBackwardW[];
+        public float fBackwardU[];
         public float fBackwardB[];
-        public float fOutputW[][];
+        public float fOutputW[];
         public float fOutputB[];
     }
 
@@ -215,8 +202,9 @@ public void vectorize(
                 List<Integer> indicies) {
             BreakIterator iter = BreakIterator.getCharacterInstance();
             iter.setText(text);
-            int last = iter.next(startPos);
-            for (int curr = iter.next();
+            // The range starts on a grapheme cluster boundary.
+            int last = startPos;
+            for (int curr = iter.following(startPos);
                     curr != BreakIterator.DONE && curr <= endPos;
                     curr = iter.next()) {
                 offsets.add(last);
@@ -260,38 +248,35 @@ public boolean handles(int c) {
         return fScript == UCharacter.getIntPropertyValue(c, UProperty.SCRIPT);
     }
 
-    private static void addDotProductTo(final float[] a, final float[][] b, float[] result) {
-        assert a.length == b.length;
-        assert b[0].length == result.length;
-        for (int i = 0; i < result.length; i++) {
-            for (int j = 0; j < a.length; j++) {
-                result[i] += a[j] * b[j][i];
+    /**
+     * Adds the product of the row vector {@code a[aStart, aStart + aLength)} and the matrix {@code
+     * m} with {@code cols} columns, starting at {@code mStart}, to {@code result[resultStart,
+     * resultStart + cols)}.
+     *
+     * <p>The loops run over the rows of {@code m} in order, so that the inner loop reads one row
+     * sequentially, which the JIT compiler can vectorize. Each element of the result still gets the
+     * products added in the order of the rows, so the result is exactly the same as that of a
+     * column-by-column dot product.
+     */
+    private static void addDotProductTo(
+            final float[] a,
+            int aStart,
+            int aLength,
+            final float[] m,
+            int mStart,
+            int cols,
+            float[] result,
+            int resultStart) {
+        assert mStart + aLength * cols <= m.length;
+        for (int j = 0; j < aLength; j++) {
+            float aj = a[aStart + j];
+            int row = mStart + j * cols;
+            for (int i = 0; i < cols; i++) {
+                result[resultStart + i] += aj * m[row + i];
             }
         }
     }
 
-    private static void addTo(final float[] a, float[] result) {
-        assert a.length == result.length;
-        for (int i = 0; i < result.length; i++) {
-            result[i] += a[i];
-        }
-    }
-
-    private static void hadamardProductTo(final float[] a, float[] result) {
-        assert a.length == result.length;
-        for (int i = 0; i < result.length; i++) {
-            result[i] *= a[i];
-        }
-    }
-
-    private static void addHadamardProductTo(final float[] a, final float[] b, float[] result) {
-        assert a.length == result.length;
-        assert b.length == result.length;
-        for (int i = 0; i < result.length; i++) {
-            result[i] += a[i] * b[i];
-        }
-    }
-
     private static void sigmoid(float[] result, int start, int length) {
         assert start < result.length;
         assert start + length <= result.length;
@@ -320,49 +305,101 @@ private static int maxIndex(float[] data) {
         return index;
     }
 
-    /*
-    static private void print(float [] data) {
-        for (int i=0; i < data.length; i++) {
-            System.out.format("  %e", data[i]);
-            if (i % 4 == 3) {
-              System.out.println();
+    /**
+     * Numbers the distinct values in {@code index} in the order of their first occurrence. Sets
+     * each {@code ids[i]} to the number of {@code index[i]}, and returns the distinct values in the
+     * order of their numbers. The hash table is sized by the length of {@code index}, not by the
+     * size of the dictionary, because ranges of text are usually much shorter than that.
+     */
+    private static int[] numberDistinct(final int[] index, int[] ids) {
+        int mask = Integer.highestOneBit(Math.max(1, 2 * index.length - 1)) * 2 - 1;
+        // Value plus 1 in each slot of the hash table; 0 if the slot is empty.
+        int[] keys = new int[mask + 1];
+        int[] numbers = new int[mask + 1];
+        int[] distinct = new int[index.length];
+        int count = 0;
+        for (int i = 0; i < index.length; i++) {
+            int key = index[i] + 1;
+            int slot = key & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                numbers[slot] = count;
+                distinct[count++] = index[i];
+            }
+            ids[i] = numbers[slot];
+        }
+        return Arrays.copyOf(distinct, count);
+    }
+
+    /**
+     * The input projections x * W + B of one LSTM direction for the distinct embeddings in a range
+     * of text. Each one is computed only once and shared by all positions with the same embedding,
+     * which is common in longer runs of text.
+     */
+    private static final class InputProjections {
+        private final float[] projections;
+        private final int width;
+
+        InputProjections(LSTMData data, float[] W, float[] B, final int[] distinct) {
+            width = B.length;
+            projections = new float[distinct.length * width];
+            for (int id = 0; id < distinct.length; id++) {
+                int start = id * width;
+                System.arraycopy(B, 0, projections, start, width);
+                addDotProductTo(
+                        data.fEmbedding,
+                        distinct[id] * data.fEmbeddingSize,
+                        data.fEmbeddingSize,
+                        W,
+                        0,
+                        width,
+                        projections,
+                        start);
             }
         }
-        System.out.println();
+
+        /** Returns the start of the projection of the embedding with number {@code id}. */
+        int get(int id) {
+            return id * width;
+        }
     }
-    */
-
-    private float[] compute(
-            final float[][] W,
-            final float[][] U,
-            final float[] B,
-            final float[] x,
-            float[] h,
-            float[] c) {
-        // ifco = x * W + h * U + b
-        float[] ifco = Arrays.copyOf(B, B.length);
-        addDotProductTo(x, W, ifco);
-        float[] hU = new float[B.length];
-        addDotProductTo(h, U, ifco);
-
-        int hunits = B.length / 4;
+
+    /**
+     * Computes one LSTM step: ifco = x * W + h * U + b, then the new cell state {@code c} and the
+     * new hidden state, which is written to {@code hOut[hOutStart, hOutStart + hunits)}. {@code
+     * hOut} may be the same as {@code hIn}. {@code ifco} is a scratch buffer of 4 * hunits floats.
+     */
+    private static void compute(
+            final InputProjections xW,
+            int id,
+            final float[] U,
+            final float[] hIn,
+            int hInStart,
+            float[] c,
+            float[] ifco,
+            float[] hOut,
+            int hOutStart) {
+        int hunits = c.length;
+        System.arraycopy(xW.projections, xW.get(id), ifco, 0, ifco.length);
+        addDotProductTo(hIn, hInStart, hunits, U, 0, ifco.length, ifco, 0);
+
         sigmoid(ifco, 0 * hunits, hunits); // i
         sigmoid(ifco, 1 * hunits, hunits); // f
         tanh(ifco, 2 * hunits, hunits); // c_
         sigmoid(ifco, 3 * hunits, hunits); // o
 
-        hadamardProductTo(Arrays.copyOfRange(ifco, hunits, 2 * hunits), c);
-        addHadamardProductTo(
-                Arrays.copyOf(ifco, hunits), Arrays.copyOfRange(ifco, 2 * hunits, 3 * hunits), c);
-
-        h = Arrays.copyOf(c, c.length);
-        tanh(h, 0, h.length);
-        hadamardProductTo(Arrays.copyOfRange(ifco, 3 * hunits, 4 * hunits), h);
-        // System.out.println("c");
-        // print(c);
-        // System.out.println("h");
-        // print(h);
-        return h;
+        for (int k = 0; k < hunits; k++) {
+            // c = f (.) c + i (.) c_
+            c[k] *= ifco[hunits + k];
+            c[k] += ifco[k] * ifco[2 * hunits + k];
+            // h = o (.) tanh(c)
+            float h = (float) Math.tanh(c[k]);
+            h *= ifco[3 * hunits + k];
+            hOut[hOutStart + k] = h;
+        }
     }
 
     @Override
@@ -386,56 +423,68 @@ public int divideUpDictionaryRange(
         // Python or ICU4X implementation. We first perform the Backward LSTM
         // and then merge the iteration of the forward LSTM and the output layer
         // together because we only need to remember the h[t-1] for Forward LSTM.
+        //
+        // All of the buffers are allocated once for the whole range, and are sized by
+        // the range rather than by the dictionary. The engine is shared by all break
+        // iterators, so they cannot be kept between calls.
         int inputSeqLength = indicies.size();
-        int hunits = this.fData.fForwardU.length;
+        int[] index = new int[inputSeqLength];
+        for (int i = 0; i < inputSeqLength; i++) {
+            index[i] = indicies.get(i);
+        }
+        int[] ids = new int[inputSeqLength];
+        int[] distinct = numberDistinct(index, ids);
+        int hunits = this.fData.fHunits;
         float c[] = new float[hunits];
+        float ifco[] = new float[4 * hunits];
 
         // TODO: limit size of hBackward. If input_seq_len is too big, we could
         // run out of memory.
         // Backward LSTM
-        float hBackward[][] = new float[inputSeqLength][hunits];
+        InputProjections backwardXW =
+                new InputProjections(
+                        this.fData, this.fData.fBackwardW, this.fData.fBackwardB, distinct);
+        float hBackward[] = new float[(inputSeqLength + 1) * hunits];
         for (int i = inputSeqLength - 1; i >= 0; i--) {
-            if (i != inputSeqLength - 1) {
-                hBackward[i] = Arrays.copyOf(hBackward[i + 1], hunits);
-            }
-            // System.out.println("Backward LSTM " + i);
-            hBackward[i] =
-                    compute(
-                            this.fData.fBackwardW,
-                            this.fData.fBackwardU,
-                            this.fData.fBackwardB,
-                            this.fData.fEmbedding[indicies.get(i)],
-                            hBackward[i],
-                            c);
+            // The initial state (i + 1 == inputSeqLength) is all zeros.
+            compute(
+                    backwardXW,
+                    ids[i],
+                    this.fData.fBackwardU,
+                    hBackward,
+                    (i + 1) * hunits,
+                    c,
+                    ifco,
+                    hBackward,
+                    i * hunits);
         }
 
-        c = new float[hunits];
+        Arrays.fill(c, 0);
+        InputProjections forwardXW =
+                new InputProjections(
+                        this.fData, this.fData.fForwardW, this.fData.fForwardB, distinct);
         float forwardH[] = new float[hunits];
-        float both[] = new float[2 * hunits];
+        float logp[] = new float[this.fData.fOutputB.length];
 
         // The following iteration merge the forward LSTM and the output layer
         // together.
         for (int i = 0; i < inputSeqLength; i++) {
             // Forward LSTM
-            forwardH =
-                    compute(
-                            this.fData.fForwardW,
-                            this.fData.fForwardU,
-                            this.fData.fForwardB,
-                            this.fData.fEmbedding[indicies.get(i)],
-                            forwardH,
-                            c);
-
-            System.arraycopy(forwardH, 0, both, 0, hunits);
-            System.arraycopy(hBackward[i], 0, both, hunits, hunits);
-
-            // System.out.println("Merged " + i);
-            // print(both);
+            compute(forwardXW, ids[i], this.fData.fForwardU, forwardH, 0, c, ifco, forwardH, 0);
 
             // Output layer
-            // logp = fbRow * fOutputW + fOutputB
-            float logp[] = Arrays.copyOf(this.fData.fOutputB, this.fData.fOutputB.length);
-            addDotProductTo(both, this.fData.fOutputW, logp);
+            // logp = [forwardH, hBackward[i]] * fOutputW + fOutputB
+            System.arraycopy(this.fData.fOutputB, 0, logp, 0, logp.length);
+            addDotProductTo(forwardH, 0, hunits, this.fData.fOutputW, 0, logp.length, logp, 0);
+            addDotProductTo(
+                    hBackward,
+                    i * hunits,
+                    hunits,
+                    this.fData.fOutputW,
+                    hunits * logp.length,
+                    logp.length,
+                    logp,
+                    0);
 
             int current = maxIndex(logp);
 
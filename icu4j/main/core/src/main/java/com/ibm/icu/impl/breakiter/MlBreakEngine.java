@@ -15,8 +15,6 @@
 import java.text.CharacterIterator;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
 
 enum ModelIndex {
     kUWStart(0),
@@ -38,7 +36,7 @@ public class MlBreakEngine {
     private static final int MAX_FEATURE = 13;
     private UnicodeSet fDigitOrOpenPunctuationOrAlphabetSet;
     private UnicodeSet fClosePunctuationSet;
-    private List<HashMap<String, Integer>> fModel;
+    private FeatureTable[] fModel;
     private int fNegativeSum;
 
     /**
@@ -52,10 +50,7 @@ public MlBreakEngine(
             UnicodeSet digitOrOpenPunctuationOrAlphabetSet, UnicodeSet closePunctuationSet) {
         fDigitOrOpenPunctuationOrAlphabetSet = digitOrOpenPunctuationOrAlphabetSet;
         fClosePunctuationSet = closePunctuationSet;
-        fModel = new ArrayList<HashMap<String, Integer>>(MAX_FEATURE);
-        for (int i = 0; i < MAX_FEATURE; i++) {
-            fModel.add(new HashMap<String, Integer>());
-        }
+        fModel = new FeatureTable[MAX_FEATURE];
         fNegativeSum = 0;
         loadMLModel();
     }
@@ -84,26 +79,17 @@ public int divideUpRange(
             return 0;
         }
         ArrayList<Integer> boundary = new ArrayList<Integer>(codePointLength);
-        String inputStr = transform(inString);
+        int[] codePoints = toCodePoints(inString, codePointLength);
         // The ML algorithm groups six char and evaluates whether the 4th char is a breakpoint.
         // In each iteration, it evaluates the 4th char and then moves forward one char like
-        // sliding window. Initially, the first six values in the indexList are
-        // [-1, -1, 0, 1, 2, 3]. After moving forward, finally the last six values in the indexList
-        // are [length-4, length-3, length-2, length-1, -1, -1]. The "+4" here means four extra
-        // "-1".
-        int indexSize = codePointLength + 4;
-        int indexList[] = new int[indexSize];
-        int numCodeUnits = initIndexList(inString, indexList, codePointLength);
+        // sliding window. The characters before the start and after the end of the input are
+        // treated as missing, and features that include them are skipped.
 
         // Add a break for the start.
         boundary.add(0, 0);
 
         for (int idx = 0; idx + 1 < codePointLength; idx++) {
-            evaluateBreakpoint(inputStr, indexList, idx, numCodeUnits, boundary);
-            if (idx + 4 < codePointLength) {
-                indexList[idx + 6] = numCodeUnits;
-                numCodeUnits += Character.charCount(next32(inString));
-            }
+            evaluateBreakpoint(codePoints, idx, boundary);
         }
 
         // Add a break for the end if there is not one there already.
@@ -149,64 +135,62 @@ public int divideUpRange(
         return correctedNumBreaks;
     }
 
-    /** Transform a CharacterIterator into a String. */
-    private String transform(CharacterIterator inString) {
-        StringBuilder sb = new StringBuilder();
+    /** Returns the code points of a CharacterIterator. */
+    private static int[] toCodePoints(CharacterIterator inString, int codePointLength) {
+        int[] codePoints = new int[codePointLength];
         inString.setIndex(0);
-        for (char c = inString.first(); c != CharacterIterator.DONE; c = inString.next()) {
-            sb.append(c);
+        int length = 0;
+        for (int c = current32(inString);
+                c != DONE32 && length < codePointLength;
+                c = next32(inString)) {
+            codePoints[length++] = c;
         }
-        return sb.toString();
+        return codePoints;
     }
 
     /**
-     * Evaluate whether the breakpointIdx is a potential breakpoint.
+     * Evaluate whether the code point after the one at startIdx is a potential breakpoint. The
+     * features are the unigrams, bigrams and trigrams in the window of six code points from {@code
+     * startIdx - 2} to {@code startIdx + 3}.
      *
-     * @param inputStr An input string to be segmented.
-     * @param indexList A code unit index list of the inputStr.
-     * @param startIdx The start index of the indexList.
-     * @param numCodeUnits The current code unit boundary of the indexList.
+     * @param codePoints The code points of the input string to be segmented.
+     * @param startIdx The code point index before the potential breakpoint.
      * @param boundary A list including the index of the breakpoint.
      */
-    private void evaluateBreakpoint(
-            String inputStr,
-            int[] indexList,
-            int startIdx,
-            int numCodeUnits,
-            ArrayList<Integer> boundary) {
-        int start = 0, end = 0;
+    private void evaluateBreakpoint(int[] codePoints, int startIdx, ArrayList<Integer> boundary) {
         int score = fNegativeSum;
+        // Index of the first code point of the window, which may be before the start of the input.
+        int first = startIdx - 2;
+        int length = codePoints.length;
 
         for (int i = 0; i < 6; i++) {
             // UW1 ~ UW6
-            start = startIdx + i;
-            if (indexList[start] != -1) {
-                end = (indexList[start + 1] != -1) ? indexList[start + 1] : numCodeUnits;
+            int start = first + i;
+            if (0 <= start && start < length) {
                 score +=
-                        fModel.get(ModelIndex.kUWStart.getValue() + i)
-                                .getOrDefault(inputStr.substring(indexList[start], end), 0);
+                        fModel[ModelIndex.kUWStart.getValue() + i].get(
+                                FeatureTable.key(codePoints[start]));
             }
         }
         for (int i = 0; i < 3; i++) {
             // BW1 ~ BW3
-            start = startIdx + i + 1;
-            if (indexList[start] != -1 && indexList[start + 1] != -1) {
-                end = (indexList[start + 2] != -1) ? indexList[start + 2] : numCodeUnits;
+            int start = first + i + 1;
+            if (0 <= start && start + 1 < length) {
                 score +=
-                        fModel.get(ModelIndex.kBWStart.getValue() + i)
-                                .getOrDefault(inputStr.substring(indexList[start], end), 0);
+                        fModel[ModelIndex.kBWStart.getValue() + i].get(
+                                FeatureTable.key(codePoints[start], codePoints[start + 1]));
             }
         }
         for (int i = 0; i < 4; i++) {
             // TW1 ~ TW4
-            start = startIdx + i;
-            if (indexList[start] != -1
-                    && indexList[start + 1] != -1
-                    && indexList[start + 2] != -1) {
-                end = (indexList[start + 3] != -1) ? indexList[start + 3] : numCodeUnits;
+            int start = first + i;
+            if (0 <= start && start + 2 < length) {
                 score +=
-                        fModel.get(ModelIndex.kTWStart.getValue() + i)
-                                .getOrDefault(inputStr.substring(indexList[start], end), 0);
+                        fModel[ModelIndex.kTWStart.getValue() + i].get(
+                                FeatureTable.key(
+                                        codePoints[start],
+                                        codePoints[start + 1],
+                                        codePoints[start + 2]));
             }
         }
         if (score > 0) {
@@ -214,55 +198,24 @@ private void evaluateBreakpoint(
         }
     }
 
-    /**
-     * Initialize the index list from the input string.
-     *
-     * @param inString An input string to be segmented.
-     * @param indexList A code unit index list of the inString.
-     * @param codePointLength The number of code points of the input string
-     * @return The number of the code units of the first six characters in inString.
-     */
-    private int initIndexList(CharacterIterator inString, int[] indexList, int codePointLength) {
-        int index = 0;
-        inString.setIndex(index);
-        Arrays.fill(indexList, -1);
-        if (codePointLength > 0) {
-            indexList[2] = 0;
-            index += Character.charCount(current32(inString));
-            if (codePointLength > 1) {
-                indexList[3] = index;
-                index += Character.charCount(next32(inString));
-                if (codePointLength > 2) {
-                    indexList[4] = index;
-                    index += Character.charCount(next32(inString));
-                    if (codePointLength > 3) {
-                        indexList[5] = index;
-                        index += Character.charCount(next32(inString));
-                    }
-                }
-            }
-        }
-        return index;
-    }
-
     /** Load the machine learning's model file. */
     private void loadMLModel() {
         int index = 0;
         UResourceBundle rb =
                 UResourceBundle.getBundleInstance(ICUData.ICU_BRKITR_BASE_NAME, "jaml");
-        initKeyValue(rb, "UW1Keys", "UW1Values", fModel.get(index++));
-        initKeyValue(rb, "UW2Keys", "UW2Values", fModel.get(index++));
-        initKeyValue(rb, "UW3Keys", "UW3Values", fModel.get(index++));
-        initKeyValue(rb, "UW4Keys", "UW4Values", fModel.get(index++));
-        initKeyValue(rb, "UW5Keys", "UW5Values", fModel.get(index++));
-        initKeyValue(rb, "UW6Keys", "UW6Values", fModel.get(index++));
-        initKeyValue(rb, "BW1Keys", "BW1Values", fModel.get(index++));
-        initKeyValue(rb, "BW2Keys", "BW2Values", fModel.get(index++));
-        initKeyValue(rb, "BW3Keys", "BW3Values", fModel.get(index++));
-        initKeyValue(rb, "TW1Keys", "TW1Values", fModel.get(index++));
-        initKeyValue(rb, "TW2Keys", "TW2Values", fModel.get(index++));
-        initKeyValue(rb, "TW3Keys", "TW3Values", fModel.get(index++));
-        initKeyValue(rb, "TW4Keys", "TW4Values", fModel.get(index++));
+        fModel[index++] = initKeyValue(rb, "UW1Keys", "UW1Values");
+        fModel[index++] = initKeyValue(rb, "UW2Keys", "UW2Values");
+        fModel[index++] = initKeyValue(rb, "UW3Keys", "UW3Values");
+        fModel[index++] = initKeyValue(rb, "UW4Keys", "UW4Values");
+        fModel[index++] = initKeyValue(rb, "UW5Keys", "UW5Values");
+        fModel[index++] = initKeyValue(rb, "UW6Keys", "UW6Values");
+        fModel[index++] = initKeyValue(rb, "BW1Keys", "BW1Values");
+        fModel[index++] = initKeyValue(rb, "BW2Keys", "BW2Values");
+        fModel[index++] = initKeyValue(rb, "BW3Keys", "BW3Values");
+        fModel[index++] = initKeyValue(rb, "TW1Keys", "TW1Values");
+        fModel[index++] = initKeyValue(rb, "TW2Keys", "TW2Values");
+        fModel[index++] = initKeyValue(rb, "TW3Keys", "TW3Values");
+        fModel[index++] = initKeyValue(rb, "TW4Keys", "TW4Values");
         fNegativeSum /= 2;
     }
 
@@ -273,18 +226,95 @@ private void loadMLModel() {
      * @param rb A RedouceBundle corresponding to the model file.
      * @param keyName The kay name in the model file.
      * @param valueName The value name in the model file.
-     * @param map A HashMap to store the pairs of the feature and its score.
+     * @return A table with the scores of the features.
      */
-    private void initKeyValue(
-            UResourceBundle rb, String keyName, String valueName, HashMap<String, Integer> map) {
+    private FeatureTable initKeyValue(UResourceBundle rb, String keyName, String valueName) {
         int idx = 0;
         UResourceBundle keyBundle = rb.get(keyName);
         UResourceBundle valueBundle = rb.get(valueName);
         int[] value = valueBundle.getIntVector();
+        FeatureTable table = new FeatureTable(keyBundle.getSize());
         UResourceBundleIterator iterator = keyBundle.getIterator();
         while (iterator.hasNext()) {
             fNegativeSum -= value[idx];
-            map.put(iterator.nextString(), value[idx++]);
+            table.put(iterator.nextString(), value[idx++]);
+        }
+        return table;
+    }
+
+    /**
+     * An open-addressing hash table from n-grams of one to three code points to their scores. The
+     * n-grams are packed into {@code long} keys, so that features can be looked up without creating
+     * strings.
+     */
+    private static final class FeatureTable {
+        /**
+         * Marks an empty slot. No packed key equals -1, because a code point never fills all of its
+         * 21 bits. Trigram keys have the length bit in bit 63 and are negative, so do not rely on
+         * the sign of a key.
+         */
+        private static final long EMPTY = -1;
+
+        private final long[] keys;
+        private final int[] values;
+        private final int mask;
+
+        FeatureTable(int size) {
+            // Keep the load factor at or below 1/2.
+            int capacity = Integer.highestOneBit(Math.max(size, 2) * 2 - 1) * 2;
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, EMPTY);
+        }
+
+        /** Packs one code point. Each one takes 21 bits, after a leading 1 bit for the length. */
+        static long key(int c1) {
+            return (1L << 21) | c1;
+        }
+
+        static long key(int c1, int c2) {
+            return (key(c1) << 21) | c2;
+        }
+
+        static long key(int c1, int c2, int c3) {
+            return (key(c1, c2) << 21) | c3;
+        }
+
+        private int slot(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h >>> 32) & mask;
+        }
+
+        void put(String feature, int value) {
+            int length = feature.codePointCount(0, feature.length());
+            if (length < 1 || length > 3) {
+                return; // Never looked up.
+            }
+            long key = 1;
+            for (int i = 0; i < feature.length(); ) {
+                int c = feature.codePointAt(i);
+                key = (key << 21) | c;
+                i += Character.charCount(c);
+            }
+            int i = slot(key);
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        /** Returns the score of the feature, or 0 if it is not in the model. */
+        int get(long key) {
+            for (int i = slot(key); ; i = (i + 1) & mask) {
+                long k = keys[i];
+                if (k == key) {
+                    return values[i];
+                } else if (k == EMPTY) {
+                    return 0;
+                }
+            }
         }
     }
 }
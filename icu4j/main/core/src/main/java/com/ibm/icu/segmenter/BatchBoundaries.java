@@ -0,0 +1,165 @@
+// © 2026 and later: Unicode, Inc. and others.
+// License & terms of use: https://www.unicode.org/copyright.html
+
+package com.ibm.icu.segmenter;
+
+import com.ibm.icu.text.BreakIterator;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The segmentation boundaries of a batch of input sequences, as filled in by {@link
+ * Segmenter#segmentAll(List, BatchBoundaries)}.
+ *
+ * <p>The boundaries of all of the inputs are stored in one shared array, in input order. The
+ * boundaries of input {@code i} are the array elements from {@code getOffsets()[i]} up to but not
+ * including {@code getOffsets()[i + 1]}. They are indexes into that input, starting with 0 and
+ * ending with its length.
+ *
+ * <p>An object of this class can be filled again and again, which reuses its arrays so that
+ * segmenting a large number of short inputs does not allocate memory for each one.
+ *
+ * <p>Example:
+ *
+ * <blockquote>
+ *
+ * <pre>
+ * BatchBoundaries batch = new BatchBoundaries();
+ * wordSeg.segmentAll(titles, batch);
+ * int[] boundaries = batch.getBoundaries();
+ * int[] offsets = batch.getOffsets();
+ * for (int i = 0; i &lt; batch.size(); ++i) {
+ *     for (int j = offsets[i]; j &lt; offsets[i + 1] - 1; ++j) {
+ *         CharSequence word = titles.get(i).subSequence(boundaries[j], boundaries[j + 1]);
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * </blockquote>
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @see Segmenter#segmentAll(List, BatchBoundaries)
+ * @draft ICU 79
+ */
+public class BatchBoundaries {
+
+    private int[] boundaries = new int[16];
+
+    private int[] offsets = new int[8];
+
+    private int size;
+
+    /**
+     * Constructs an empty object, which is usually filled by {@link Segmenter#segmentAll(List,
+     * BatchBoundaries)}.
+     *
+     * @draft ICU 79
+     */
+    public BatchBoundaries() {}
+
+    /**
+     * Returns the number of input sequences.
+     *
+     * @return the number of input sequences
+     * @draft ICU 79
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the shared array with the boundaries of all of the input sequences. Only the first
+     * {@code getOffsets()[size()]} elements are valid. The array is owned by this object, and
+     * refilling this object may modify or replace it.
+     *
+     * @return the shared boundaries array
+     * @draft ICU 79
+     */
+    public int[] getBoundaries() {
+        return boundaries;
+    }
+
+    /**
+     * Returns the array of the offsets of the boundaries of each input sequence in the shared
+     * boundaries array. Only the first {@code size() + 1} elements are valid. The array is owned by
+     * this object, and refilling this object may modify or replace it.
+     *
+     * @return the offsets array
+     * @draft ICU 79
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * Returns the boundaries of one input sequence.
+     *
+     * @param i the index of the input sequence
+     * @return a new array with the boundaries of input sequence {@code i}
+     * @throws IndexOutOfBoundsException if {@code i} is less than 0 or not less than {@code size()}
+     * @draft ICU 79
+     */
+    public int[] getBoundaries(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        return Arrays.copyOfRange(boundaries, offsets[i], offsets[i + 1]);
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /** Appends the boundaries of the next input sequence. */
+    void add(int[] textBoundaries) {
+        int start = offsets[size];
+        ensureBoundariesCapacity(start + textBoundaries.length);
+        System.arraycopy(textBoundaries, 0, boundaries, start, textBoundaries.length);
+        endText(start + textBoundaries.length);
+    }
+
+    /**
+     * Segments each input sequence with one {@code BreakIterator} that is borrowed from the pool
+     * for the whole batch, and writes its boundaries directly into the shared array.
+     */
+    void fill(BreakIteratorPool breakIterPool, List<? extends CharSequence> texts) {
+        clear();
+        int count = 0;
+        BreakIterator breakIter = null;
+        try {
+            for (CharSequence text : texts) {
+                if (breakIter == null) {
+                    breakIter = breakIterPool.acquire(text);
+                } else {
+                    breakIter.setText(text);
+                }
+                for (int b = breakIter.first(); b != BreakIterator.DONE; b = breakIter.next()) {
+                    if (count == boundaries.length) {
+                        boundaries = Arrays.copyOf(boundaries, 2 * count);
+                    }
+                    boundaries[count++] = b;
+                }
+                endText(count);
+            }
+        } finally {
+            if (breakIter != null) {
+                breakIterPool.release(breakIter);
+            }
+        }
+    }
+
+    private void endText(int limit) {
+        if (size + 2 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+        }
+        offsets[++size] = limit;
+    }
+
+    private void ensureBoundariesCapacity(int capacity) {
+        if (capacity > boundaries.length) {
+            boundaries = Arrays.copyOf(boundaries, Math.max(capacity, 2 * boundaries.length));
+        }
+    }
+}
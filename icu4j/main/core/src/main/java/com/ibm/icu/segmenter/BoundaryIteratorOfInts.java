@@ -5,6 +5,7 @@
 
 import com.ibm.icu.segmenter.Segments.IterationDirection;
 import com.ibm.icu.text.BreakIterator;
+import java.util.NoSuchElementException;
 
 /**
  * An iterator of segmentation boundaries that can operate in either the forwards or reverse
@@ -17,16 +18,21 @@
  * backwards.
  */
 class BoundaryIteratorOfInts {
+    private final BreakIteratorPool breakIterPool;
     private BreakIterator breakIter;
     private IterationDirection direction;
     private int currIdx;
 
+    /** When iterating forwards, boundaries after this index are not returned. */
+    private int limit = Integer.MAX_VALUE;
+
     BoundaryIteratorOfInts(
-            BreakIterator breakIter,
+            BreakIteratorPool breakIterPool,
             CharSequence sourceSequence,
             IterationDirection direction,
             int startIdx) {
-        this.breakIter = breakIter;
+        this.breakIterPool = breakIterPool;
+        this.breakIter = breakIterPool.acquire(sourceSequence);
         this.direction = direction;
 
         if (direction == IterationDirection.FORWARDS) {
@@ -75,6 +81,7 @@ class BoundaryIteratorOfInts {
                 currIdx = isOnBoundary ? startIdx : breakIter.preceding(startIdx);
             }
         }
+        releaseIfDone();
     }
 
     public boolean hasNext() {
@@ -82,15 +89,52 @@ public boolean hasNext() {
     }
 
     public Integer next() {
+        if (!hasNext()) {
+            // The BreakIterator has already been returned to the pool.
+            throw new NoSuchElementException();
+        }
         int result = currIdx;
 
         if (direction == IterationDirection.FORWARDS) {
             currIdx = breakIter.next();
+            if (currIdx > limit) {
+                currIdx = BreakIterator.DONE;
+            }
         } else {
             assert direction == IterationDirection.BACKWARDS;
             currIdx = breakIter.previous();
         }
+        releaseIfDone();
 
         return result;
     }
+
+    /**
+     * Returns the boundary that the next call to {@link #next()} will return, or {@code
+     * BreakIterator.DONE} if there is none.
+     */
+    int peek() {
+        return currIdx;
+    }
+
+    /**
+     * Stops a forwards iteration after the boundary {@code limit}, so that no boundary greater than
+     * {@code limit} is returned.
+     */
+    void setLimit(int limit) {
+        assert direction == IterationDirection.FORWARDS;
+        this.limit = limit;
+        if (currIdx > limit) {
+            currIdx = BreakIterator.DONE;
+            releaseIfDone();
+        }
+    }
+
+    /** Returns the BreakIterator to the pool once the iteration has reached its end. */
+    private void releaseIfDone() {
+        if (currIdx == BreakIterator.DONE && breakIter != null) {
+            breakIterPool.release(breakIter);
+            breakIter = null;
+        }
+    }
 }
@@ -8,35 +8,135 @@
 import java.util.Spliterator;
 import java.util.function.IntConsumer;
 
+/**
+ * A {@code Spliterator} of segmentation boundaries.
+ *
+ * <p>In the forwards direction, the spliterator can be split so that the boundaries of a large
+ * input can be computed in parallel. Each split point is itself a boundary, found with {@link
+ * BreakIterator#following(int)} from the middle of the remaining range. Like {@link
+ * BreakIterator#preceding(int)}, that method uses the safe rules to find a position from which it
+ * can resume the normal forwards iteration, so each part returns exactly the boundaries of a
+ * sequential iteration over the whole input.
+ */
 class BoundarySpliterator implements Spliterator.OfInt {
 
-    private final BoundaryIteratorOfInts iter;
+    /**
+     * Ranges shorter than twice this number of code units are not split further, because the
+     * parallel overhead would outweigh the work saved.
+     */
+    private static final int MIN_SPLIT_LENGTH = 1024;
+
+    private final BreakIteratorPool breakIterPool;
+
+    private final CharSequence sourceSequence;
+
+    private final IterationDirection direction;
+
+    /**
+     * The iterator of the remaining boundaries. The spliterator of a new stream creates it only
+     * once the stream is used, so that a stream that is never run does not take a {@code
+     * BreakIterator} from the pool.
+     */
+    private BoundaryIteratorOfInts iter;
+
+    /**
+     * When iterating forwards, all boundaries that this spliterator returns are greater than this
+     * index. After a split, this is the last boundary of the prefix. Until the iterator is created,
+     * this is the start index of the iteration in either direction.
+     */
+    private int after;
+
+    /** When iterating forwards, this spliterator returns no boundaries greater than this index. */
+    private int limit;
 
     BoundarySpliterator(
-            BreakIterator breakIter,
+            BreakIteratorPool breakIterPool,
             CharSequence sourceSequence,
             IterationDirection direction,
             int startIdx) {
-        iter = new BoundaryIteratorOfInts(breakIter, sourceSequence, direction, startIdx);
+        this(breakIterPool, sourceSequence, direction, null, startIdx, sourceSequence.length());
+    }
+
+    private BoundarySpliterator(
+            BreakIteratorPool breakIterPool,
+            CharSequence sourceSequence,
+            IterationDirection direction,
+            BoundaryIteratorOfInts iter,
+            int after,
+            int limit) {
+        this.breakIterPool = breakIterPool;
+        this.sourceSequence = sourceSequence;
+        this.direction = direction;
+        this.iter = iter;
+        this.after = after;
+        this.limit = limit;
+    }
+
+    private BoundaryIteratorOfInts iter() {
+        if (iter == null) {
+            iter = new BoundaryIteratorOfInts(breakIterPool, sourceSequence, direction, after);
+        }
+        return iter;
+    }
+
+    /**
+     * Returns the index that all remaining boundaries are greater than. After a successful {@link
+     * #trySplit()}, this is the boundary where the returned prefix ends.
+     */
+    int after() {
+        return after;
     }
 
     @Override
     public OfInt trySplit() {
-        // The elements of the Stream represent an iteration through a string, and is thus
-        // inherently
-        // stateful. Therefore, splitting this Stream does not make sense. Ex: splitting the Stream
-        // is tantamount to discarding the segment subtended by the end value (index into the input
-        // string) of one substream and the beginning value of the next substream.
-        return null;
+        // Iterating backwards is only used for short look-behinds, so it is not worth splitting.
+        if (direction != IterationDirection.FORWARDS) {
+            return null;
+        }
+        int next = iter().peek();
+        if (next == BreakIterator.DONE || limit - next < 2 * MIN_SPLIT_LENGTH) {
+            return null;
+        }
+        BoundaryIteratorOfInts suffixIter =
+                new BoundaryIteratorOfInts(
+                        breakIterPool,
+                        sourceSequence,
+                        IterationDirection.FORWARDS,
+                        next + (limit - next) / 2);
+        suffixIter.setLimit(limit);
+        if (!suffixIter.hasNext()) {
+            return null;
+        }
+        // The first boundary after the middle is the split point, which ends the prefix.
+        int split = suffixIter.next();
+        if (!suffixIter.hasNext()) {
+            return null;
+        }
+        iter.setLimit(split);
+        BoundarySpliterator prefix =
+                new BoundarySpliterator(
+                        breakIterPool, sourceSequence, direction, iter, after, split);
+        iter = suffixIter;
+        after = split;
+        return prefix;
     }
 
     @Override
     public long estimateSize() {
-        // The number of segments per input size depends on language, script, and
-        // the content of the input string, and thus is hard to estimate without
-        // sacrificing performance. Thus, returning `Long.MAX_VALUE`, according
-        // to the API, to mean "unknown, or too expensive to compute".
-        return Long.MAX_VALUE;
+        if (direction != IterationDirection.FORWARDS) {
+            // The number of segments per input size depends on language, script, and
+            // the content of the input string, and thus is hard to estimate without
+            // sacrificing performance. Thus, returning `Long.MAX_VALUE`, according
+            // to the API, to mean "unknown, or too expensive to compute".
+            return Long.MAX_VALUE;
+        }
+        // There can be at most one boundary per remaining code unit, which is a usable estimate
+        // of the relative sizes of the parts for splitting.
+        if (iter == null) {
+            return Math.max(0, limit - after);
+        }
+        int next = iter.peek();
+        return next == BreakIterator.DONE ? 0 : (long) limit - next + 1;
     }
 
     @Override
@@ -59,7 +159,7 @@ public boolean tryAdvance(IntConsumer action) {
         if (action == null) {
             throw new NullPointerException();
         }
-        if (iter.hasNext()) {
+        if (iter().hasNext()) {
             action.accept(iter.next());
             return true;
         } else {
@@ -0,0 +1,95 @@
+// © 2026 and later: Unicode, Inc. and others.
+// License & terms of use: https://www.unicode.org/copyright.html
+
+package com.ibm.icu.segmenter;
+
+import com.ibm.icu.text.BreakIterator;
+import com.ibm.icu.text.RuleBasedBreakIterator;
+import java.nio.ByteBuffer;
+
+/**
+ * A small pool of clones of a {@code Segmenter}'s prototype {@code BreakIterator}.
+ *
+ * <p>Each {@code Segments} API call needs a {@code BreakIterator} with its own iteration state.
+ * Cloning the prototype for every call copies the rule-based iterator's break and dictionary
+ * caches, which dominates the cost of segmenting many short strings. Instead, the {@code Segments}
+ * APIs borrow an iterator from this pool and return it when they are done with it. Iterators that
+ * are not returned, for example those of streams that are not consumed to the end, are simply
+ * garbage-collected.
+ *
+ * <p>This class is thread-safe.
+ */
+class BreakIteratorPool {
+
+    /** Maximum number of idle iterators that are kept for reuse. */
+    private static final int MAX_IDLE = 8;
+
+    private final BreakIterator prototype;
+
+    private final BreakIterator[] idle = new BreakIterator[MAX_IDLE];
+
+    private int idleCount;
+
+    /**
+     * @param prototype the {@code Segmenter}'s iterator; it is only cloned, never modified.
+     */
+    BreakIteratorPool(BreakIterator prototype) {
+        this.prototype = prototype;
+    }
+
+    /**
+     * Returns an iterator that is not used by anyone else, set to iterate over {@code text}.
+     *
+     * @param text input text
+     * @return an iterator positioned at the start of {@code text}
+     */
+    BreakIterator acquire(CharSequence text) {
+        BreakIterator breakIter = null;
+        synchronized (this) {
+            if (idleCount > 0) {
+                breakIter = idle[--idleCount];
+                idle[idleCount] = null;
+            }
+        }
+        if (breakIter == null) {
+            breakIter = prototype.clone();
+        }
+        breakIter.setText(text);
+        return breakIter;
+    }
+
+    /**
+     * Returns an iterator to the pool. The caller must not use it any more.
+     *
+     * @param breakIter an iterator that was returned by {@link #acquire(CharSequence)}
+     */
+    void release(BreakIterator breakIter) {
+        // Drop the text, so that idle iterators do not keep the last input reachable. Each
+        // iterator gets its own empty text, because a BreakIterator moves the position of its text.
+        breakIter.setText("");
+        synchronized (this) {
+            if (idleCount < MAX_IDLE) {
+                idle[idleCount++] = breakIter;
+            }
+        }
+    }
+
+    /**
+     * Returns the boundaries of UTF-8 text as byte offsets, found by running the rules of a
+     * borrowed {@code RuleBasedBreakIterator} directly on the bytes.
+     *
+     * @param src UTF-8 text
+     * @return the boundaries, or null if the prototype is not a {@code RuleBasedBreakIterator}
+     */
+    int[] boundaryArrayUTF8(ByteBuffer src) {
+        if (!(prototype instanceof RuleBasedBreakIterator)) {
+            return null;
+        }
+        BreakIterator breakIter = acquire("");
+        try {
+            return ((RuleBasedBreakIterator) breakIter).getBoundariesUTF8(src);
+        } finally {
+            release(breakIter);
+        }
+    }
+}
@@ -5,6 +5,8 @@
 
 import com.ibm.icu.text.BreakIterator;
 import com.ibm.icu.util.ULocale;
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Locale;
 
 /**
@@ -14,7 +16,7 @@
  */
 public class LocalizedSegmenter implements Segmenter {
 
-    private BreakIterator breakIterPrototype;
+    private final BreakIteratorPool breakIterPool;
 
     /**
      * Returns a {@link Segments} object that encapsulates the segmentation of the input {@code
@@ -29,7 +31,33 @@ public class LocalizedSegmenter implements Segmenter {
      */
     @Override
     public Segments segment(CharSequence s) {
-        return new SegmentsImpl(breakIterPrototype, s);
+        return new SegmentsImpl(breakIterPool, s);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation segments the whole batch with a single {@code BreakIterator}, which
+     * reuses its rule tables and caches from one input to the next.
+     *
+     * @draft ICU 79
+     */
+    @Override
+    public void segmentAll(List<? extends CharSequence> texts, BatchBoundaries result) {
+        result.fill(breakIterPool, texts);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation runs the break rules directly on the UTF-8 bytes.
+     *
+     * @draft ICU 79
+     */
+    @Override
+    public int[] boundaryArrayUTF8(ByteBuffer src) {
+        int[] boundaries = breakIterPool.boundaryArrayUTF8(src);
+        return boundaries != null ? boundaries : Segmenter.super.boundaryArrayUTF8(src);
     }
 
     /**
@@ -41,6 +69,7 @@ public static Builder builder() {
     }
 
     private LocalizedSegmenter(ULocale locale, SegmentationType segmentationType) {
+        BreakIterator breakIterPrototype = null;
         switch (segmentationType) {
             case LINE:
                 breakIterPrototype = BreakIterator.getLineInstance(locale);
@@ -55,6 +84,7 @@ private LocalizedSegmenter(ULocale locale, SegmentationType segmentationType) {
                 breakIterPrototype = BreakIterator.getCharacterInstance(locale);
                 break;
         }
+        breakIterPool = new BreakIteratorPool(breakIterPrototype);
     }
 
     /**
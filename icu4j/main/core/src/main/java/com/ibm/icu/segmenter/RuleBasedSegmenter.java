@@ -3,19 +3,50 @@
 
 package com.ibm.icu.segmenter;
 
-import com.ibm.icu.text.BreakIterator;
+import com.ibm.icu.impl.CacheBase;
+import com.ibm.icu.impl.SoftCache;
 import com.ibm.icu.text.RuleBasedBreakIterator;
+import com.ibm.icu.util.ICUUncheckedIOException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
 
 /**
  * Performs segmentation according to the provided rule string. The rule string must follow the same
  * guidelines as for {@link RuleBasedBreakIterator#RuleBasedBreakIterator(String)}.
  *
+ * <p>Compiling a rule string into state tables takes much longer than segmenting text with them.
+ * The compiled rules are cached process-wide by rule string, so segmenters built with the same
+ * rules compile them only once. They can also be written out with {@link
+ * #writeCompiledRules(OutputStream)} and loaded with {@link Builder#setCompiledRules(InputStream)},
+ * for example to skip compiling the rules again after a restart.
+ *
  * @draft ICU 78
  */
 public class RuleBasedSegmenter implements Segmenter {
 
-    private final BreakIterator breakIterPrototype;
+    /** Compiled rules by rule string. */
+    private static final CacheBase<String, CompiledRules, Void> compiledRulesCache =
+            new SoftCache<String, CompiledRules, Void>() {
+                @Override
+                protected CompiledRules createInstance(String rules, Void unused) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    try {
+                        RuleBasedBreakIterator.compileRules(rules, out);
+                        return new CompiledRules(out.toByteArray());
+                    } catch (IOException e) {
+                        throw new ICUUncheckedIOException(e);
+                    }
+                }
+            };
+
+    private final CompiledRules compiledRules;
+
+    private final BreakIteratorPool breakIterPool;
 
     /**
      * Returns a {@link Segments} object that encapsulates the segmentation of the input {@code
@@ -30,7 +61,33 @@ public class RuleBasedSegmenter implements Segmenter {
      */
     @Override
     public Segments segment(CharSequence s) {
-        return new SegmentsImpl(breakIterPrototype, s);
+        return new SegmentsImpl(breakIterPool, s);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation segments the whole batch with a single {@code BreakIterator}, which
+     * reuses its rule tables and caches from one input to the next.
+     *
+     * @draft ICU 79
+     */
+    @Override
+    public void segmentAll(List<? extends CharSequence> texts, BatchBoundaries result) {
+        result.fill(breakIterPool, texts);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation runs the break rules directly on the UTF-8 bytes.
+     *
+     * @draft ICU 79
+     */
+    @Override
+    public int[] boundaryArrayUTF8(ByteBuffer src) {
+        int[] boundaries = breakIterPool.boundaryArrayUTF8(src);
+        return boundaries != null ? boundaries : Segmenter.super.boundaryArrayUTF8(src);
     }
 
     /**
@@ -41,8 +98,40 @@ public static Builder builder() {
         return new Builder();
     }
 
-    private RuleBasedSegmenter(BreakIterator breakIter) {
-        breakIterPrototype = breakIter;
+    /**
+     * Writes the compiled form of the rules of this segmenter. {@link
+     * Builder#setCompiledRules(InputStream)} loads them much faster than {@link
+     * Builder#setRules(String)} compiles the rule string.
+     *
+     * <p>Compiled rules are not guaranteed to be compatible between different versions of ICU.
+     *
+     * @param out the stream to write the compiled rules to
+     * @throws IOException if there is an error writing to the stream
+     * @draft ICU 79
+     */
+    public void writeCompiledRules(OutputStream out) throws IOException {
+        out.write(compiledRules.binary);
+    }
+
+    private RuleBasedSegmenter(CompiledRules compiledRules) {
+        this.compiledRules = compiledRules;
+        breakIterPool = new BreakIteratorPool(compiledRules.prototype);
+    }
+
+    /**
+     * Rules in binary form, and a break iterator for them. The break iterator is only cloned, never
+     * modified, so it is shared by all segmenters with the same rules.
+     */
+    private static final class CompiledRules {
+        final byte[] binary;
+        final RuleBasedBreakIterator prototype;
+
+        CompiledRules(byte[] binary) throws IOException {
+            this.binary = binary;
+            prototype =
+                    RuleBasedBreakIterator.getInstanceFromCompiledRules(
+                            new ByteArrayInputStream(binary));
+        }
     }
 
     /**
@@ -52,12 +141,13 @@ private RuleBasedSegmenter(BreakIterator breakIter) {
      */
     public static class Builder {
 
-        private BreakIterator breakIter = null;
+        private CompiledRules compiledRules = null;
 
         private Builder() {}
 
         /**
-         * Sets the rule string for segmentation.
+         * Sets the rule string for segmentation. Rules that were already compiled for another
+         * segmenter in this process are not compiled again.
          *
          * @param rules rule string. The rule string must follow the same guidelines as for {@link
          *     RuleBasedBreakIterator#getInstanceFromCompiledRules(InputStream)}.
@@ -68,7 +158,7 @@ public Builder setRules(String rules) {
                 throw new IllegalArgumentException("rules cannot be set to null.");
             }
             try {
-                breakIter = new RuleBasedBreakIterator(rules);
+                compiledRules = compiledRulesCache.getInstance(rules, null);
                 return this;
             } catch (RuntimeException rte) {
                 throw new IllegalArgumentException(
@@ -78,6 +168,33 @@ public Builder setRules(String rules) {
             }
         }
 
+        /**
+         * Sets the compiled rules for segmentation, as written by {@link
+         * RuleBasedSegmenter#writeCompiledRules(OutputStream)}. This is much faster than setting
+         * and compiling the rule string.
+         *
+         * <p>Compiled rules are not guaranteed to be compatible between different versions of ICU.
+         *
+         * @param compiledRules the stream to read the compiled rules from. It is read to its end,
+         *     but not closed.
+         * @throws IOException if there is an error reading the compiled rules, or if they are not
+         *     valid compiled rules for this version of ICU
+         * @draft ICU 79
+         */
+        public Builder setCompiledRules(InputStream compiledRules) throws IOException {
+            if (compiledRules == null) {
+                throw new IllegalArgumentException("compiled rules cannot be set to null.");
+            }
+            byte[] binary = compiledRules.readAllBytes();
+            try {
+                this.compiledRules = new CompiledRules(binary);
+            } catch (RuntimeException e) {
+                // For example, truncated data.
+                throw new IOException("The compiled rules are invalid.", e);
+            }
+            return this;
+        }
+
         /**
          * Builds the {@code Segmenter}
          *
@@ -85,10 +202,10 @@ public Builder setRules(String rules) {
          * @draft ICU 78
          */
         public Segmenter build() {
-            if (breakIter == null) {
-                throw new IllegalArgumentException("A rule string must be set.");
+            if (compiledRules == null) {
+                throw new IllegalArgumentException("Rules must be set.");
             } else {
-                return new RuleBasedSegmenter(breakIter);
+                return new RuleBasedSegmenter(compiledRules);
             }
         }
     }
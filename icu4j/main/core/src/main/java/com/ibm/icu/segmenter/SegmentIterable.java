@@ -4,7 +4,6 @@
 package com.ibm.icu.segmenter;
 
 import com.ibm.icu.segmenter.Segments.IterationDirection;
-import com.ibm.icu.text.BreakIterator;
 import java.util.Iterator;
 
 /**
@@ -12,17 +11,17 @@
  * the creation of a lazy {@code Stream}.
  */
 class SegmentIterable implements Iterable<Segment> {
-    private BreakIterator breakIter;
+    private final BreakIteratorPool breakIterPool;
     private final IterationDirection direction;
     private int startIdx;
     private final CharSequence source;
 
     SegmentIterable(
-            BreakIterator breakIter,
+            BreakIteratorPool breakIterPool,
             IterationDirection direction,
             int startIdx,
             CharSequence source) {
-        this.breakIter = breakIter;
+        this.breakIterPool = breakIterPool;
         this.direction = direction;
         this.startIdx = startIdx;
         this.source = source;
@@ -30,6 +29,6 @@ class SegmentIterable implements Iterable<Segment> {
 
     @Override
     public Iterator<Segment> iterator() {
-        return new SegmentIterator(breakIter, direction, startIdx, source);
+        return new SegmentIterator(breakIterPool, direction, startIdx, source);
     }
 }
@@ -6,8 +6,10 @@
 import com.ibm.icu.segmenter.Segments.IterationDirection;
 import com.ibm.icu.text.BreakIterator;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 class SegmentIterator implements Iterator<Segment> {
+    private final BreakIteratorPool breakIterPool;
     private BreakIterator breakIter;
     private final IterationDirection direction;
     private int start;
@@ -15,11 +17,12 @@ class SegmentIterator implements Iterator<Segment> {
     private final CharSequence source;
 
     SegmentIterator(
-            BreakIterator breakIter,
+            BreakIteratorPool breakIterPool,
             IterationDirection direction,
             int startIdx,
             CharSequence source) {
-        this.breakIter = breakIter;
+        this.breakIterPool = breakIterPool;
+        this.breakIter = breakIterPool.acquire(source);
         this.direction = direction;
         this.source = source;
 
@@ -55,6 +58,7 @@ class SegmentIterator implements Iterator<Segment> {
             }
             start = breakIter.previous();
         }
+        releaseIfDone();
     }
 
     @Override
@@ -68,6 +72,10 @@ public boolean hasNext() {
 
     @Override
     public Segment next() {
+        if (!hasNext()) {
+            // The BreakIterator has already been returned to the pool.
+            throw new NoSuchElementException();
+        }
         Segment result = new Segment(start, limit, source);
 
         if (direction == IterationDirection.FORWARDS) {
@@ -78,7 +86,16 @@ public Segment next() {
             limit = start;
             start = breakIter.previous();
         }
+        releaseIfDone();
 
         return result;
     }
+
+    /** Returns the BreakIterator to the pool once the iteration has reached its end. */
+    private void releaseIfDone() {
+        if (breakIter != null && !hasNext()) {
+            breakIterPool.release(breakIter);
+            breakIter = null;
+        }
+    }
 }
@@ -0,0 +1,121 @@
+// © 2026 and later: Unicode, Inc. and others.
+// License & terms of use: https://www.unicode.org/copyright.html
+
+package com.ibm.icu.segmenter;
+
+import com.ibm.icu.segmenter.Segments.IterationDirection;
+import com.ibm.icu.text.BreakIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@code Spliterator} of the segments in a forwards iteration, built on the {@link
+ * BoundarySpliterator} of their limits. It splits wherever the boundaries split, so that the
+ * segments of a large input can be processed in parallel.
+ */
+class SegmentSpliterator implements Spliterator<Segment> {
+
+    private final BreakIteratorPool breakIterPool;
+
+    private final CharSequence source;
+
+    private final BoundarySpliterator limits;
+
+    /**
+     * The start of the next segment, which is the boundary before the next limit. {@code
+     * BreakIterator.DONE} until the first segment is needed, because finding its start takes a
+     * {@code BreakIterator} from the pool.
+     */
+    private int start;
+
+    /** The index from which the segments start, for finding the start of the first one. */
+    private final int startIdx;
+
+    /**
+     * @param startIdx the first segment starts at this index if it is a boundary, or else at the
+     *     boundary before it
+     */
+    SegmentSpliterator(BreakIteratorPool breakIterPool, CharSequence source, int startIdx) {
+        this(
+                breakIterPool,
+                source,
+                new BoundarySpliterator(
+                        breakIterPool, source, IterationDirection.FORWARDS, startIdx),
+                BreakIterator.DONE,
+                startIdx);
+    }
+
+    private SegmentSpliterator(
+            BreakIteratorPool breakIterPool,
+            CharSequence source,
+            BoundarySpliterator limits,
+            int start,
+            int startIdx) {
+        this.breakIterPool = breakIterPool;
+        this.source = source;
+        this.limits = limits;
+        this.start = start;
+        this.startIdx = startIdx;
+    }
+
+    private void initStart() {
+        if (start == BreakIterator.DONE) {
+            BreakIterator breakIter = breakIterPool.acquire(source);
+            try {
+                start = breakIter.isBoundary(startIdx) ? startIdx : breakIter.previous();
+            } finally {
+                breakIterPool.release(breakIter);
+            }
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Segment> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        initStart();
+        return limits.tryAdvance(
+                (int limit) -> {
+                    action.accept(new Segment(start, limit, source));
+                    start = limit;
+                });
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Segment> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        initStart();
+        limits.forEachRemaining(
+                (int limit) -> {
+                    action.accept(new Segment(start, limit, source));
+                    start = limit;
+                });
+    }
+
+    @Override
+    public Spliterator<Segment> trySplit() {
+        BoundarySpliterator prefixLimits = (BoundarySpliterator) limits.trySplit();
+        if (prefixLimits == null) {
+            return null;
+        }
+        initStart();
+        SegmentSpliterator prefix =
+                new SegmentSpliterator(breakIterPool, source, prefixLimits, start, startIdx);
+        // The suffix starts where the prefix ends.
+        start = limits.after();
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return limits.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return limits.characteristics();
+    }
+}
@@ -3,7 +3,10 @@
 
 package com.ibm.icu.segmenter;
 
+import com.ibm.icu.impl.UTF8;
 import com.ibm.icu.text.BreakIterator;
+import java.nio.ByteBuffer;
+import java.util.List;
 
 /**
  * An interface that defines APIs for segmentation in terms of segments and boundaries, and enforces
@@ -40,4 +43,76 @@ public interface Segmenter {
      * @draft ICU 78
      */
     Segments segment(CharSequence s);
+
+    /**
+     * Segments each of the input sequences, and writes all of their boundaries into {@code result},
+     * replacing its previous contents. This is equivalent to calling {@link
+     * Segments#boundaryArray()} on {@code segment(text)} for each input, but it avoids the
+     * per-input overhead of those calls. Reusing {@code result} for subsequent batches also avoids
+     * allocating new arrays.
+     *
+     * @param texts the input sequences. They must not be modified during this call.
+     * @param result receives the boundaries of all of the input sequences, in input order
+     * @see BatchBoundaries
+     * @draft ICU 79
+     */
+    default void segmentAll(List<? extends CharSequence> texts, BatchBoundaries result) {
+        result.clear();
+        for (CharSequence text : texts) {
+            result.add(segment(text).boundaryArray());
+        }
+    }
+
+    /**
+     * Segments each of the input sequences, and returns all of their boundaries.
+     *
+     * @param texts the input sequences. They must not be modified during this call.
+     * @return the boundaries of all of the input sequences, in input order
+     * @see #segmentAll(List, BatchBoundaries)
+     * @draft ICU 79
+     */
+    default BatchBoundaries segmentAll(List<? extends CharSequence> texts) {
+        BatchBoundaries result = new BatchBoundaries();
+        segmentAll(texts, result);
+        return result;
+    }
+
+    /**
+     * Returns all segmentation boundaries of UTF-8 text, as byte offsets. This is equivalent to
+     * converting the text to UTF-16, calling {@link Segments#boundaryArray()} on {@code
+     * segment(text)}, and mapping the boundaries back to byte offsets.
+     *
+     * <p>The default implementation does just that. The rule-based implementations, {@link
+     * RuleBasedSegmenter} and {@link LocalizedSegmenter}, run their rules directly on the UTF-8
+     * bytes instead, which is faster.
+     *
+     * <p>Each ill-formed UTF-8 sequence is treated like U+FFFD, one per maximal subpart, as in the
+     * WHATWG Encoding Standard.
+     *
+     * @param src the UTF-8 text, from the buffer's position to its limit. The buffer's position and
+     *     limit are not modified.
+     * @return all boundaries in ascending order, as byte offsets from {@code src.position()},
+     *     starting with 0 and ending with {@code src.remaining()}
+     * @draft ICU 79
+     */
+    default int[] boundaryArrayUTF8(ByteBuffer src) {
+        int start = src.position();
+        int limit = src.limit();
+        // A UTF-8 sequence never has fewer bytes than its UTF-16 form has code units.
+        StringBuilder text = new StringBuilder(limit - start);
+        int[] byteOffsets = new int[limit - start + 1];
+        for (int i = start; i < limit; ) {
+            byteOffsets[text.length()] = i - start;
+            int next = UTF8.next(src, i, limit);
+            int c = UTF8.getCodePoint(next);
+            text.appendCodePoint(c < 0 ? 0xfffd : c);
+            i += UTF8.getLength(next);
+        }
+        byteOffsets[text.length()] = limit - start;
+        int[] boundaries = segment(text).boundaryArray();
+        for (int i = 0; i < boundaries.length; ++i) {
+            boundaries[i] = byteOffsets[boundaries[i]];
+        }
+        return boundaries;
+    }
 }
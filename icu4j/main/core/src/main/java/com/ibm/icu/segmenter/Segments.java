@@ -92,6 +92,9 @@ default Stream<Segment> segments() {
      * <p>{@code segmentsFrom} and {@link #segmentsBefore(int)} create a partitioning of the space
      * of all {@code Segment}s.
      *
+     * <p>The stream can be made {@linkplain Stream#parallel() parallel} to process the segments of
+     * a large input on multiple threads. It yields the same segments as the sequential stream.
+     *
      * @param i index in the input {@code CharSequence} to the {@code Segmenter}
      * @return a {@code Stream} of all {@code Segment}s at or after {@code i}
      * @draft ICU 78
@@ -139,9 +142,25 @@ default IntStream boundaries() {
         return boundariesAfter(-1);
     }
 
+    /**
+     * Returns all segmentation boundaries in an array, starting from the beginning and moving
+     * forwards. This is equivalent to {@code boundaries().toArray()}, but implementations can avoid
+     * the overhead of a {@code Stream} when all of the boundaries are needed at once.
+     *
+     * @return an array of all segmentation boundaries in ascending order, starting with 0 and
+     *     ending with the length of the input sequence
+     * @draft ICU 79
+     */
+    default int[] boundaryArray() {
+        return boundaries().toArray();
+    }
+
     /**
      * Returns all segmentation boundaries after the provided index. Iteration moves forwards.
      *
+     * <p>The stream can be made {@linkplain IntStream#parallel() parallel} to find the boundaries
+     * of a large input on multiple threads. It yields the same boundaries as the sequential stream.
+     *
      * @param i index in the input {@code CharSequence} to the {@code Segmenter}
      * @return An {@code IntStream} of all boundaries {@code b} such that {@code b > i}
      * @draft ICU 78
@@ -4,6 +4,7 @@
 package com.ibm.icu.segmenter;
 
 import com.ibm.icu.text.BreakIterator;
+import java.util.Arrays;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -12,33 +13,20 @@ class SegmentsImpl implements Segments {
 
     private CharSequence source;
 
-    private BreakIterator breakIterPrototype;
+    private BreakIteratorPool breakIterPool;
 
-    SegmentsImpl(BreakIterator breakIter, CharSequence source) {
+    SegmentsImpl(BreakIteratorPool breakIterPool, CharSequence source) {
         this.source = source;
 
-        // We are creating a clone of the Segmenter's prototype BreakIterator field so that this
-        // concrete Segments object can avoid sharing state with the other Segments object instances
-        // that get spawned from the Segmenter. This allows difference source CharSequences to be
-        // used
-        // in each Segments object.
-        //
-        // In turn, the cloned BreakIterator becomes a prototype to be stored in the Segments
-        // object,
-        // which then gets cloned and used in each of the Segments APIs' implementations. The second
-        // level of cloning that happens when the Segments object's local BreakIterator prototype
-        // gets cloned allows the iteration state to be separate whenever an Segments API is called.
-        // Otherwise, there is a chance that multiple API calls on the same Segments object might
-        // mutate the same position/index, if done concurrently.
-        breakIterPrototype = breakIter.clone();
-        // It's okay to perform .setText on the object that we want to clone later because we should
-        // then not have to call .setText on the clones.
-        breakIterPrototype.setText(source);
+        // Each of the Segments APIs borrows its own BreakIterator from the Segmenter's pool, set to
+        // this Segments object's source CharSequence. This keeps the iteration state separate
+        // whenever a Segments API is called, even concurrently on the same Segments object, without
+        // cloning the Segmenter's prototype BreakIterator for every call.
+        this.breakIterPool = breakIterPool;
     }
 
     @Override
     public Segment segmentAt(int i) {
-        BreakIterator breakIter = breakIterPrototype.clone();
         int start;
         int limit;
 
@@ -46,17 +34,21 @@ public Segment segmentAt(int i) {
             throw new IndexOutOfBoundsException(i);
         }
 
-        boolean isBoundary = breakIter.isBoundary(i);
-
-        if (isBoundary) {
-            start = i;
-            limit = breakIter.next();
-        } else {
-            // BreakIterator.isBoundary(i) will advance forwards to the next boundary if the
-            // argument
-            // is not a boundary.
-            limit = breakIter.current();
-            start = breakIter.previous();
+        BreakIterator breakIter = breakIterPool.acquire(source);
+        try {
+            boolean isBoundary = breakIter.isBoundary(i);
+
+            if (isBoundary) {
+                start = i;
+                limit = breakIter.next();
+            } else {
+                // BreakIterator.isBoundary(i) will advance forwards to the next boundary if the
+                // argument is not a boundary.
+                limit = breakIter.current();
+                start = breakIter.previous();
+            }
+        } finally {
+            breakIterPool.release(breakIter);
         }
 
         assert start != BreakIterator.DONE && limit != BreakIterator.DONE;
@@ -66,47 +58,65 @@ public Segment segmentAt(int i) {
 
     @Override
     public boolean isBoundary(int i) {
-        return breakIterPrototype.clone().isBoundary(i);
+        BreakIterator breakIter = breakIterPool.acquire(source);
+        try {
+            return breakIter.isBoundary(i);
+        } finally {
+            breakIterPool.release(breakIter);
+        }
     }
 
     @Override
     public Stream<Segment> segmentsFrom(int i) {
-        BreakIterator breakIter = breakIterPrototype.clone();
-
-        // create a Stream from a Spliterator of an Iterable so that the Stream can be lazy, not
-        // eager
-        SegmentIterable iterable =
-                new SegmentIterable(breakIter, IterationDirection.FORWARDS, i, source);
-        return StreamSupport.stream(iterable.spliterator(), false);
+        // The segments are built on the spliterator of their limits, the boundaries after i, which
+        // can be split for parallel streams. Like it, the segment spliterator only borrows a
+        // BreakIterator once the stream is used.
+        return StreamSupport.stream(new SegmentSpliterator(breakIterPool, source, i), false);
     }
 
     @Override
     public Stream<Segment> segmentsBefore(int i) {
-        BreakIterator breakIter = breakIterPrototype.clone();
-
         // create a Stream from a Spliterator of an Iterable so that the Stream can be lazy, not
-        // eager
+        // eager; the Spliterator and its BreakIterator are only created once the Stream is used
         SegmentIterable iterable =
-                new SegmentIterable(breakIter, IterationDirection.BACKWARDS, i, source);
-        return StreamSupport.stream(iterable.spliterator(), false);
+                new SegmentIterable(breakIterPool, IterationDirection.BACKWARDS, i, source);
+        return StreamSupport.stream(iterable::spliterator, 0, false);
     }
 
     @Override
     public IntStream boundariesAfter(int i) {
-        BreakIterator breakIter = breakIterPrototype.clone();
-
         // create a Stream from a Spliterator of an Iterable so that the Stream can be lazy, not
         // eager
         return StreamSupport.intStream(
-                new BoundarySpliterator(breakIter, source, IterationDirection.FORWARDS, i), false);
+                new BoundarySpliterator(breakIterPool, source, IterationDirection.FORWARDS, i),
+                false);
     }
 
     @Override
     public IntStream boundariesBackFrom(int i) {
-        BreakIterator breakIter = breakIterPrototype.clone();
         // create a Stream from a Spliterator of an Iterable so that the Stream can be lazy, not
         // eager
         return StreamSupport.intStream(
-                new BoundarySpliterator(breakIter, source, IterationDirection.BACKWARDS, i), false);
+                new BoundarySpliterator(breakIterPool, source, IterationDirection.BACKWARDS, i),
+                false);
+    }
+
+    @Override
+    public int[] boundaryArray() {
+        BreakIterator breakIter = breakIterPool.acquire(source);
+        // Start with a capacity for typical word segments, and grow as needed.
+        int[] boundaries = new int[source.length() / 4 + 2];
+        int count = 0;
+        try {
+            for (int b = breakIter.first(); b != BreakIterator.DONE; b = breakIter.next()) {
+                if (count == boundaries.length) {
+                    boundaries = Arrays.copyOf(boundaries, 2 * count);
+                }
+                boundaries[count++] = b;
+            }
+        } finally {
+            breakIterPool.release(breakIter);
+        }
+        return count == boundaries.length ? boundaries : Arrays.copyOf(boundaries, count);
     }
 }
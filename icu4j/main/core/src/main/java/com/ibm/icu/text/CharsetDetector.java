@@ -11,16 +11,20 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 
 /**
  * <code>CharsetDetector</code> provides a facility for detecting the charset or encoding of
- * character data in an unknown format. The input data can either be from an input stream or an
- * array of bytes. The result of the detection operation is a list of possibly matching charsets,
- * or, for simple use, you can just ask for a Java Reader that will will work over the input data.
+ * character data in an unknown format. The input data can be from an input stream, an array of
+ * bytes, a byte buffer or a channel. The result of the detection operation is a list of possibly
+ * matching charsets, or, for simple use, you can just ask for a Java Reader that will will work
+ * over the input data.
  *
  * <p>Character set detection is at best an imprecise operation. The detection process will attempt
  * to identify the charset that best matches the characteristics of the byte data, but the process
@@ -82,6 +86,8 @@ public CharsetDetector setDeclaredEncoding(String encoding) {
     public CharsetDetector setText(byte[] in) {
         fRawInput = in;
         fRawLength = in.length;
+        fInputStream = null;
+        fTextSampleSize = fSampleSize;
 
         return this;
     }
@@ -102,12 +108,11 @@ public CharsetDetector setText(byte[] in) {
      */
     public CharsetDetector setText(InputStream in) throws IOException {
         fInputStream = in;
-        fInputStream.mark(kBufSize);
-        fRawInput = new byte[kBufSize]; // Always make a new buffer because the
-        //   previous one may have come from the caller,
-        //   in which case we can't touch it.
+        fTextSampleSize = fSampleSize;
+        fInputStream.mark(fSampleSize);
+        fRawInput = getSampleBuffer();
         fRawLength = 0;
-        int remainingLength = kBufSize;
+        int remainingLength = fSampleSize;
         while (remainingLength > 0) {
             // read() may give data in smallish chunks, esp. for remote sources.  Hence, this loop.
             int bytesRead = fInputStream.read(fRawInput, fRawLength, remainingLength);
@@ -122,12 +127,196 @@ public CharsetDetector setText(InputStream in) throws IOException {
         return this;
     }
 
+    /**
+     * {@icu} Set the input text (byte) data whose charset is to be detected, from the position to
+     * the limit of a buffer. The buffer may be a direct or memory-mapped buffer; the text is
+     * inspected in place, and only the sampled bytes are copied (see {@link #setSampleSize(int)}
+     * and {@link #setSampleRegions(int)}). The position of the buffer is not changed.
+     *
+     * <p>The contents of the buffer must not be changed while the detector or its matches are in
+     * use. The strings and readers of the matches decode the whole text from the buffer.
+     *
+     * @param in the input text of unknown encoding
+     * @return This CharsetDetector
+     * @draft ICU 79
+     */
+    public CharsetDetector setText(ByteBuffer in) {
+        int start = in.position();
+        int length = in.remaining();
+        ByteBuffer src = in.duplicate();
+        int regions = getRegionCount(length);
+        int regionLength = regions == 1 ? Math.min(length, fSampleSize) : fSampleSize / regions;
+
+        fRawInput = getSampleBuffer();
+        fRawLength = 0;
+        for (int i = 0; i < regions; i++) {
+            src.position(start + (int) getRegionOffset(i, regions, regionLength, length));
+            src.get(fRawInput, fRawLength, regionLength);
+            fRawLength += trimRegion(fRawLength, regionLength, i, regions);
+        }
+        fInputStream = new ByteBufferInputStream(in.duplicate());
+        fTextSampleSize = fSampleSize;
+
+        return this;
+    }
+
+    /**
+     * {@icu} Set the input text (byte) data whose charset is to be detected, from the current
+     * position to the end of a channel, such as a {@link java.nio.channels.FileChannel}. Only the
+     * sampled bytes are read (see {@link #setSampleSize(int)} and {@link #setSampleRegions(int)}),
+     * and the channel is then returned to its original position.
+     *
+     * <p>The readers and strings of the matches read the text from the channel, starting at the
+     * original position. Like for an InputStream, a reader can be created for only one match.
+     *
+     * @param in the input text of unknown encoding
+     * @return This CharsetDetector
+     * @throws IOException if the channel cannot be read or positioned
+     * @draft ICU 79
+     */
+    public CharsetDetector setText(SeekableByteChannel in) throws IOException {
+        long start = in.position();
+        long length = Math.max(in.size() - start, 0);
+        int regions = getRegionCount(length);
+        int regionLength =
+                regions == 1 ? (int) Math.min(length, fSampleSize) : fSampleSize / regions;
+
+        fRawInput = getSampleBuffer();
+        fRawLength = 0;
+        for (int i = 0; i < regions; i++) {
+            in.position(start + getRegionOffset(i, regions, regionLength, length));
+            ByteBuffer dest = ByteBuffer.wrap(fRawInput, fRawLength, regionLength);
+            while (dest.hasRemaining() && in.read(dest) >= 0) {}
+            fRawLength += trimRegion(fRawLength, dest.position() - fRawLength, i, regions);
+        }
+        in.position(start);
+        fInputStream = new ChannelInputStream(in, start);
+        fTextSampleSize = fSampleSize;
+
+        return this;
+    }
+
+    /**
+     * {@icu} Set the maximum number of bytes of the input text that are examined. Detection is more
+     * accurate with more text, and faster with less. The default is 8000 bytes.
+     *
+     * <p>An InputStream, ByteBuffer or channel is sampled when it is longer than this; an input
+     * byte array is not, although the statistical recognizers only examine this many bytes of it.
+     * The sample size applies to the next call to setText().
+     *
+     * @param sampleSize the number of bytes, which must be positive
+     * @return This CharsetDetector
+     * @throws IllegalArgumentException if sampleSize is not positive
+     * @draft ICU 79
+     */
+    public CharsetDetector setSampleSize(int sampleSize) {
+        if (sampleSize <= 0) {
+            throw new IllegalArgumentException("sampleSize must be positive: " + sampleSize);
+        }
+        fSampleSize = sampleSize;
+        return this;
+    }
+
+    /**
+     * {@icu} Set the number of regions to sample from a ByteBuffer or channel that is longer than
+     * the sample size. The regions are spread evenly from the start to the end of the input, and
+     * share the sample size between them. This is more representative of a very large file, such as
+     * one that mixes markup or ASCII headers with text in other places. The default is 1, which
+     * samples only the start of the input, like for an InputStream.
+     *
+     * <p>The first region always starts at the start of the input, so that a byte order mark is
+     * seen. The number of regions applies to the next call to setText().
+     *
+     * @param regions the number of regions, which must be positive
+     * @return This CharsetDetector
+     * @throws IllegalArgumentException if regions is not positive
+     * @draft ICU 79
+     */
+    public CharsetDetector setSampleRegions(int regions) {
+        if (regions <= 0) {
+            throw new IllegalArgumentException("regions must be positive: " + regions);
+        }
+        fSampleRegions = regions;
+        return this;
+    }
+
+    /*
+     *  getSampleBuffer - return the buffer for a sample of the input. It is kept from one input to
+     *                    the next, unless the sample size changes.
+     */
+    private byte[] getSampleBuffer() {
+        if (fSampleBuffer == null || fSampleBuffer.length != fSampleSize) {
+            fSampleBuffer = new byte[fSampleSize];
+        }
+        return fSampleBuffer;
+    }
+
+    /*
+     *  getRegionCount - the number of regions to sample from an input of the given length.
+     *                   Every region is at least 64 bytes long.
+     */
+    private int getRegionCount(long length) {
+        if (length <= fSampleSize) {
+            return 1;
+        }
+        return Math.max(Math.min(fSampleRegions, fSampleSize / 64), 1);
+    }
+
+    /*
+     *  getRegionOffset - the offset of a region in the input. The regions are spread evenly, and
+     *                    start at multiples of 4, so that they do not split UTF-16 or UTF-32
+     *                    code units.
+     */
+    private static long getRegionOffset(int i, int regions, int regionLength, long length) {
+        if (i == 0) {
+            return 0;
+        }
+        return ((length - regionLength) * i / (regions - 1)) & ~3L;
+    }
+
+    /*
+     *  trimRegion - trim a region that was read into the sample at offset start, so that it
+     *               does not begin or end in the middle of a UTF-8 sequence, which would look
+     *               like malformed UTF-8 where it meets the next region. The start of the first
+     *               region and the end of the last one are the same as for a single region.
+     *               Returns the new length of the region.
+     */
+    private int trimRegion(int start, int length, int i, int regions) {
+        byte[] sample = fRawInput;
+        int begin = start;
+        int end = start + length;
+        if (i > 0) {
+            while (begin < end && begin - start < 3 && (sample[begin] & 0xc0) == 0x80) {
+                begin++;
+            }
+        }
+        if (i < regions - 1) {
+            int lead = end;
+            while (lead > begin && end - lead < 3 && (sample[lead - 1] & 0xc0) == 0x80) {
+                lead--;
+            }
+            if (lead > begin) {
+                int b = sample[lead - 1] & 0xff;
+                int sequenceLength = b >= 0xf0 ? 4 : b >= 0xe0 ? 3 : b >= 0xc0 ? 2 : 1;
+                if (lead - 1 + sequenceLength > end) {
+                    end = lead - 1;
+                }
+            }
+        }
+        System.arraycopy(sample, begin, sample, start, end - begin);
+        return end - begin;
+    }
+
     /**
      * Return the charset that best matches the supplied input data.
      *
      * <p>Note though, that because the detection only looks at the start of the input data, there
      * is a possibility that the returned charset will fail to handle the full set of input data.
      *
+     * <p>A conclusive match for one of the Unicode charsets, such as from a byte order mark or from
+     * UTF-8 text with several multi-byte sequences and no malformed ones, is returned without
+     * checking the input against the legacy charsets.
+     *
      * <p>Raise an exception if
      *
      * <ul>
@@ -140,11 +329,8 @@ public CharsetDetector setText(InputStream in) throws IOException {
      * @stable ICU 3.4
      */
     public CharsetMatch detect() {
-        //   TODO:  A better implementation would be to copy the detect loop from
-        //          detectAll(), and cut it short as soon as a match with a high confidence
-        //          is found.  This is something to be done later, after things are otherwise
-        //          working.
-        CharsetMatch matches[] = detectAll();
+        // Stop as soon as one of the Unicode charsets is a conclusive match.
+        CharsetMatch matches[] = detectAll(true);
 
         if (matches == null || matches.length == 0) {
             return null;
@@ -168,6 +354,15 @@ public CharsetMatch detect() {
      * @stable ICU 3.4
      */
     public CharsetMatch[] detectAll() {
+        return detectAll(false);
+    }
+
+    /*
+     *  detectAll - run the recognizers over the input. If stopIfConclusive is true, and one of the
+     *              Unicode recognizers finds a match with confidence 100, return only that match
+     *              without running the others.
+     */
+    private CharsetMatch[] detectAll(boolean stopIfConclusive) {
         ArrayList<CharsetMatch> matches = new ArrayList<CharsetMatch>();
 
         MungeInput(); // Strip html markup, collect byte stats.
@@ -183,6 +378,12 @@ public CharsetMatch[] detectAll() {
             if (active) {
                 CharsetMatch m = rcinfo.recognizer.match(this);
                 if (m != null) {
+                    if (stopIfConclusive
+                            && m.getConfidence() == 100
+                            && (rcinfo.recognizer instanceof CharsetRecog_UTF8
+                                    || rcinfo.recognizer instanceof CharsetRecog_Unicode)) {
+                        return new CharsetMatch[] {m};
+                    }
                     matches.add(m);
                 }
             }
@@ -329,6 +530,10 @@ private void MungeInput() {
         //     discard everything within < brackets >
         //     Count how many total '<' and illegal (nested) '<' occur, so we can make some
         //     guess as to whether the input was actually marked up at all.
+        if (fInputBytes.length != fTextSampleSize) {
+            fInputBytes = new byte[fTextSampleSize];
+        }
+
         if (fStripTags) {
             for (srci = 0; srci < fRawLength && dsti < fInputBytes.length; srci++) {
                 b = fRawInput[srci];
@@ -360,8 +565,8 @@ private void MungeInput() {
         if (openTags < 5 || openTags / 5 < badTags || (fInputLen < 100 && fRawLength > 600)) {
             int limit = fRawLength;
 
-            if (limit > kBufSize) {
-                limit = kBufSize;
+            if (limit > fInputBytes.length) {
+                limit = fInputBytes.length;
             }
 
             for (srci = 0; srci < limit; srci++) {
@@ -374,7 +579,7 @@ private void MungeInput() {
         // Tally up the byte occurrence statistics.
         //   These are available for use by the various detectors.
         //
-        Arrays.fill(fByteStats, (short) 0);
+        Arrays.fill(fByteStats, 0);
         for (srci = 0; srci < fInputLen; srci++) {
             int val = fInputBytes[srci] & 0x00ff;
             fByteStats[val]++;
@@ -387,6 +592,18 @@ private void MungeInput() {
                 break;
             }
         }
+
+        //
+        // Check whether the raw input is all ASCII. The UTF-8 and multi-byte recognizers look at
+        //   the raw input, and can skip their scans if it is.
+        //
+        int highBits = 0;
+        for (srci = 0; srci < fRawLength; srci++) {
+            highBits |= fRawInput[srci];
+        }
+        fRawIsASCII = highBits >= 0;
+
+        fNGrams.clear();
     }
 
     /*
@@ -399,13 +616,19 @@ private void MungeInput() {
 
     int fInputLen; // Length of the byte data in fInputBytes.
 
-    short fByteStats[] = // byte frequency statistics for the input text.
-            new short[256]; //   Value is percent, not absolute.
+    int fByteStats[] = // byte frequency statistics for the input text.
+            new int[256]; //   Value is percent, not absolute.
     //   Value is rounded up, so zero really means zero occurrences.
 
     boolean fC1Bytes = // True if any bytes in the range 0x80 - 0x9F are in the input;
             false;
 
+    boolean fRawIsASCII; // True if all of the bytes in fRawInput are 7-bit ASCII.
+
+    // The n-grams of the input text, for each byte map of the single-byte recognizers.
+    //   The languages that share a byte map share its n-grams. See CharsetRecog_sbcs.
+    IdentityHashMap<byte[], int[]> fNGrams = new IdentityHashMap<byte[], int[]>();
+
     String fDeclaredEncoding;
 
     byte[] fRawInput; // Original, untouched input bytes.
@@ -423,11 +646,107 @@ private void MungeInput() {
     private boolean fStripTags = // If true, setText() will strip tags from input text.
             false;
 
+    private int fSampleSize = kBufSize; // The maximum number of bytes to examine.
+
+    private int fTextSampleSize = kBufSize; // The sample size when the current input was set,
+    //   which applies to it even if setSampleSize() is called before detection.
+
+    private int fSampleRegions = 1; // The number of regions to sample from a large input.
+
+    private byte[] fSampleBuffer; // The sample of an InputStream, ByteBuffer or channel,
+    //   which is reused for the next one.
+
     private boolean[] fEnabledRecognizers; // If not null, active set of charset recognizers had
 
     // been changed from the default. The array index is
     // corresponding to ALL_RECOGNIZER. See setDetectableCharset().
 
+    /*
+     * An InputStream over the text of a ByteBuffer, for the readers and strings of the matches.
+     *   reset() always returns to the start of the text.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+        private final int start;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+            start = buffer.position();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            len = Math.min(len, buffer.remaining());
+            buffer.get(b, off, len);
+            return len;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(int readlimit) {}
+
+        @Override
+        public void reset() {
+            buffer.position(start);
+        }
+    }
+
+    /*
+     * An InputStream over the text of a channel, for the readers and strings of the matches.
+     *   reset() always returns to the start of the text.
+     */
+    private static class ChannelInputStream extends InputStream {
+        private final SeekableByteChannel channel;
+        private final long start;
+
+        ChannelInputStream(SeekableByteChannel channel, long start) {
+            this.channel = channel;
+            this.start = start;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) > 0 ? b[0] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            return channel.read(ByteBuffer.wrap(b, off, len));
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(int readlimit) {}
+
+        @Override
+        public void reset() throws IOException {
+            channel.position(start);
+        }
+    }
+
     private static class CSRecognizerInfo {
         CharsetRecognizer recognizer;
         boolean isDefaultEnabled;
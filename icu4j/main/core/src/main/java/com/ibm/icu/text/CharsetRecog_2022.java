@@ -90,6 +90,21 @@ int match(byte[] text, int textLen, byte[][] escapeSequences) {
         return quality;
     }
 
+    /**
+     * Matching function shared among the 2022 detectors, which skips the scan if there is no escape
+     * sequence in the input.
+     *
+     * @param det the CharsetDetector, which contains the input text and its byte statistics
+     * @param escapeSequences the byte escape sequences to test for.
+     * @return match quality, in the range of 0-100.
+     */
+    int match(CharsetDetector det, byte[][] escapeSequences) {
+        if (det.fByteStats[0x1b] == 0) {
+            return 0;
+        }
+        return match(det.fInputBytes, det.fInputLen, escapeSequences);
+    }
+
     static class CharsetRecog_2022JP extends CharsetRecog_2022 {
         private byte[][] escapeSequences = {
             {0x1b, 0x24, 0x28, 0x43}, // KS X 1001:1992
@@ -113,7 +128,7 @@ String getName() {
 
         @Override
         CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det.fInputBytes, det.fInputLen, escapeSequences);
+            int confidence = match(det, escapeSequences);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -128,7 +143,7 @@ String getName() {
 
         @Override
         CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det.fInputBytes, det.fInputLen, escapeSequences);
+            int confidence = match(det, escapeSequences);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -155,7 +170,7 @@ String getName() {
 
         @Override
         CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det.fInputBytes, det.fInputLen, escapeSequences);
+            int confidence = match(det, escapeSequences);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -36,8 +36,9 @@ CharsetMatch match(CharsetDetector det) {
             hasBOM = true;
         }
 
-        // Scan for multi-byte sequences
-        for (i = 0; i < det.fRawLength; i++) {
+        // Scan for multi-byte sequences, unless the input is all ASCII.
+        int length = det.fRawIsASCII ? 0 : det.fRawLength;
+        for (i = 0; i < length; i++) {
             int b = input[i];
             if ((b & 0x80) == 0) {
                 continue; // ASCII
@@ -58,7 +59,7 @@ CharsetMatch match(CharsetDetector det) {
             // Verify that we've got the right number of trail bytes in the sequence
             for (; ; ) {
                 i++;
-                if (i >= det.fRawLength) {
+                if (i >= length) {
                     break;
                 }
                 b = input[i];
@@ -62,7 +62,7 @@ CharsetMatch match(CharsetDetector det) {
             byte[] input = det.fRawInput;
             int confidence = 10;
 
-            int bytesToCheck = Math.min(input.length, 30);
+            int bytesToCheck = Math.min(det.fRawLength, 30);
             for (int charIndex = 0; charIndex < bytesToCheck - 1; charIndex += 2) {
                 int codeUnit = codeUnit16FromBytes(input[charIndex], input[charIndex + 1]);
                 if (charIndex == 0 && codeUnit == 0xFEFF) {
@@ -95,7 +95,7 @@ CharsetMatch match(CharsetDetector det) {
             byte[] input = det.fRawInput;
             int confidence = 10;
 
-            int bytesToCheck = Math.min(input.length, 30);
+            int bytesToCheck = Math.min(det.fRawLength, 30);
             for (int charIndex = 0; charIndex < bytesToCheck - 1; charIndex += 2) {
                 int codeUnit = codeUnit16FromBytes(input[charIndex + 1], input[charIndex]);
                 if (charIndex == 0 && codeUnit == 0xFEFF) {
@@ -144,6 +144,10 @@ CharsetMatch match(CharsetDetector det) {
 
                 if (ch < 0 || ch >= 0x10FFFF || (ch >= 0xD800 && ch <= 0xDFFF)) {
                     numInvalid += 1;
+                    // Give up once even all-valid remaining input could not make a match.
+                    if (numValid + (limit - i) / 4 - 1 <= numInvalid * 10) {
+                        return null;
+                    }
                 } else {
                     numValid += 1;
                 }
@@ -52,28 +52,33 @@ int match(CharsetDetector det, int[] commonChars) {
 
         detectBlock:
         {
-            for (iter.reset(); nextChar(iter, det); ) {
-                totalCharCount++;
-                if (iter.error) {
-                    badCharCount++;
-                } else {
-                    long cv = iter.charValue & 0xFFFFFFFFL;
-
-                    if (cv <= 0xff) {
-                        singleByteCharCount++;
+            if (det.fRawIsASCII) {
+                // All of the characters are single bytes in every supported charset.
+                singleByteCharCount = totalCharCount = det.fRawLength;
+            } else {
+                for (iter.reset(); nextChar(iter, det); ) {
+                    totalCharCount++;
+                    if (iter.error) {
+                        badCharCount++;
                     } else {
-                        doubleByteCharCount++;
-                        if (commonChars != null) {
-                            // NOTE: This assumes that there are no 4-byte common chars.
-                            if (Arrays.binarySearch(commonChars, (int) cv) >= 0) {
-                                commonCharCount++;
+                        long cv = iter.charValue & 0xFFFFFFFFL;
+
+                        if (cv <= 0xff) {
+                            singleByteCharCount++;
+                        } else {
+                            doubleByteCharCount++;
+                            if (commonChars != null) {
+                                // NOTE: This assumes that there are no 4-byte common chars.
+                                if (Arrays.binarySearch(commonChars, (int) cv) >= 0) {
+                                    commonCharCount++;
+                                }
                             }
                         }
                     }
-                }
-                if (badCharCount >= 2 && badCharCount * 5 >= doubleByteCharCount) {
-                    // Bail out early if the byte data is not matching the encoding scheme.
-                    break detectBlock;
+                    if (badCharCount >= 2 && badCharCount * 5 >= doubleByteCharCount) {
+                        // Bail out early if the byte data is not matching the encoding scheme.
+                        break detectBlock;
+                    }
                 }
             }
 
@@ -10,6 +10,8 @@
 
 package com.ibm.icu.text;
 
+import java.util.Arrays;
+
 /**
  * This class recognizes single-byte encodings. Because the encoding scheme is so simple, language
  * statistics are used to do the matching.
@@ -22,75 +24,130 @@ abstract class CharsetRecog_sbcs extends CharsetRecognizer {
     @Override
     abstract String getName();
 
-    static class NGramParser {
-        //        private static final int N_GRAM_SIZE = 3;
-        private static final int N_GRAM_MASK = 0xFFFFFF;
-
-        protected int byteIndex = 0;
-        private int ngram = 0;
-
-        private int[] ngramList;
-        protected byte[] byteMap;
+    /*
+     * The n-gram lists of one or more languages, in an open-addressing hash table that maps each
+     * n-gram to the set of lists that contain it. The table is at most a quarter full, so a lookup
+     * usually takes a single probe, and it answers for all of the lists at once.
+     */
+    static class NGramTable {
+        // Fibonacci hashing multiplier, floor(2^32 / golden ratio).
+        private static final int HASH_MULTIPLIER = 0x9E3779B9;
 
-        private int ngramCount;
-        private int hitCount;
+        /*
+         * Each entry has the n-gram in its low 32 bits, and a bit set of the lists that contain
+         * it in its high 32 bits. An empty slot is 0, which also looks up correctly as an n-gram
+         * that is in none of the lists.
+         */
+        private final long[] entries;
+        private final int shift;
+        private final int listCount;
 
-        protected byte spaceChar;
+        NGramTable(int[]... ngramLists) {
+            if (ngramLists.length > 32) {
+                throw new IllegalArgumentException("Too many n-gram lists");
+            }
+            int total = 0;
+            for (int[] ngramList : ngramLists) {
+                total += ngramList.length;
+            }
+            int capacity = Integer.highestOneBit(Math.max(total, 1) * 4 - 1) << 1;
+            entries = new long[capacity];
+            shift = Integer.numberOfLeadingZeros(capacity) + 1;
+            listCount = ngramLists.length;
+
+            for (int list = 0; list < ngramLists.length; list++) {
+                for (int ngram : ngramLists[list]) {
+                    int index = find(ngram);
+                    entries[index] |= (1L << (32 + list)) | (ngram & 0xFFFFFFFFL);
+                }
+            }
+        }
 
-        public NGramParser(int[] theNgramList, byte[] theByteMap) {
-            ngramList = theNgramList;
-            byteMap = theByteMap;
+        NGramTable(NGramsPlusLang[] langs) {
+            this(getNGramLists(langs));
+        }
 
-            ngram = 0;
+        private static int[][] getNGramLists(NGramsPlusLang[] langs) {
+            int[][] ngramLists = new int[langs.length][];
+            for (int i = 0; i < langs.length; i++) {
+                ngramLists[i] = langs[i].fNGrams;
+            }
+            return ngramLists;
+        }
 
-            ngramCount = hitCount = 0;
+        /*
+         * Return the index of the slot for the n-gram, or of the empty slot where it would go.
+         */
+        private int find(int ngram) {
+            int mask = entries.length - 1;
+            int index = (ngram * HASH_MULTIPLIER) >>> shift;
+            long entry;
+            while ((entry = entries[index]) != 0 && (int) entry != ngram) {
+                index = (index + 1) & mask;
+            }
+            return index;
         }
 
         /*
-         * Binary search for value in table, which must have exactly 64 entries.
+         * Return the bit set of the lists that contain the n-gram.
          */
-        private static int search(int[] table, int value) {
-            int index = 0;
+        int lookup(int ngram) {
+            return (int) (entries[find(ngram)] >>> 32);
+        }
 
-            if (table[index + 32] <= value) {
-                index += 32;
+        /*
+         * Look up all of the n-grams of the input, and return how many of them each list
+         * contains.
+         */
+        int[] countHits(int[] inputNGrams) {
+            int[] hitCounts = new int[listCount];
+            if (listCount == 1) {
+                int hitCount = 0;
+                for (int ngram : inputNGrams) {
+                    if (lookup(ngram) != 0) {
+                        hitCount += 1;
+                    }
+                }
+                hitCounts[0] = hitCount;
+                return hitCounts;
             }
-
-            if (table[index + 16] <= value) {
-                index += 16;
+            for (int ngram : inputNGrams) {
+                for (int lists = lookup(ngram); lists != 0; lists &= lists - 1) {
+                    hitCounts[Integer.numberOfTrailingZeros(lists)] += 1;
+                }
             }
+            return hitCounts;
+        }
+    }
 
-            if (table[index + 8] <= value) {
-                index += 8;
-            }
+    static class NGramParser {
+        //        private static final int N_GRAM_SIZE = 3;
+        private static final int N_GRAM_MASK = 0xFFFFFF;
 
-            if (table[index + 4] <= value) {
-                index += 4;
-            }
+        protected int byteIndex = 0;
+        private int ngram = 0;
 
-            if (table[index + 2] <= value) {
-                index += 2;
-            }
+        private NGramTable ngramTable;
+        protected byte[] byteMap;
 
-            if (table[index + 1] <= value) {
-                index += 1;
-            }
+        private int ngramCount;
+        private int hitCount;
 
-            if (table[index] > value) {
-                index -= 1;
-            }
+        protected byte spaceChar;
 
-            if (index < 0 || table[index] != value) {
-                return -1;
-            }
+        public NGramParser(NGramTable theNgramTable, byte[] theByteMap) {
+            ngramTable = theNgramTable;
+            byteMap = theByteMap;
 
-            return index;
+            ngram = 0;
+
+            ngramCount = hitCount = 0;
         }
 
         private void lookup(int thisNgram) {
             ngramCount += 1;
 
-            if (search(ngramList, thisNgram) >= 0) {
+            if (ngramTable.lookup(thisNgram) != 0) {
                 hitCount += 1;
             }
         }
@@ -139,6 +196,41 @@ public int parse(CharsetDetector det, byte spaceCh) {
             // TODO: Is this OK? The buffer could have ended in the middle of a word...
             addByte(spaceChar);
 
+            return confidence();
+        }
+
+        /*
+         * Collect the n-grams of the input with a byte map, in the order in which parse() looks
+         * them up.
+         */
+        static int[] collectNGrams(CharsetDetector det, byte[] byteMap, byte spaceChar) {
+            int[] ngrams = new int[det.fInputLen + 1];
+            int count = 0;
+            int ngram = 0;
+            boolean ignoreSpace = false;
+
+            for (int i = 0; i < det.fInputLen; i++) {
+                byte mb = byteMap[det.fInputBytes[i] & 0xFF];
+
+                if (mb != 0) {
+                    if (!(mb == spaceChar && ignoreSpace)) {
+                        ngram = ((ngram << 8) + (mb & 0xFF)) & N_GRAM_MASK;
+                        ngrams[count++] = ngram;
+                    }
+
+                    ignoreSpace = (mb == spaceChar);
+                }
+            }
+            ngrams[count++] = ((ngram << 8) + (spaceChar & 0xFF)) & N_GRAM_MASK;
+
+            return count == ngrams.length ? ngrams : Arrays.copyOf(ngrams, count);
+        }
+
+        private int confidence() {
+            return confidence(hitCount, ngramCount);
+        }
+
+        static int confidence(int hitCount, int ngramCount) {
             double rawPercent = (double) hitCount / (double) ngramCount;
 
             //                if (rawPercent <= 2.0) {
@@ -418,8 +510,8 @@ static class NGramParser_IBM420 extends NGramParser {
             (byte) 0xFF,
         };
 
-        public NGramParser_IBM420(int[] theNgramList, byte[] theByteMap) {
-            super(theNgramList, theByteMap);
+        public NGramParser_IBM420(NGramTable theNgramTable, byte[] theByteMap) {
+            super(theNgramTable, theByteMap);
         }
 
         private byte isLamAlef(byte b) {
@@ -486,16 +578,35 @@ protected void parseCharacters(CharsetDetector det) {
         }
     }
 
-    int match(CharsetDetector det, int[] ngrams, byte[] byteMap) {
+    int match(CharsetDetector det, NGramTable ngrams, byte[] byteMap) {
         return match(det, ngrams, byteMap, (byte) 0x20);
     }
 
-    int match(CharsetDetector det, int[] ngrams, byte[] byteMap, byte spaceChar) {
-        NGramParser parser = new NGramParser(ngrams, byteMap);
-        return parser.parse(det, spaceChar);
+    int match(CharsetDetector det, NGramTable ngrams, byte[] byteMap, byte spaceChar) {
+        return matchAll(det, ngrams, byteMap, spaceChar)[0];
     }
 
-    int matchIBM420(CharsetDetector det, int[] ngrams, byte[] byteMap, byte spaceChar) {
+    /*
+     * Return the confidence for each of the n-gram lists in the table.
+     */
+    int[] matchAll(CharsetDetector det, NGramTable ngrams, byte[] byteMap, byte spaceChar) {
+        // The n-grams of the input only depend on the byte map, so they are collected once and
+        // shared by all of the languages and charsets that use it. (Each byte map is only ever
+        // used with one space character.)
+        int[] inputNGrams = det.fNGrams.get(byteMap);
+        if (inputNGrams == null) {
+            inputNGrams = NGramParser.collectNGrams(det, byteMap, spaceChar);
+            det.fNGrams.put(byteMap, inputNGrams);
+        }
+        int[] hitCounts = ngrams.countHits(inputNGrams);
+        int[] confidences = new int[hitCounts.length];
+        for (int i = 0; i < hitCounts.length; i++) {
+            confidences[i] = NGramParser.confidence(hitCounts[i], inputNGrams.length);
+        }
+        return confidences;
+    }
+
+    int matchIBM420(CharsetDetector det, NGramTable ngrams, byte[] byteMap, byte spaceChar) {
         NGramParser_IBM420 parser = new NGramParser_IBM420(ngrams, byteMap);
         return parser.parse(det, spaceChar);
     }
@@ -742,16 +853,18 @@ static class CharsetRecog_8859_1 extends CharsetRecog_sbcs {
                             }),
                 };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams_8859_1);
+
         @Override
         public CharsetMatch match(CharsetDetector det) {
             String name = det.fC1Bytes ? "windows-1252" : "ISO-8859-1";
             int bestConfidenceSoFar = -1;
             String lang = null;
-            for (NGramsPlusLang ngl : ngrams_8859_1) {
-                int confidence = match(det, ngl.fNGrams, byteMap);
-                if (confidence > bestConfidenceSoFar) {
-                    bestConfidenceSoFar = confidence;
-                    lang = ngl.fLang;
+            int[] confidences = matchAll(det, ngramTable, byteMap, (byte) 0x20);
+            for (int i = 0; i < confidences.length; i++) {
+                if (confidences[i] > bestConfidenceSoFar) {
+                    bestConfidenceSoFar = confidences[i];
+                    lang = ngrams_8859_1[i].fLang;
                 }
             }
             return bestConfidenceSoFar <= 0
@@ -901,16 +1014,18 @@ static class CharsetRecog_8859_2 extends CharsetRecog_sbcs {
                             })
                 };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams_8859_2);
+
         @Override
         public CharsetMatch match(CharsetDetector det) {
             String name = det.fC1Bytes ? "windows-1250" : "ISO-8859-2";
             int bestConfidenceSoFar = -1;
             String lang = null;
-            for (NGramsPlusLang ngl : ngrams_8859_2) {
-                int confidence = match(det, ngl.fNGrams, byteMap);
-                if (confidence > bestConfidenceSoFar) {
-                    bestConfidenceSoFar = confidence;
-                    lang = ngl.fLang;
+            int[] confidences = matchAll(det, ngramTable, byteMap, (byte) 0x20);
+            for (int i = 0; i < confidences.length; i++) {
+                if (confidences[i] > bestConfidenceSoFar) {
+                    bestConfidenceSoFar = confidences[i];
+                    lang = ngrams_8859_2[i].fLang;
                 }
             }
             return bestConfidenceSoFar <= 0
@@ -1010,6 +1125,8 @@ static class CharsetRecog_8859_5_ru extends CharsetRecog_8859_5 {
                     0xE1E2D8, 0xE1EF20, 0xE2D5DB, 0xE2DE20, 0xE2DEE0, 0xE2EC20, 0xE7E2DE, 0xEBE520,
         };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams);
+
         @Override
         public String getLanguage() {
             return "ru";
@@ -1017,7 +1134,7 @@ public String getLanguage() {
 
         @Override
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = match(det, ngramTable, byteMap);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -1108,6 +1225,8 @@ static class CharsetRecog_8859_6_ar extends CharsetRecog_8859_6 {
                     0xE8E620, 0xE920C7, 0xEA20C7, 0xEA20E5, 0xEA20E8, 0xEAC920, 0xEAD120, 0xEAE620,
         };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams);
+
         @Override
         public String getLanguage() {
             return "ar";
@@ -1115,7 +1234,7 @@ public String getLanguage() {
 
         @Override
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = match(det, ngramTable, byteMap);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -1206,6 +1325,8 @@ static class CharsetRecog_8859_7_el extends CharsetRecog_8859_7 {
                     0xF4E7ED, 0xF4E7F2, 0xF4E9EA, 0xF4EF20, 0xF4EFF5, 0xF4F9ED, 0xF9ED20, 0xFEED20,
         };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams);
+
         @Override
         public String getLanguage() {
             return "el";
@@ -1214,7 +1335,7 @@ public String getLanguage() {
         @Override
         public CharsetMatch match(CharsetDetector det) {
             String name = det.fC1Bytes ? "windows-1253" : "ISO-8859-7";
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = match(det, ngramTable, byteMap);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence, name, "el");
         }
     }
@@ -1305,6 +1426,8 @@ static class CharsetRecog_8859_8_I_he extends CharsetRecog_8859_8 {
                     0xF8E9ED, 0xF9EC20, 0xFA20E0, 0xFA20E1, 0xFA20E4, 0xFA20EC, 0xFA20EE, 0xFA20F9,
         };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams);
+
         @Override
         public String getName() {
             return "ISO-8859-8-I";
@@ -1318,7 +1441,7 @@ public String getLanguage() {
         @Override
         public CharsetMatch match(CharsetDetector det) {
             String name = det.fC1Bytes ? "windows-1255" : "ISO-8859-8-I";
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = match(det, ngramTable, byteMap);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence, name, "he");
         }
     }
@@ -1335,6 +1458,8 @@ static class CharsetRecog_8859_8_he extends CharsetRecog_8859_8 {
                     0xF2E420, 0xF920E4, 0xF920ED, 0xF920FA, 0xF9E420, 0xFAE020, 0xFAE420, 0xFAE5E9,
         };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams);
+
         @Override
         public String getLanguage() {
             return "he";
@@ -1343,7 +1468,7 @@ public String getLanguage() {
         @Override
         public CharsetMatch match(CharsetDetector det) {
             String name = det.fC1Bytes ? "windows-1255" : "ISO-8859-8";
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = match(det, ngramTable, byteMap);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence, name, "he");
         }
     }
@@ -1434,6 +1559,8 @@ static class CharsetRecog_8859_9_tr extends CharsetRecog_8859_9 {
                     0x72FD6E, 0x766520, 0x796120, 0x796F72, 0xFD6E20, 0xFD6E64, 0xFD6EFD, 0xFDF0FD,
         };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams);
+
         @Override
         public String getLanguage() {
             return "tr";
@@ -1442,7 +1569,7 @@ public String getLanguage() {
         @Override
         public CharsetMatch match(CharsetDetector det) {
             String name = det.fC1Bytes ? "windows-1254" : "ISO-8859-9";
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = match(det, ngramTable, byteMap);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence, name, "tr");
         }
     }
@@ -1459,6 +1586,8 @@ static class CharsetRecog_windows_1251 extends CharsetRecog_sbcs {
                     0xF1F2E8, 0xF1FF20, 0xF2E5EB, 0xF2EE20, 0xF2EEF0, 0xF2FC20, 0xF7F2EE, 0xFBF520,
         };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams);
+
         private static byte[] byteMap = {
             (byte) 0x20, (byte) 0x20, (byte) 0x20, (byte) 0x20, (byte) 0x20, (byte) 0x20,
                     (byte) 0x20, (byte) 0x20,
@@ -1538,7 +1667,7 @@ public String getLanguage() {
 
         @Override
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = match(det, ngramTable, byteMap);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -1555,6 +1684,8 @@ static class CharsetRecog_windows_1256 extends CharsetRecog_sbcs {
                     0xE6E420, 0xEC20C7, 0xED20C7, 0xED20E3, 0xED20E6, 0xEDC920, 0xEDD120, 0xEDE420,
         };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams);
+
         private static byte[] byteMap = {
             (byte) 0x20, (byte) 0x20, (byte) 0x20, (byte) 0x20, (byte) 0x20, (byte) 0x20,
                     (byte) 0x20, (byte) 0x20,
@@ -1634,7 +1765,7 @@ public String getLanguage() {
 
         @Override
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = match(det, ngramTable, byteMap);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -1651,6 +1782,8 @@ static class CharsetRecog_KOI8_R extends CharsetRecog_sbcs {
                     0xD3D4C9, 0xD3D4D7, 0xD4C5CC, 0xD4CF20, 0xD4CFD2, 0xD4D820, 0xD9C820, 0xDED4CF,
         };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams);
+
         private static byte[] byteMap = {
             (byte) 0x20, (byte) 0x20, (byte) 0x20, (byte) 0x20, (byte) 0x20, (byte) 0x20,
                     (byte) 0x20, (byte) 0x20,
@@ -1730,7 +1863,7 @@ public String getLanguage() {
 
         @Override
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap);
+            int confidence = match(det, ngramTable, byteMap);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -2019,9 +2152,11 @@ public String getName() {
                     0x685155, 0x695440, 0x714041, 0x714042, 0x714045, 0x714054, 0x714056, 0x714069,
         };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams);
+
         @Override
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap, (byte) 0x40);
+            int confidence = match(det, ngramTable, byteMap, (byte) 0x40);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -2043,9 +2178,11 @@ public String getName() {
                     0x624540, 0x694045, 0x694055, 0x694071, 0x694540, 0x714140, 0x714540, 0x714651
         };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams);
+
         @Override
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = match(det, ngrams, byteMap, (byte) 0x40);
+            int confidence = match(det, ngramTable, byteMap, (byte) 0x40);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -2330,6 +2467,8 @@ static class CharsetRecog_IBM420_ar_rtl extends CharsetRecog_IBM420_ar {
                     0xCFBD40, 0xDA4056, 0xDC4056, 0xDC40BB, 0xDC40CF, 0xDC6240, 0xDC7540, 0xDCBD40,
         };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams);
+
         @Override
         public String getName() {
             return "IBM420_rtl";
@@ -2337,7 +2476,7 @@ public String getName() {
 
         @Override
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = matchIBM420(det, ngrams, byteMap, (byte) 0x40);
+            int confidence = matchIBM420(det, ngramTable, byteMap, (byte) 0x40);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
@@ -2354,6 +2493,8 @@ static class CharsetRecog_IBM420_ar_ltr extends CharsetRecog_IBM420_ar {
                     0xBD5640, 0xBDBB40, 0xCF4062, 0xCF40DC, 0xCFB156, 0xDAB19A, 0xDCAB40, 0xDCB156
         };
 
+        private static final NGramTable ngramTable = new NGramTable(ngrams);
+
         @Override
         public String getName() {
             return "IBM420_ltr";
@@ -2361,7 +2502,7 @@ public String getName() {
 
         @Override
         public CharsetMatch match(CharsetDetector det) {
-            int confidence = matchIBM420(det, ngrams, byteMap, (byte) 0x40);
+            int confidence = matchIBM420(det, ngramTable, byteMap, (byte) 0x40);
             return confidence == 0 ? null : new CharsetMatch(det, this, confidence);
         }
     }
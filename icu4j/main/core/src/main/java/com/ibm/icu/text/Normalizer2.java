@@ -11,10 +11,16 @@
 
 import com.ibm.icu.impl.ICUBinary;
 import com.ibm.icu.impl.Norm2AllModes;
+import com.ibm.icu.impl.UTF8;
 import com.ibm.icu.util.ICUUncheckedIOException;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Unicode normalization functionality for standard Unicode normalization or for using custom
@@ -278,6 +284,310 @@ public String normalize(CharSequence src) {
      */
     public abstract Appendable normalize(CharSequence src, Appendable dest);
 
+    /**
+     * Normalizes text from the source buffer into the destination buffer, for bulk and streaming
+     * use without intermediate Strings. Text is read starting at the source buffer's position and
+     * written starting at the destination buffer's position; both positions are advanced past the
+     * text that has been consumed and produced.
+     *
+     * <p>Runs of text that pass the quick check with a "yes" result (see {@link
+     * #spanQuickCheckYes(CharSequence)}) are copied in bulk. Other text is normalized one segment
+     * at a time, from one normalization boundary to the next. The source is only ever consumed up
+     * to a normalization boundary, so that the normalization of the consumed text does not depend
+     * on any text that follows it.
+     *
+     * <p>If endOfInput is false, then the text after the last normalization boundary in the source
+     * buffer is left unconsumed because it might interact with more input. The caller should then
+     * compact the source buffer, fill it with more text, and call this method again. If the source
+     * buffer contains no normalization boundary at all, then nothing is consumed, and the caller
+     * needs to provide a larger source buffer. If endOfInput is true, then all of the remaining
+     * source text is normalized.
+     *
+     * <p>The source and destination buffers must not be the same object or share their contents.
+     *
+     * @param src source buffer; its position is advanced past the consumed text
+     * @param dest destination buffer; receives the normalized text
+     * @param endOfInput true if src contains the end of the input text
+     * @return {@link CoderResult#UNDERFLOW} if all of the source text that could be normalized was
+     *     consumed, or {@link CoderResult#OVERFLOW} if the destination buffer is full
+     * @draft ICU 79
+     */
+    public CoderResult normalize(CharBuffer src, CharBuffer dest, boolean endOfInput) {
+        if (dest == src) {
+            throw new IllegalArgumentException();
+        }
+        int srcLimit = src.limit();
+        int limit = endOfInput ? srcLimit : src.position() + lastBoundaryIndex(src);
+        StringBuilder segment = null;
+        try {
+            while (src.position() < limit) {
+                // Copy the quick check "yes" span as is.
+                src.limit(limit);
+                int spanLength = spanQuickCheckYes(src);
+                if (spanLength > 0) {
+                    int length = spanLength;
+                    if (length > dest.remaining()) {
+                        length = boundaryIndexAtOrBefore(src, dest.remaining());
+                    }
+                    src.limit(src.position() + length);
+                    dest.put(src);
+                    src.limit(limit);
+                    if (length < spanLength) {
+                        return CoderResult.OVERFLOW;
+                    }
+                    if (src.position() == limit) {
+                        break;
+                    }
+                }
+                // Normalize the segment up to the next boundary.
+                src.limit(src.position() + nextBoundaryIndex(src));
+                if (segment == null) {
+                    segment = new StringBuilder();
+                }
+                normalize(src, segment);
+                if (segment.length() > dest.remaining()) {
+                    return CoderResult.OVERFLOW;
+                }
+                for (int i = 0; i < segment.length(); ++i) {
+                    dest.put(segment.charAt(i));
+                }
+                src.position(src.limit());
+            }
+        } finally {
+            src.limit(srcLimit);
+        }
+        return CoderResult.UNDERFLOW;
+    }
+
+    // Returns the index relative to the buffer position of the last normalization boundary,
+    // or 0 if there is none.
+    private int lastBoundaryIndex(CharBuffer s) {
+        int i = s.length();
+        // A trailing lead surrogate might be completed by more input.
+        if (i > 0 && Character.isHighSurrogate(s.charAt(i - 1))) {
+            --i;
+        }
+        while (i > 0) {
+            int c = Character.codePointBefore(s, i);
+            i -= Character.charCount(c);
+            if (hasBoundaryBefore(c)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    // Returns the index relative to the buffer position of the first normalization boundary
+    // after the first code point, or the buffer length if there is none.
+    private int nextBoundaryIndex(CharBuffer s) {
+        int length = s.length();
+        int i = Character.charCount(Character.codePointAt(s, 0));
+        while (i < length) {
+            int c = Character.codePointAt(s, i);
+            if (hasBoundaryBefore(c)) {
+                break;
+            }
+            i += Character.charCount(c);
+        }
+        return i;
+    }
+
+    // Returns the largest index relative to the buffer position, up to maxIndex,
+    // which is at a normalization boundary.
+    private int boundaryIndexAtOrBefore(CharBuffer s, int maxIndex) {
+        for (int i = maxIndex; i > 0; --i) {
+            char c = s.charAt(i);
+            if (Character.isLowSurrogate(c) && Character.isHighSurrogate(s.charAt(i - 1))) {
+                continue;
+            }
+            if (hasBoundaryBefore(Character.codePointAt(s, i))) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Normalizes a UTF-8 string and optionally records how source substrings were changed. The
+     * source text is read from the buffer's position to its limit, and the position is advanced to
+     * the limit.
+     *
+     * <p>The standard NFC/NFKC/NFD/NFKD normalizers work directly on the UTF-8 bytes: Unchanged
+     * text is copied as is, and ill-formed byte sequences are treated as normalization-inert and
+     * are also copied unchanged. The default implementation, used for example for FCD, converts the
+     * text to UTF-16 and back, replaces ill-formed sequences with U+FFFD, and does not support
+     * edits.
+     *
+     * <p>Any {@link java.io.IOException} is wrapped into a {@link
+     * com.ibm.icu.util.ICUUncheckedIOException}.
+     *
+     * @param src source UTF-8 bytes
+     * @param dest destination OutputStream; gets the normalized UTF-8 bytes
+     * @param edits Records edits for index mapping, working with styled text, and getting only
+     *     changes (if any). This function calls edits.reset() first. edits can be null.
+     * @return dest
+     * @throws UnsupportedOperationException if edits is not null and this normalizer cannot record
+     *     edits
+     * @draft ICU 79
+     */
+    public <S extends OutputStream> S normalizeUTF8(ByteBuffer src, S dest, Edits edits) {
+        if (edits != null) {
+            throw new UnsupportedOperationException();
+        }
+        String result = normalize(StandardCharsets.UTF_8.decode(src));
+        try {
+            dest.write(result.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new ICUUncheckedIOException(e); // Avoid declaring "throws IOException".
+        }
+        return dest;
+    }
+
+    /**
+     * Tests if the UTF-8 string is normalized. The text is read from the buffer's position to its
+     * limit; the position is not modified.
+     *
+     * <p>The default implementation converts the text to UTF-16 and tests that.
+     *
+     * @param s UTF-8 input string
+     * @return true if s is normalized
+     * @draft ICU 79
+     */
+    public boolean isNormalizedUTF8(ByteBuffer s) {
+        return isNormalized(StandardCharsets.UTF_8.decode(s.duplicate()));
+    }
+
+    /**
+     * Normalizes UTF-8 text from the source buffer into the destination buffer, for bulk and
+     * streaming use. This works like {@link #normalize(CharBuffer, CharBuffer, boolean)} but on
+     * UTF-8 bytes, via {@link #normalizeUTF8(ByteBuffer, OutputStream, Edits)}.
+     *
+     * <p>If endOfInput is false, then the text after the last normalization boundary in the source
+     * buffer is left unconsumed because it might interact with more input. The caller should then
+     * compact the source buffer, fill it with more bytes, and call this method again. If the source
+     * buffer contains no normalization boundary at all, then nothing is consumed, and the caller
+     * needs to provide a larger source buffer. If endOfInput is true, then all of the remaining
+     * source bytes are normalized.
+     *
+     * @param src source buffer with UTF-8 bytes; its position is advanced past the consumed text
+     * @param dest destination buffer; receives the normalized UTF-8 bytes
+     * @param endOfInput true if src contains the end of the input text
+     * @return {@link CoderResult#UNDERFLOW} if all of the source text that could be normalized was
+     *     consumed, or {@link CoderResult#OVERFLOW} if the destination buffer is full
+     * @draft ICU 79
+     */
+    public CoderResult normalizeUTF8(ByteBuffer src, ByteBuffer dest, boolean endOfInput) {
+        if (dest == src) {
+            throw new IllegalArgumentException();
+        }
+        int srcLimit = src.limit();
+        int limit = endOfInput ? srcLimit : lastBoundaryIndexUTF8(src, src.position(), srcLimit);
+        ChunkOutputStream chunk = null;
+        try {
+            while (src.position() < limit) {
+                int start = src.position();
+                int firstSegmentLimit = nextBoundaryIndexUTF8(src, start, limit);
+                // The normalized text is usually about as long as the source text.
+                int chunkLimit = limit;
+                if ((chunkLimit - start) > dest.remaining()) {
+                    chunkLimit =
+                            Math.max(
+                                    firstSegmentLimit,
+                                    boundaryIndexUTF8AtOrBefore(
+                                            src, start, start + dest.remaining(), limit));
+                }
+                if (chunk == null) {
+                    chunk = new ChunkOutputStream();
+                }
+                for (; ; ) {
+                    chunk.reset();
+                    src.limit(chunkLimit);
+                    normalizeUTF8(src, chunk, null);
+                    if (chunk.size() <= dest.remaining()) {
+                        chunk.drainTo(dest);
+                        break;
+                    }
+                    src.position(start);
+                    if (chunkLimit == firstSegmentLimit) {
+                        return CoderResult.OVERFLOW;
+                    }
+                    chunkLimit =
+                            Math.max(
+                                    firstSegmentLimit,
+                                    boundaryIndexUTF8AtOrBefore(
+                                            src, start, start + (chunkLimit - start) / 2, limit));
+                }
+                src.limit(limit);
+            }
+        } finally {
+            src.limit(srcLimit);
+        }
+        return CoderResult.UNDERFLOW;
+    }
+
+    // Returns the index of the last normalization boundary in s[start, limit[, or start.
+    private int lastBoundaryIndexUTF8(ByteBuffer s, int start, int limit) {
+        int i = limit;
+        // A truncated sequence at the end might be completed by more input.
+        for (int lead = limit - 1; lead >= start && lead > limit - UTF8.MAX_LENGTH; --lead) {
+            if (!UTF8.isTrail(s.get(lead))) {
+                int result = UTF8.next(s, lead, limit);
+                if (UTF8.getCodePoint(result) < 0 && (lead + UTF8.getLength(result)) == limit) {
+                    i = lead;
+                }
+                break;
+            }
+        }
+        while (i > start) {
+            int result = UTF8.previous(s, start, i);
+            i -= UTF8.getLength(result);
+            int c = UTF8.getCodePoint(result);
+            if (c < 0 || hasBoundaryBefore(c)) {
+                return i;
+            }
+        }
+        return start;
+    }
+
+    // Returns the index of the first normalization boundary after the first code point,
+    // or limit if there is none.
+    private int nextBoundaryIndexUTF8(ByteBuffer s, int start, int limit) {
+        int i = start + UTF8.getLength(UTF8.next(s, start, limit));
+        while (i < limit) {
+            int result = UTF8.next(s, i, limit);
+            int c = UTF8.getCodePoint(result);
+            if (c < 0 || hasBoundaryBefore(c)) {
+                break;
+            }
+            i += UTF8.getLength(result);
+        }
+        return i;
+    }
+
+    // Returns the largest index up to maxIndex which is at a normalization boundary, or start.
+    private int boundaryIndexUTF8AtOrBefore(ByteBuffer s, int start, int maxIndex, int limit) {
+        int i = maxIndex;
+        while (i > start && UTF8.isTrail(s.get(i))) {
+            --i;
+        }
+        while (i > start) {
+            int c = UTF8.getCodePoint(UTF8.next(s, i, limit));
+            if (c < 0 || hasBoundaryBefore(c)) {
+                return i;
+            }
+            i -= UTF8.getLength(UTF8.previous(s, start, i));
+        }
+        return start;
+    }
+
+    // Collects the normalization of one chunk of UTF-8 text.
+    private static final class ChunkOutputStream extends ByteArrayOutputStream {
+        void drainTo(ByteBuffer dest) {
+            dest.put(buf, 0, count);
+            reset();
+        }
+    }
+
     /**
      * Appends the normalized form of the second string to the first string (merging them at the
      * boundary) and returns the first string. The result is normalized if the first string was
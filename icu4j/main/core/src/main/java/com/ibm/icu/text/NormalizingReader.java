@@ -0,0 +1,147 @@
+// © 2026 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.text;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.charset.CoderResult;
+
+/**
+ * A Reader that returns the normalized form of the text read from another Reader. The input is
+ * normalized incrementally with {@link Normalizer2#normalize(CharBuffer, CharBuffer, boolean)}:
+ * only the text after the last normalization boundary seen so far is held back, so arbitrarily long
+ * input is normalized with memory proportional to the longest normalization segment rather than to
+ * the length of the text.
+ *
+ * <p>Like other Readers, this class is safe for use by multiple threads, but the Normalizer2
+ * instance must be immutable (as all instances returned by the Normalizer2 factory methods are).
+ *
+ * @see NormalizingWriter
+ * @draft ICU 79
+ */
+public class NormalizingReader extends Reader {
+    /**
+     * Constructs a Reader that normalizes the text from the input Reader.
+     *
+     * @param in source of the text to be normalized
+     * @param norm2 normalizer to be applied
+     * @draft ICU 79
+     */
+    public NormalizingReader(Reader in, Normalizer2 norm2) {
+        this.in = in;
+        this.norm2 = norm2;
+        src = CharBuffer.allocate(INITIAL_CAPACITY);
+        src.flip();
+        dest = CharBuffer.allocate(INITIAL_CAPACITY);
+        dest.flip();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @draft ICU 79
+     */
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            if (off < 0 || len < 0 || len > cbuf.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            if (len == 0) {
+                return 0;
+            }
+            if (!dest.hasRemaining() && !fill()) {
+                return -1;
+            }
+            int length = Math.min(len, dest.remaining());
+            dest.get(cbuf, off, length);
+            return length;
+        }
+    }
+
+    /**
+     * {@inheritDoc} Returns true if normalized text is available without reading more input.
+     *
+     * @draft ICU 79
+     */
+    @Override
+    public boolean ready() throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            return dest.hasRemaining();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @draft ICU 79
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (in != null) {
+                in.close();
+                in = null;
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (in == null) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * Normalizes more text into the empty dest buffer, reading more input as needed.
+     *
+     * @return false if the end of the input has been reached and all of it has been returned
+     */
+    private boolean fill() throws IOException {
+        dest.clear();
+        for (; ; ) {
+            CoderResult cr = norm2.normalize(src, dest, endOfInput);
+            if (dest.position() > 0) {
+                break;
+            }
+            if (cr.isOverflow()) {
+                // The next segment does not fit into the dest buffer at all.
+                dest = CharBuffer.allocate(2 * dest.capacity());
+            } else if (endOfInput) {
+                break;
+            } else {
+                // The rest of the src text might interact with more input.
+                // Read more, growing the buffer if it is full of one segment.
+                src.compact();
+                if (!src.hasRemaining()) {
+                    CharBuffer larger = CharBuffer.allocate(2 * src.capacity());
+                    src.flip();
+                    larger.put(src);
+                    src = larger;
+                }
+                int length = in.read(src.array(), src.position(), src.remaining());
+                if (length < 0) {
+                    endOfInput = true;
+                } else {
+                    src.position(src.position() + length);
+                }
+                src.flip();
+            }
+        }
+        dest.flip();
+        return dest.hasRemaining();
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private Reader in;
+    private final Normalizer2 norm2;
+    // Input text that has been read but not yet normalized, ready for get().
+    private CharBuffer src;
+    // Normalized text that has not yet been returned, ready for get().
+    private CharBuffer dest;
+    private boolean endOfInput;
+}
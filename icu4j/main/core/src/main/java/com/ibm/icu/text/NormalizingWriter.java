@@ -0,0 +1,195 @@
+// © 2026 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.text;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.CoderResult;
+
+/**
+ * A Writer that writes the normalized form of its text to another Writer. The text is normalized
+ * incrementally with {@link Normalizer2#normalize(CharBuffer, CharBuffer, boolean)}: only the text
+ * after the last normalization boundary seen so far is held back, so arbitrarily long text is
+ * normalized with memory proportional to the longest normalization segment rather than to the
+ * length of the text.
+ *
+ * <p>Because text that is written later can change the normalization of the held-back text, {@link
+ * #flush()} only writes the text up to the last normalization boundary. Call {@link #finish()} or
+ * {@link #close()} at the end of the text to write the rest.
+ *
+ * <p>Like other Writers, this class is safe for use by multiple threads, but the Normalizer2
+ * instance must be immutable (as all instances returned by the Normalizer2 factory methods are).
+ *
+ * @see NormalizingReader
+ * @draft ICU 79
+ */
+public class NormalizingWriter extends Writer {
+    /**
+     * Constructs a Writer that writes the normalized form of its text to the output Writer.
+     *
+     * @param out receives the normalized text
+     * @param norm2 normalizer to be applied
+     * @draft ICU 79
+     */
+    public NormalizingWriter(Writer out, Normalizer2 norm2) {
+        this.out = out;
+        this.norm2 = norm2;
+        src = CharBuffer.allocate(INITIAL_CAPACITY);
+        dest = CharBuffer.allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @draft ICU 79
+     */
+    @Override
+    public void write(int c) throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            if (!src.hasRemaining()) {
+                normalizeSource(false);
+            }
+            src.put((char) c);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @draft ICU 79
+     */
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            if (off < 0 || len < 0 || len > cbuf.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            while (len > 0) {
+                if (!src.hasRemaining()) {
+                    normalizeSource(false);
+                }
+                int length = Math.min(len, src.remaining());
+                src.put(cbuf, off, length);
+                off += length;
+                len -= length;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @draft ICU 79
+     */
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            if (off < 0 || len < 0 || len > str.length() - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            int limit = off + len;
+            while (off < limit) {
+                if (!src.hasRemaining()) {
+                    normalizeSource(false);
+                }
+                int length = Math.min(limit - off, src.remaining());
+                src.put(str, off, off + length);
+                off += length;
+            }
+        }
+    }
+
+    /**
+     * Normalizes and writes the text up to the last normalization boundary, then flushes the output
+     * Writer. The text after that boundary is held back because it might interact with text that is
+     * written later.
+     *
+     * @draft ICU 79
+     */
+    @Override
+    public void flush() throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            normalizeSource(false);
+            out.flush();
+        }
+    }
+
+    /**
+     * Normalizes and writes all of the remaining text without closing the output Writer. Text that
+     * is written after this call is normalized independently of the text before it.
+     *
+     * @draft ICU 79
+     */
+    public void finish() throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            normalizeSource(true);
+        }
+    }
+
+    /**
+     * Normalizes and writes all of the remaining text and closes the output Writer.
+     *
+     * @draft ICU 79
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (out != null) {
+                try {
+                    normalizeSource(true);
+                    out.flush();
+                } finally {
+                    out.close();
+                    out = null;
+                }
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (out == null) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * Normalizes the text in the src buffer and writes it to the output. If endOfInput is false and
+     * the src buffer is full of one normalization segment, then the buffer is enlarged.
+     */
+    private void normalizeSource(boolean endOfInput) throws IOException {
+        src.flip();
+        CoderResult cr;
+        do {
+            cr = norm2.normalize(src, dest, endOfInput);
+            if (cr.isOverflow() && dest.position() == 0) {
+                // The next segment does not fit into the dest buffer at all.
+                dest = CharBuffer.allocate(2 * dest.capacity());
+                continue;
+            }
+            out.write(dest.array(), 0, dest.position());
+            dest.clear();
+        } while (cr.isOverflow());
+        src.compact();
+        if (!src.hasRemaining()) {
+            CharBuffer larger = CharBuffer.allocate(2 * src.capacity());
+            src.flip();
+            larger.put(src);
+            src = larger;
+        }
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private Writer out;
+    private final Normalizer2 norm2;
+    // Text that has been written but not yet normalized, ready for put().
+    private CharBuffer src;
+    // Reusable buffer for normalized text, empty between calls.
+    private CharBuffer dest;
+}
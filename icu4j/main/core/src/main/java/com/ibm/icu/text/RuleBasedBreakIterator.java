@@ -17,6 +17,7 @@
 import com.ibm.icu.impl.ICUBinary;
 import com.ibm.icu.impl.ICUDebug;
 import com.ibm.icu.impl.RBBIDataWrapper;
+import com.ibm.icu.impl.UTF8;
 import com.ibm.icu.impl.breakiter.BurmeseBreakEngine;
 import com.ibm.icu.impl.breakiter.CjkBreakEngine;
 import com.ibm.icu.impl.breakiter.DictionaryBreakEngine;
@@ -36,6 +37,8 @@
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.text.CharacterIterator;
+import java.text.StringCharacterIterator;
+import java.util.Arrays;
 import java.util.MissingResourceException;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
@@ -171,6 +174,7 @@ public RuleBasedBreakIterator clone() {
         if (fText != null) {
             result.fText = (CharacterIterator) fText.clone();
         }
+        result.fCodePoints = null;
         result.fLookAheadMatches = new int[fRData.fFTable.fLookAheadResultsSize];
         result.fBreakCache = result.new BreakCache(fBreakCache);
         result.fDictionaryCache = result.new DictionaryCache(fDictionaryCache);
@@ -252,6 +256,15 @@ public int hashCode() {
     /** The character iterator through which this BreakIterator accesses the text. */
     private CharacterIterator fText = new java.text.StringCharacterIterator("");
 
+    /**
+     * The text when it was set as a String or CharSequence, or null. fText iterates over the same
+     * text; the forward state machine reads this directly instead, when it is available.
+     */
+    private CharSequence fCharSequence;
+
+    /** The code points of the text for the forward state machine; created when first needed. */
+    private CodePoints fCodePoints;
+
     /**
      * The rule data for this BreakIterator instance. Not intended for public use. Declared public
      * for testing purposes only.
@@ -556,6 +569,232 @@ public boolean isBoundary(int offset) {
         return result;
     }
 
+    /**
+     * {@icu} Returns the boundaries of the text after an edit, given the boundaries of the text
+     * before it. One edit replaces {@code deletedLength} chars at offset {@code start} with {@code
+     * insertedLength} new ones. This iterator must already be set to the edited text.
+     *
+     * <p>Only the boundaries near the edit are found again, which is much faster than iterating
+     * over all of a long text after every small change, for example in an editor. Iteration starts
+     * at a boundary shortly before the edit, and stops at the first boundary after the edit where
+     * it agrees with the previous boundaries. The previous boundaries before and after that window
+     * are reused, the latter shifted by the change in length.
+     *
+     * <p>As a side effect, resets the iterator to the start of the text.
+     *
+     * @param boundaries all boundaries of the text before the edit, in ascending order, as found by
+     *     a break iterator of the same type as this one
+     * @param start the offset of the edit
+     * @param deletedLength the number of chars that were removed at {@code start}
+     * @param insertedLength the number of chars that were inserted at {@code start}
+     * @return all boundaries of the edited text, in ascending order
+     * @throws IllegalArgumentException if the edit or the previous boundaries do not fit the length
+     *     of the edited text
+     * @draft ICU 79
+     */
+    public int[] updateBoundaries(
+            int[] boundaries, int start, int deletedLength, int insertedLength) {
+        int textBegin = fText.getBeginIndex();
+        int textEnd = fText.getEndIndex();
+        int delta = insertedLength - deletedLength;
+        int count = boundaries.length;
+        if (start < textBegin
+                || deletedLength < 0
+                || insertedLength < 0
+                || start > textEnd - insertedLength
+                || count == 0
+                || boundaries[0] != textBegin
+                || boundaries[count - 1] + delta != textEnd) {
+            throw new IllegalArgumentException("The edit does not fit the boundaries and the text");
+        }
+
+        // Restart at a previous rule-based boundary that is at least one whole segment before the
+        // edit: Rule look-ahead from the boundary right before the edit may have read into it, and
+        // dictionary breaks depend on the whole run of dictionary characters. The text before the
+        // edit is unchanged, so its boundaries are still valid and need not be found again.
+        int oldIdx = Arrays.binarySearch(boundaries, start);
+        oldIdx = (oldIdx < 0 ? -oldIdx - 1 : oldIdx) - 2;
+        while (oldIdx > 0 && !isRuleBasedBoundary(boundaries[oldIdx])) {
+            --oldIdx;
+        }
+        oldIdx = Math.max(oldIdx, 0);
+        int restart = boundaries[oldIdx];
+        // The rule status of the restart boundary is not known, but it does not affect the
+        // boundaries that follow it.
+        fBreakCache.reset(restart, 0);
+        fBreakCache.current();
+
+        int[] result = Arrays.copyOf(boundaries, Math.max(count, oldIdx + 16));
+        int resultCount = oldIdx;
+        int editLimit = start + insertedLength;
+        for (int b = restart; b != DONE; b = next()) {
+            if (b > editLimit) {
+                int oldB = b - delta;
+                while (oldIdx < count && boundaries[oldIdx] < oldB) {
+                    ++oldIdx;
+                }
+                // The rules find the same boundaries after any rule-based boundary in the
+                // unchanged text, so this is where the old and new boundaries synchronize.
+                if (oldIdx < count && boundaries[oldIdx] == oldB && isRuleBasedBoundary(b)) {
+                    if (resultCount + count - oldIdx > result.length) {
+                        result = Arrays.copyOf(result, resultCount + count - oldIdx);
+                    }
+                    while (oldIdx < count) {
+                        result[resultCount++] = boundaries[oldIdx++] + delta;
+                    }
+                    break;
+                }
+            }
+            if (resultCount == result.length) {
+                result = Arrays.copyOf(result, 2 * resultCount);
+            }
+            result[resultCount++] = b;
+        }
+        first();
+        return resultCount == result.length ? result : Arrays.copyOf(result, resultCount);
+    }
+
+    /**
+     * {@icu} Returns all boundaries of UTF-8 text, as byte offsets. The break rules run directly on
+     * the UTF-8 bytes, so the text need not be converted to UTF-16, and the boundaries need not be
+     * mapped back to byte offsets. Only text that needs a dictionary break engine, such as Thai or
+     * Japanese, is converted, one run of it at a time.
+     *
+     * <p>Each ill-formed UTF-8 sequence is treated like U+FFFD, one per maximal subpart, as in the
+     * WHATWG Encoding Standard.
+     *
+     * <p>This iterator's text and iteration position are not used or modified.
+     *
+     * @param src the UTF-8 text, from the buffer's position to its limit. The buffer's position and
+     *     limit are not modified.
+     * @return all boundaries in ascending order, as byte offsets from {@code src.position()},
+     *     starting with 0 and ending with {@code src.remaining()}
+     * @draft ICU 79
+     */
+    public int[] getBoundariesUTF8(ByteBuffer src) {
+        int start = src.position();
+        int limit = src.limit();
+        int[] boundaries = new int[Math.min(limit - start, 64) + 1];
+        int count = 1; // boundaries[0] = 0
+        DictionaryBreakEngine.DequeI dictionaryBreaks = null;
+        UTF8CodePoints text = new UTF8CodePoints(src, limit);
+        // The rule status belongs to this iterator's own iteration.
+        int ruleStatusIndex = fRuleStatusIndex;
+        int position = start;
+        while (position < limit) {
+            text.reset(position);
+            int ruleLimit = handleNext(text);
+            // Byte indexes of the UTF-16 indexes in dictionaryBreaks, if there are any.
+            int[] byteIndexes = null;
+            if (fDictionaryCharCount > 0 && !isOneCodeUnit(src, position, ruleLimit)) {
+                if (dictionaryBreaks == null) {
+                    dictionaryBreaks = new DictionaryBreakEngine.DequeI();
+                } else {
+                    dictionaryBreaks.removeAllElements();
+                }
+                byteIndexes =
+                        findDictionaryBreaksUTF8(
+                                src, start, limit, position, ruleLimit, dictionaryBreaks);
+            }
+            if (byteIndexes == null) {
+                if (count == boundaries.length) {
+                    boundaries = Arrays.copyOf(boundaries, 2 * count);
+                }
+                boundaries[count++] = ruleLimit - start;
+                position = ruleLimit;
+            } else {
+                for (int i = 0; i < dictionaryBreaks.size(); ++i) {
+                    int b = byteIndexes[dictionaryBreaks.elementAt(i)];
+                    if (b > position) {
+                        if (count == boundaries.length) {
+                            boundaries = Arrays.copyOf(boundaries, 2 * count);
+                        }
+                        boundaries[count++] = b - start;
+                        position = b;
+                    }
+                }
+            }
+        }
+        fRuleStatusIndex = ruleStatusIndex;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    /**
+     * Finds the dictionary breaks in a segment of UTF-8 text, like {@link
+     * #findDictionaryBreaks(CharacterIterator, int, int, DictionaryBreakEngine.DequeI)}. The
+     * segment is converted to UTF-16 with one code point of context on either side, which is all
+     * that the break engines look at outside of the segment.
+     *
+     * @param s the UTF-8 text
+     * @param textStart the start of the text
+     * @param textLimit the limit of the text
+     * @param startPos the byte index of the start of the segment
+     * @param endPos the byte index of the end of the segment
+     * @param foundBreaks receives the UTF-16 indexes of the breaks, in ascending order
+     * @return the byte indexes of the UTF-16 indexes, or null if no breaks were found
+     */
+    private int[] findDictionaryBreaksUTF8(
+            ByteBuffer s,
+            int textStart,
+            int textLimit,
+            int startPos,
+            int endPos,
+            DictionaryBreakEngine.DequeI foundBreaks) {
+        int contextStart =
+                startPos > textStart
+                        ? startPos - UTF8.getLength(UTF8.previous(s, textStart, startPos))
+                        : startPos;
+        int contextLimit =
+                endPos < textLimit
+                        ? endPos + UTF8.getLength(UTF8.next(s, endPos, textLimit))
+                        : endPos;
+
+        // Convert to UTF-16, and map each UTF-16 index to its byte index.
+        StringBuilder sb = new StringBuilder(contextLimit - contextStart);
+        int[] byteIndexes = new int[contextLimit - contextStart + 1];
+        int start16 = 0;
+        int end16 = 0;
+        for (int i = contextStart; i <= contextLimit; ) {
+            if (i == startPos) {
+                start16 = sb.length();
+            }
+            if (i == endPos) {
+                end16 = sb.length();
+            }
+            byteIndexes[sb.length()] = i;
+            if (i == contextLimit) {
+                break;
+            }
+            int next = UTF8.next(s, i, contextLimit);
+            int c = UTF8.getCodePoint(next);
+            sb.appendCodePoint(c < 0 ? 0xfffd : c);
+            i += UTF8.getLength(next);
+        }
+
+        CharacterIterator text = new StringCharacterIterator(sb.toString());
+        return findDictionaryBreaks(text, start16, end16, foundBreaks) > 0 ? byteIndexes : null;
+    }
+
+    /** Returns true if the UTF-8 text from start to limit is one BMP code point. */
+    private static boolean isOneCodeUnit(ByteBuffer s, int start, int limit) {
+        int next = UTF8.next(s, start, limit);
+        return start + UTF8.getLength(next) == limit && UTF8.getCodePoint(next) <= 0xffff;
+    }
+
+    /**
+     * Returns true if the boundary at the given offset is one that the rules find by themselves,
+     * rather than one that a dictionary break engine finds in a run of dictionary characters.
+     */
+    private boolean isRuleBasedBoundary(int offset) {
+        if (offset <= fText.getBeginIndex() || offset >= fText.getEndIndex()) {
+            return true;
+        }
+        int dictStart = fRData.fFTable.fDictCategoriesStart;
+        fText.setIndex(offset);
+        return (short) fRData.fTrie.get(CharacterIteration.current32(fText)) < dictStart
+                && (short) fRData.fTrie.get(CharacterIteration.previous32(fText)) < dictStart;
+    }
+
     /**
      * Returns the current iteration position. Note that DONE is never returned from this function;
      * if iteration has run to the end of a string, current() will return the length of the string
@@ -677,9 +916,41 @@ public void setText(CharacterIterator newText) {
         }
         fDictionaryCache.reset();
         fText = newText;
+        fCharSequence = null;
+        fCodePoints = null;
         this.first();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The rules are run directly on the String, without going through a CharacterIterator.
+     *
+     * @stable ICU 2.0
+     */
+    @Override
+    public void setText(String newText) {
+        super.setText(newText);
+        fCharSequence = newText;
+        fCodePoints = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The rules are run directly on the CharSequence, without going through a CharacterIterator.
+     * Text in a char array can be segmented this way by wrapping it in a {@link
+     * java.nio.CharBuffer}.
+     *
+     * @stable ICU 60
+     */
+    @Override
+    public void setText(CharSequence newText) {
+        super.setText(newText);
+        fCharSequence = newText;
+        fCodePoints = null;
+    }
+
     /**
      * Control debug, trace and dump options.
      *
@@ -690,7 +961,54 @@ public void setText(CharacterIterator newText) {
     public static final String fDebugEnv =
             ICUDebug.enabled(RBBI_DEBUG_ARG) ? ICUDebug.value(RBBI_DEBUG_ARG) : null;
 
-    private LanguageBreakEngine getLanguageBreakEngine(int c) {
+    /**
+     * {@icu} Loads the dictionaries and models for the break engines that handle text in the given
+     * scripts.
+     *
+     * <p>Break iterators load these lazily, when they first encounter text in one of these scripts,
+     * which can take a noticeable amount of time, especially for the large Chinese and Japanese
+     * dictionary. Calling this method, for example at application startup, moves that cost out of
+     * the first break iteration over such text. The loaded data is shared by all break iterators in
+     * the process.
+     *
+     * @param scripts UScript codes. Only {@link UScript#THAI}, {@link UScript#LAO}, {@link
+     *     UScript#MYANMAR}, {@link UScript#KHMER}, {@link UScript#HAN}, {@link UScript#HIRAGANA},
+     *     {@link UScript#KATAKANA} and {@link UScript#HANGUL} use such data; other scripts are
+     *     ignored.
+     * @draft ICU 79
+     */
+    public static void preloadBreakEngines(int... scripts) {
+        for (int script : scripts) {
+            int c;
+            switch (script) {
+                case UScript.THAI:
+                    c = 0xe01;
+                    break;
+                case UScript.LAO:
+                    c = 0xe81;
+                    break;
+                case UScript.MYANMAR:
+                    c = 0x1000;
+                    break;
+                case UScript.KHMER:
+                    c = 0x1780;
+                    break;
+                case UScript.HAN:
+                case UScript.HIRAGANA:
+                case UScript.KATAKANA:
+                    c = 0x4e00;
+                    break;
+                case UScript.HANGUL:
+                    c = 0xac00;
+                    break;
+                default:
+                    continue;
+            }
+            getLanguageBreakEngine(c);
+        }
+    }
+
+    private static LanguageBreakEngine getLanguageBreakEngine(int c) {
 
         // We have a dictionary character.
         // Does an already instantiated break engine handle it?
@@ -777,14 +1095,35 @@ private LanguageBreakEngine getLanguageBreakEngine(int c) {
      * state table indicating which rules caused the boundary.
      *
      * @return the new iterator position
-     *     <p>A note on supplementary characters and the position of underlying Java
-     *     CharacterIterator: Normally, a character iterator is positioned at the char most recently
-     *     returned by next(). Within this function, when a supplementary char is being processed,
-     *     the char iterator is left sitting on the trail surrogate, in the middle of the code
-     *     point. This is different from everywhere else, where an iterator always points at the
-     *     lead surrogate of a supplementary.
      */
     private int handleNext() {
+        CodePoints text = fCodePoints;
+        if (text == null) {
+            if (fCharSequence != null) {
+                text = new CharSequenceCodePoints(fCharSequence);
+            } else {
+                text = new CharacterIteratorCodePoints(fText);
+            }
+            fCodePoints = text;
+        }
+        text.reset(fPosition);
+        int result = handleNext(text);
+        if (result == BreakIterator.DONE) {
+            fDone = true;
+        } else {
+            fPosition = result;
+        }
+        return result;
+    }
+
+    /**
+     * The state machine engine itself, for any kind of text. It reads code points from {@code
+     * text}, starting at its position, and sets fDictionaryCharCount and fRuleStatusIndex.
+     *
+     * @param text the source of the code points
+     * @return the index of the following boundary, or DONE if the text has no more code points
+     */
+    private int handleNext(CodePoints text) {
         if (TRACE) {
             System.out.println("Handle Next   pos      char  state category");
         }
@@ -795,23 +1134,20 @@ private int handleNext() {
         fDictionaryCharCount = 0;
 
         // caches for quicker access
-        CharacterIterator text = fText;
         CodePointTrie trie = fRData.fTrie;
-
         char[] stateTable = fRData.fFTable.fTable;
-        int initialPosition = fPosition;
-        text.setIndex(initialPosition);
+
+        // position is the index of the code point c after the ones that have been consumed.
+        int initialPosition = text.position;
+        int position = initialPosition;
         int result = initialPosition;
 
         // Set up the starting char
-        int c = text.current();
-        if (c >= UTF16.LEAD_SURROGATE_MIN_VALUE) {
-            c = nextTrail32(text, c);
-            if (c == DONE32) {
-                fDone = true;
-                return BreakIterator.DONE;
-            }
+        int c = text.next();
+        if (c == DONE32) {
+            return BreakIterator.DONE;
         }
+        int firstLimit = text.position;
 
         // Set the initial state for the state machine
         int state = START_STATE;
@@ -824,7 +1160,7 @@ private int handleNext() {
             category = 2;
             mode = RBBI_START;
             if (TRACE) {
-                System.out.print("            " + RBBIDataWrapper.intToString(text.getIndex(), 5));
+                System.out.print("            " + RBBIDataWrapper.intToString(position, 5));
                 System.out.print(RBBIDataWrapper.intToHexString(c, 10));
                 System.out.println(
                         RBBIDataWrapper.intToString(state, 7)
@@ -862,8 +1198,7 @@ private int handleNext() {
                 }
 
                 if (TRACE) {
-                    System.out.print(
-                            "            " + RBBIDataWrapper.intToString(text.getIndex(), 5));
+                    System.out.print("            " + RBBIDataWrapper.intToString(position, 5));
                     System.out.print(RBBIDataWrapper.intToHexString(c, 10));
                     System.out.println(
                             RBBIDataWrapper.intToString(state, 7)
@@ -873,10 +1208,8 @@ private int handleNext() {
                 // Advance to the next character.
                 // If this is a beginning-of-input loop iteration, don't advance.
                 //    The next iteration will be processing the first real input character.
+                position = text.position;
                 c = text.next();
-                if (c >= UTF16.LEAD_SURROGATE_MIN_VALUE) {
-                    c = nextTrail32(text, c);
-                }
             } else {
                 mode = RBBI_RUN;
             }
@@ -887,12 +1220,7 @@ private int handleNext() {
             int accepting = stateTable[row + RBBIDataWrapper.ACCEPTING];
             if (accepting == RBBIDataWrapper.ACCEPTING_UNCONDITIONAL) {
                 // Match found, common case
-                result = text.getIndex();
-                if (c >= UTF16.SUPPLEMENTARY_MIN_VALUE && c <= UTF16.CODEPOINT_MAX_VALUE) {
-                    // The iterator has been left in the middle of a surrogate pair.
-                    // We want the start of it.
-                    result--;
-                }
+                result = position;
 
                 //  Remember the break status (tag) values.
                 fRuleStatusIndex = stateTable[row + RBBIDataWrapper.TAGSIDX];
@@ -901,7 +1229,6 @@ private int handleNext() {
                 int lookaheadResult = fLookAheadMatches[accepting];
                 if (lookaheadResult >= 0) {
                     fRuleStatusIndex = stateTable[row + RBBIDataWrapper.TAGSIDX];
-                    fPosition = lookaheadResult;
                     return lookaheadResult;
                 }
             }
@@ -914,13 +1241,7 @@ private int handleNext() {
             //       Issue ICU-20837
             int rule = stateTable[row + RBBIDataWrapper.LOOKAHEAD];
             if (rule != 0) {
-                int pos = text.getIndex();
-                if (c >= UTF16.SUPPLEMENTARY_MIN_VALUE && c <= UTF16.CODEPOINT_MAX_VALUE) {
-                    // The iterator has been left in the middle of a surrogate pair.
-                    // We want the beginning  of it.
-                    pos--;
-                }
-                fLookAheadMatches[rule] = pos;
+                fLookAheadMatches[rule] = position;
             }
         } // End of state machine main loop
 
@@ -934,17 +1255,10 @@ private int handleNext() {
             if (TRACE) {
                 System.out.println("Iterator did not move. Advancing by 1.");
             }
-            text.setIndex(initialPosition);
-            next32(text);
-            result = text.getIndex();
+            result = firstLimit;
             fRuleStatusIndex = 0;
         }
 
-        // Leave the iterator at our result position.
-        //   (we may have advanced beyond the last accepting position chasing after
-        //    longer matches that never completed.)
-        fPosition = result;
-
         if (TRACE) {
             System.out.println("result = " + result);
         }
@@ -1047,6 +1361,186 @@ private static int CISetIndex32(CharacterIterator ci, int index) {
         return ci.getIndex();
     }
 
+    /**
+     * Finds the dictionary breaks in a segment of text that the rules found to contain dictionary
+     * characters. For each run of dictionary characters, the appropriate break engine is asked to
+     * find the breaks within the run.
+     *
+     * @param text the text
+     * @param startPos the start position of the segment
+     * @param endPos the end position of the segment
+     * @param foundBreaks receives the breaks, in ascending order. If any breaks are found, the
+     *     first and last ones are the start and end positions of the segment.
+     * @return the number of breaks that were found
+     */
+    private int findDictionaryBreaks(
+            CharacterIterator text,
+            int startPos,
+            int endPos,
+            DictionaryBreakEngine.DequeI foundBreaks) {
+        int rangeStart = startPos;
+        int rangeEnd = endPos;
+
+        int category;
+        int current;
+        int foundBreakCount = 0;
+
+        // Loop through the text, looking for ranges of dictionary characters.
+        // For each span, find the appropriate break engine, and ask it to find
+        // any breaks within the span.
+
+        text.setIndex(rangeStart);
+        int c = CharacterIteration.current32(text);
+        category = (short) fRData.fTrie.get(c);
+        int dictStart = fRData.fFTable.fDictCategoriesStart;
+
+        while (true) {
+            while ((current = text.getIndex()) < rangeEnd && (category < dictStart)) {
+                c = CharacterIteration.next32(text); // pre-increment
+                category = (short) fRData.fTrie.get(c);
+            }
+            if (current >= rangeEnd) {
+                break;
+            }
+
+            // We now have a dictionary character. Get the appropriate language object
+            // to deal with it.
+            LanguageBreakEngine lbe = getLanguageBreakEngine(c);
+
+            // Ask the language object if there are any breaks. It will add them to the cache and
+            // leave the text pointer on the other side of its range, ready to search for the
+            // next one.
+            if (lbe != null) {
+                foundBreakCount +=
+                        lbe.findBreaks(text, rangeStart, rangeEnd, foundBreaks, fPhraseBreaking);
+            }
+
+            // Reload the loop variables for the next go-round
+            c = CharacterIteration.current32(text);
+            category = (short) fRData.fTrie.get(c);
+        }
+
+        // If we found breaks, ensure that the first and last entries are
+        // the original starting and ending position.
+        if (foundBreakCount > 0) {
+            assert (foundBreakCount == foundBreaks.size());
+            if (startPos < foundBreaks.elementAt(0)) {
+                // The dictionary did not place a boundary at the start of the segment of text.
+                // Add one now. This should not commonly happen, but it would be easy for
+                // interactions of the rules for dictionary segments and the break engine
+                // implementations to inadvertently cause it. Cover it here, just in case.
+                foundBreaks.offer(startPos);
+            }
+            if (endPos > foundBreaks.peek()) {
+                foundBreaks.push(endPos);
+            }
+        }
+        return foundBreakCount;
+    }
+
+    /**
+     * A source of code points for the forward state machine, which is the same for all kinds of
+     * text.
+     */
+    private abstract static class CodePoints {
+        /** The index after the code points that have been read. */
+        int position;
+
+        /** Starts reading at the given index. */
+        void reset(int start) {
+            position = start;
+        }
+
+        /**
+         * Reads the code point at position and advances position past it. At the end of the text,
+         * returns DONE32 and leaves position unchanged.
+         */
+        abstract int next();
+    }
+
+    /** The code points of a CharacterIterator, which is kept at position. */
+    private static final class CharacterIteratorCodePoints extends CodePoints {
+        private final CharacterIterator text;
+
+        CharacterIteratorCodePoints(CharacterIterator text) {
+            this.text = text;
+        }
+
+        @Override
+        void reset(int start) {
+            text.setIndex(start);
+            position = start;
+        }
+
+        @Override
+        int next() {
+            int c = text.current();
+            if (c >= UTF16.LEAD_SURROGATE_MIN_VALUE) {
+                // Leaves the iterator on the trail surrogate of a supplementary code point.
+                c = nextTrail32(text, c);
+                if (c == DONE32) {
+                    return DONE32;
+                }
+            }
+            text.next();
+            position = text.getIndex();
+            return c;
+        }
+    }
+
+    /**
+     * The code points of a CharSequence, indexed directly rather than through a CharacterIterator.
+     */
+    private static final class CharSequenceCodePoints extends CodePoints {
+        private final CharSequence text;
+        private int limit;
+
+        CharSequenceCodePoints(CharSequence text) {
+            this.text = text;
+        }
+
+        @Override
+        void reset(int start) {
+            position = start;
+            limit = text.length();
+        }
+
+        @Override
+        int next() {
+            if (position >= limit) {
+                return DONE32;
+            }
+            int c = Character.codePointAt(text, position);
+            position += Character.charCount(c);
+            return c;
+        }
+    }
+
+    /**
+     * The code points of UTF-8 text in a ByteBuffer, indexed by bytes. Ill-formed sequences are
+     * read as U+FFFD.
+     */
+    private static final class UTF8CodePoints extends CodePoints {
+        private final ByteBuffer text;
+        private final int limit;
+
+        UTF8CodePoints(ByteBuffer text, int limit) {
+            this.text = text;
+            this.limit = limit;
+        }
+
+        @Override
+        int next() {
+            if (position >= limit) {
+                return DONE32;
+            }
+            int next = UTF8.next(text, position, limit);
+            position += UTF8.getLength(next);
+            int c = UTF8.getCodePoint(next);
+            return c < 0 ? 0xfffd : c;
+        }
+    }
+
     /**
      * DictionaryCache stores the boundaries obtained from a run of dictionary characters.
      * Dictionary boundaries are moved first to this cache, then from here to the main BreakCache,
@@ -1178,67 +1672,12 @@ void populateDictionary(
             fFirstRuleStatusIndex = firstRuleStatus;
             fOtherRuleStatusIndex = otherRuleStatus;
 
-            int rangeStart = startPos;
-            int rangeEnd = endPos;
-
-            int category;
-            int current;
-            int foundBreakCount = 0;
+            int foundBreakCount = findDictionaryBreaks(fText, startPos, endPos, fBreaks);
 
-            // Loop through the text, looking for ranges of dictionary characters.
-            // For each span, find the appropriate break engine, and ask it to find
-            // any breaks within the span.
-
-            fText.setIndex(rangeStart);
-            int c = CharacterIteration.current32(fText);
-            category = (short) fRData.fTrie.get(c);
-            int dictStart = fRData.fFTable.fDictCategoriesStart;
-
-            while (true) {
-                while ((current = fText.getIndex()) < rangeEnd && (category < dictStart)) {
-                    c = CharacterIteration.next32(fText); // pre-increment
-                    category = (short) fRData.fTrie.get(c);
-                }
-                if (current >= rangeEnd) {
-                    break;
-                }
-
-                // We now have a dictionary character. Get the appropriate language object
-                // to deal with it.
-                LanguageBreakEngine lbe = getLanguageBreakEngine(c);
-
-                // Ask the language object if there are any breaks. It will add them to the cache
-                // and
-                // leave the text pointer on the other side of its range, ready to search for the
-                // next one.
-                if (lbe != null) {
-                    foundBreakCount +=
-                            lbe.findBreaks(fText, rangeStart, rangeEnd, fBreaks, fPhraseBreaking);
-                }
-
-                // Reload the loop variables for the next go-round
-                c = CharacterIteration.current32(fText);
-                category = (short) fRData.fTrie.get(c);
-            }
-
-            // If we found breaks, ensure that the first and last entries are
-            // the original starting and ending position. And initialize the
-            // cache iteration position to the first entry.
+            // If we found breaks, initialize the cache iteration position to the first entry.
 
             // System.out.printf("foundBreakCount = %d%n", foundBreakCount);
             if (foundBreakCount > 0) {
-                assert (foundBreakCount == fBreaks.size());
-                if (startPos < fBreaks.elementAt(0)) {
-                    // The dictionary did not place a boundary at the start of the segment of text.
-                    // Add one now. This should not commonly happen, but it would be easy for
-                    // interactions
-                    // of the rules for dictionary segments and the break engine implementations to
-                    // inadvertently cause it. Cover it here, just in case.
-                    fBreaks.offer(startPos);
-                }
-                if (endPos > fBreaks.peek()) {
-                    fBreaks.push(endPos);
-                }
                 fPositionInCache = 0;
                 // Note: Dictionary matching may extend beyond the original limit.
                 fStart = fBreaks.elementAt(0);
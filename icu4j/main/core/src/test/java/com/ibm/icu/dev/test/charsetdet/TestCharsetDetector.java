@@ -19,6 +19,11 @@
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.TreeMap;
@@ -57,6 +62,14 @@ private void CheckAssert(boolean exp) {
         }
     }
 
+    private static String matchesToString(CharsetMatch[] matches) {
+        StringBuilder sb = new StringBuilder();
+        for (CharsetMatch m : matches) {
+            sb.append(m.getName()).append(':').append(m.getConfidence()).append(' ');
+        }
+        return sb.toString();
+    }
+
     private String stringFromReader(Reader reader) {
         StringBuffer sb = new StringBuffer();
         char[] buffer = new char[1024];
@@ -206,6 +219,135 @@ public void TestUTF16() throws Exception {
         }
     }
 
+    @Test
+    public void TestConclusiveMatch() throws Exception {
+        // detect() stops at a conclusive Unicode match, while detectAll() still runs all of the
+        // recognizers.
+        String s =
+                "\ufeff\u65e5\u672c\u8a9e\u306e\u6587\u7ae0\u3002 "
+                        + "This text starts with a byte order mark.";
+        CharsetDetector det = new CharsetDetector();
+        det.setText(s.getBytes("UTF-8"));
+        CharsetMatch m = det.detect();
+        assertEquals("detect() name", "UTF-8", m.getName());
+        assertEquals("detect() confidence", 100, m.getConfidence());
+
+        CharsetMatch[] all = det.detectAll();
+        assertEquals("detectAll() best name", "UTF-8", all[0].getName());
+        assertEquals("detectAll() best confidence", 100, all[0].getConfidence());
+        assertTrue("detectAll() has other matches", all.length > 1);
+
+        det.setText("An all-ASCII text, which every charset could match.".getBytes("UTF-8"));
+        m = det.detect();
+        assertEquals("ASCII detect()", det.detectAll()[0].getName(), m.getName());
+    }
+
+    @Test
+    public void TestByteBuffer() throws Exception {
+        String s =
+                "\u3044\u308d\u306f\u306b\u307b\u3078\u3068 \u3061\u308a\u306c\u308b\u3092"
+                    + " \u308f\u304b\u3088\u305f\u308c\u305d \u3064\u306d\u306a\u3089\u3080\u3002";
+        byte[] bytes = s.getBytes("Shift_JIS");
+        CharsetDetector det = new CharsetDetector();
+        CharsetMatch expected = det.setText(bytes).detect();
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 2);
+        buffer.put((byte) 0).put(bytes).put((byte) 0);
+        buffer.position(1).limit(1 + bytes.length);
+        CharsetMatch m = det.setText(buffer).detect();
+        assertEquals("name", expected.getName(), m.getName());
+        assertEquals("confidence", expected.getConfidence(), m.getConfidence());
+        assertEquals("string", s, m.getString());
+        assertEquals("position", 1, buffer.position());
+
+        // A long ASCII header hides the charset from a sample of the start only.
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; ++i) {
+            sb.append("Header line ").append(i).append('\n');
+        }
+        for (int i = 0; i < 1000; ++i) {
+            sb.append(s);
+        }
+        buffer = ByteBuffer.wrap(sb.toString().getBytes("UTF-8"));
+        assertNotEquals("start only", "UTF-8", det.setText(buffer).detect().getName());
+        m = det.setSampleRegions(4).setText(buffer).detect();
+        assertEquals("four regions", "UTF-8", m.getName());
+        assertEquals("four regions confidence", 100, m.getConfidence());
+        m = det.setSampleRegions(1).setSampleSize(buffer.remaining()).setText(buffer).detect();
+        assertEquals("whole text", "UTF-8", m.getName());
+
+        try {
+            det.setSampleSize(0);
+            errln("setSampleSize(0) should throw");
+        } catch (IllegalArgumentException expectedException) {
+        }
+    }
+
+    @Test
+    public void TestChannel() throws Exception {
+        String s =
+                "\u3044\u308d\u306f\u306b\u307b\u3078\u3068 \u3061\u308a\u306c\u308b\u3092"
+                    + " \u308f\u304b\u3088\u305f\u308c\u305d \u3064\u306d\u306a\u3089\u3080\u3002";
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10; ++i) {
+            sb.append(s);
+        }
+        String shortText = sb.toString();
+        byte[] bytes = shortText.getBytes("Shift_JIS");
+        CharsetDetector det = new CharsetDetector();
+        CharsetMatch expected = det.setText(bytes).detect();
+
+        Path file = Files.createTempFile("TestCharsetDetector", ".txt");
+        try (FileChannel channel =
+                FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0}));
+            channel.write(ByteBuffer.wrap(bytes));
+            channel.position(2);
+            CharsetMatch m = det.setText(channel).detect();
+            assertEquals("name", expected.getName(), m.getName());
+            assertEquals("confidence", expected.getConfidence(), m.getConfidence());
+            assertEquals("position", 2, channel.position());
+            assertEquals("string", shortText, m.getString());
+            assertEquals("string again", shortText, m.getString());
+            assertTrue("channel is open", channel.isOpen());
+
+            // The sample size is the one in effect when the text was set.
+            byte[] latin1 =
+                    ("Die W\u00fcrde des Menschen ist unantastbar. Sie zu achten und zu"
+                                    + " sch\u00fctzen ist Verpflichtung aller staatlichen Gewalt.")
+                            .getBytes("ISO-8859-1");
+            String expectedMatches = matchesToString(det.setText(latin1).detectAll());
+            channel.truncate(0);
+            channel.write(ByteBuffer.wrap(latin1), 0);
+            channel.position(0);
+            det.setText(channel);
+            det.setSampleSize(16);
+            assertEquals("sample size", expectedMatches, matchesToString(det.detectAll()));
+            det.setSampleSize(8000);
+
+            // A long ASCII header hides the charset from a sample of the start only.
+            sb.setLength(0);
+            for (int i = 0; i < 1000; ++i) {
+                sb.append("Header line ").append(i).append('\n');
+            }
+            for (int i = 0; i < 1000; ++i) {
+                sb.append(s);
+            }
+            String longText = sb.toString();
+            channel.truncate(0);
+            channel.write(ByteBuffer.wrap(longText.getBytes("UTF-8")), 0);
+            channel.position(0);
+            assertNotEquals("start only", "UTF-8", det.setText(channel).detect().getName());
+            m = det.setSampleRegions(4).setText(channel).detect();
+            assertEquals("four regions", "UTF-8", m.getName());
+            assertEquals("four regions confidence", 100, m.getConfidence());
+            assertEquals("four regions position", 0, channel.position());
+            assertEquals("whole string", longText, m.getString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
     @Test
     public void TestC1Bytes() throws Exception {
         String sISO =
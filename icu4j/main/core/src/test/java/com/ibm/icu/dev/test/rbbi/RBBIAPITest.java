@@ -15,16 +15,20 @@
 
 import com.ibm.icu.dev.test.CoreTestFmwk;
 import com.ibm.icu.dev.test.TestFmwk;
+import com.ibm.icu.lang.UScript;
 import com.ibm.icu.text.BreakIterator;
 import com.ibm.icu.text.RuleBasedBreakIterator;
 import com.ibm.icu.util.ULocale;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.CharBuffer;
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Random;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -554,4 +558,155 @@ public void TestBug22580() {
             }
         }
     }
+
+    @Test
+    public void TestPreloadBreakEngines() {
+        // Scripts without a dictionary break engine are ignored.
+        RuleBasedBreakIterator.preloadBreakEngines(UScript.THAI, UScript.HAN, UScript.LATIN);
+        RuleBasedBreakIterator.preloadBreakEngines();
+
+        BreakIterator bi = BreakIterator.getWordInstance(ULocale.ROOT);
+        bi.setText("\u0e20\u0e32\u0e29\u0e32\u0e44\u0e17\u0e22 \u65e5\u672c\u8a9e");
+        List<Integer> boundaries = new ArrayList<>();
+        for (int b = bi.first(); b != BreakIterator.DONE; b = bi.next()) {
+            boundaries.add(b);
+        }
+        assertEquals("Thai and Japanese word breaks", "[0, 4, 7, 8, 11]", boundaries.toString());
+    }
+
+    @Test
+    public void TestUpdateBoundaries() {
+        String[] pieces = {
+            "Hello, ",
+            "world. ",
+            "It's 3.14 ",
+            "$(12.35) ",
+            "e.g. ",
+            "1,000",
+            " ",
+            "\n",
+            "!",
+            "?",
+            "\"",
+            "(",
+            ")",
+            "\u00e1",
+            "\ud83d\udc4d\ud83c\udffb",
+            "\u0e20\u0e32\u0e29\u0e32\u0e44\u0e17\u0e22",
+            "\u65e5\u672c\u8a9e\u306e\u6587\u7ae0",
+            "\u30ab\u30bf\u30ab\u30ca",
+        };
+        BreakIterator[] iters = {
+            BreakIterator.getCharacterInstance(),
+            BreakIterator.getWordInstance(),
+            BreakIterator.getLineInstance(),
+            BreakIterator.getSentenceInstance(),
+        };
+        Random random = new Random(1);
+        for (int i = 0; i < 300; ++i) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = random.nextInt(30); j >= 0; --j) {
+                sb.append(pieces[random.nextInt(pieces.length)]);
+            }
+            String before = sb.toString();
+            int start = random.nextInt(before.length() + 1);
+            int deletedLength = random.nextInt(Math.min(8, before.length() - start) + 1);
+            String inserted = random.nextInt(3) == 0 ? "" : pieces[random.nextInt(pieces.length)];
+            String after =
+                    before.substring(0, start) + inserted + before.substring(start + deletedLength);
+            for (BreakIterator iter : iters) {
+                RuleBasedBreakIterator bi = (RuleBasedBreakIterator) iter;
+                int[] oldBoundaries = getBoundaries(bi, before);
+                int[] expected = getBoundaries(bi, after);
+                int[] actual =
+                        bi.updateBoundaries(oldBoundaries, start, deletedLength, inserted.length());
+                if (!Arrays.equals(expected, actual)) {
+                    errln(
+                            "updateBoundaries() for \""
+                                    + before
+                                    + "\" -> \""
+                                    + after
+                                    + "\": expected "
+                                    + Arrays.toString(expected)
+                                    + " but got "
+                                    + Arrays.toString(actual));
+                }
+                assertEquals("position after updateBoundaries()", 0, bi.current());
+            }
+        }
+
+        RuleBasedBreakIterator bi = (RuleBasedBreakIterator) BreakIterator.getWordInstance();
+        bi.setText("one two");
+        try {
+            bi.updateBoundaries(new int[] {0, 3, 4, 7}, 0, 0, 1);
+            errln("updateBoundaries() with an edit that does not fit the text should throw");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void TestSetTextCharSequenceMatchesCharacterIterator() {
+        String[] pieces = {
+            "Hello, ",
+            "It's 3.14 ",
+            "e.g. ",
+            "\r\n",
+            "\"(",
+            ")? ",
+            "\u00e1\u0301",
+            "\ud83d\udc4d\ud83c\udffb",
+            "\ud800",
+            "\udc00",
+            "\uffff",
+            "\u0e20\u0e32\u0e29\u0e32\u0e44\u0e17\u0e22",
+            "\u65e5\u672c\u8a9e\u306e\u6587\u7ae0",
+        };
+        BreakIterator[] iters = {
+            BreakIterator.getCharacterInstance(),
+            BreakIterator.getWordInstance(),
+            BreakIterator.getLineInstance(),
+            BreakIterator.getSentenceInstance(),
+        };
+        Random random = new Random(2);
+        for (int i = 0; i < 300; ++i) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = random.nextInt(20); j >= 0; --j) {
+                sb.append(pieces[random.nextInt(pieces.length)]);
+            }
+            String text = sb.toString();
+            for (BreakIterator bi : iters) {
+                bi.setText(new StringCharacterIterator(text));
+                String expected = getBoundariesAndStatus(bi);
+                bi.setText(text);
+                assertEquals(
+                        "setText(String) for \"" + text + "\"",
+                        expected,
+                        getBoundariesAndStatus(bi));
+                bi.setText(CharBuffer.wrap(text.toCharArray()));
+                assertEquals(
+                        "setText(CharSequence) for \"" + text + "\"",
+                        expected,
+                        getBoundariesAndStatus(bi));
+            }
+        }
+    }
+
+    private static String getBoundariesAndStatus(BreakIterator bi) {
+        StringBuilder sb = new StringBuilder();
+        for (int b = bi.first(); b != BreakIterator.DONE; b = bi.next()) {
+            sb.append(b).append(':').append(bi.getRuleStatus()).append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static int[] getBoundaries(BreakIterator bi, String text) {
+        bi.setText(text);
+        int[] boundaries = new int[text.length() + 1];
+        int count = 0;
+        for (int b = bi.first(); b != BreakIterator.DONE; b = bi.next()) {
+            boundaries[count++] = b;
+        }
+        bi.setText(text);
+        return Arrays.copyOf(boundaries, count);
+    }
 }
@@ -19,6 +19,9 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.StringCharacterIterator;
 import java.util.Arrays;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -720,5 +723,53 @@ void executeTest(TestParams t) {
                                 + actualBreak);
             }
         }
+
+        checkTextForms(t);
+    }
+
+    /**
+     * Checks that the forward rules give the same boundaries and rule statuses for the text as a
+     * String, through a CharacterIterator, and as UTF-8 bytes, which the state machine reads in
+     * different ways.
+     */
+    void checkTextForms(TestParams t) {
+        String text = t.dataToBreak.toString();
+        t.bi.setText(text);
+        String expected = getBoundariesAndStatus(t.bi);
+        t.bi.setText(new StringCharacterIterator(text));
+        assertEquals("CharacterIterator boundaries", expected, getBoundariesAndStatus(t.bi));
+
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (!(t.bi instanceof RuleBasedBreakIterator)
+                || !text.equals(new String(utf8, StandardCharsets.UTF_8))) {
+            return; // The text has unpaired surrogates, which are not in the UTF-8.
+        }
+        // Byte offset of each UTF-16 offset.
+        int[] byteOffsets = new int[text.length() + 1];
+        for (int i = 0, b = 0; i <= text.length(); ++i) {
+            byteOffsets[i] = b;
+            if (i < text.length()) {
+                char c = text.charAt(i);
+                b += c < 0x80 ? 1 : c < 0x800 ? 2 : Character.isSurrogate(c) ? 2 : 3;
+            }
+        }
+        t.bi.setText(text);
+        StringBuilder sb = new StringBuilder();
+        for (int bp = t.bi.first(); bp != BreakIterator.DONE; bp = t.bi.next()) {
+            sb.append(byteOffsets[bp]).append(' ');
+        }
+        StringBuilder actual = new StringBuilder();
+        for (int bp : ((RuleBasedBreakIterator) t.bi).getBoundariesUTF8(ByteBuffer.wrap(utf8))) {
+            actual.append(bp).append(' ');
+        }
+        assertEquals("UTF-8 boundaries", sb.toString(), actual.toString());
+    }
+
+    private static String getBoundariesAndStatus(BreakIterator bi) {
+        StringBuilder sb = new StringBuilder();
+        for (int b = bi.first(); b != BreakIterator.DONE; b = bi.next()) {
+            sb.append(b).append(':').append(bi.getRuleStatus()).append(' ');
+        }
+        return sb.toString();
     }
 }
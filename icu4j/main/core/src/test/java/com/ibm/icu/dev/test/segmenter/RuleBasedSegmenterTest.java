@@ -10,6 +10,9 @@
 import com.ibm.icu.segmenter.RuleBasedSegmenter;
 import com.ibm.icu.segmenter.Segmenter;
 import com.ibm.icu.segmenter.Segments;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -61,4 +64,41 @@ public void testRules() {
             assertThat(desc, actWords, is(expWords));
         }
     }
+
+    @Test
+    public void testCompiledRules() throws IOException {
+        String rules = "[A-Za-z\u00e4\u00fc]+; [0-9]+;";
+        String source = "K\u00fchlschr\u00e4nke 123 Getr\u00e4nke";
+        RuleBasedSegmenter seg =
+                (RuleBasedSegmenter) RuleBasedSegmenter.builder().setRules(rules).build();
+        int[] expected = seg.segment(source).boundaryArray();
+
+        // Segmenters with the same rules, from the rule cache.
+        Segmenter seg2 = RuleBasedSegmenter.builder().setRules(rules).build();
+        assertThat(
+                "same rules",
+                Arrays.toString(seg2.segment(source).boundaryArray()),
+                is(Arrays.toString(expected)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        seg.writeCompiledRules(out);
+        byte[] compiledRules = out.toByteArray();
+        Segmenter loaded =
+                RuleBasedSegmenter.builder()
+                        .setCompiledRules(new ByteArrayInputStream(compiledRules))
+                        .build();
+        assertThat(
+                "compiled rules",
+                Arrays.toString(loaded.segment(source).boundaryArray()),
+                is(Arrays.toString(expected)));
+
+        byte[][] invalid = {new byte[16], Arrays.copyOf(compiledRules, compiledRules.length / 2)};
+        for (byte[] data : invalid) {
+            try {
+                RuleBasedSegmenter.builder().setCompiledRules(new ByteArrayInputStream(data));
+                errln("setCompiledRules() with invalid data should throw");
+            } catch (IOException expectedException) {
+            }
+        }
+    }
 }
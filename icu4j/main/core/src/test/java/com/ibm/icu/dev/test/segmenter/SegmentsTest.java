@@ -7,17 +7,25 @@
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import com.ibm.icu.dev.test.CoreTestFmwk;
+import com.ibm.icu.segmenter.BatchBoundaries;
 import com.ibm.icu.segmenter.LocalizedSegmenter;
 import com.ibm.icu.segmenter.LocalizedSegmenter.SegmentationType;
+import com.ibm.icu.segmenter.RuleBasedSegmenter;
 import com.ibm.icu.segmenter.Segment;
 import com.ibm.icu.segmenter.Segmenter;
 import com.ibm.icu.segmenter.Segments;
 import com.ibm.icu.util.ULocale;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -410,4 +418,279 @@ public void testSegmentAt_throwsIndexOutOfBoundsException() {
 
         segments.segmentAt(-1);
     }
+
+    @Test
+    public void testBoundaryArray() {
+        Segmenter enWordSegmenter =
+                LocalizedSegmenter.builder()
+                        .setLocale(ULocale.ENGLISH)
+                        .setSegmentationType(SegmentationType.WORD)
+                        .build();
+
+        String[] sources = {
+            "The quick brown fox jumped over the lazy dog.",
+            "",
+            "a",
+            "Sphinx of black quartz, judge my vow.",
+            // Longer than the initial array capacity of one boundary per four characters.
+            "a b c d e f g h i j k l m n o p q r s t u v w x y z"
+        };
+        for (String source : sources) {
+            Segments segments = enWordSegmenter.segment(source);
+            int[] expected = segments.boundaries().toArray();
+            int[] actual = segments.boundaryArray();
+            assertThat("boundaryArray of \"" + source + "\"", actual, is(expected));
+        }
+    }
+
+    @Test
+    public void testInterleavedIteration() {
+        Segmenter enWordSegmenter =
+                LocalizedSegmenter.builder()
+                        .setLocale(ULocale.ENGLISH)
+                        .setSegmentationType(SegmentationType.WORD)
+                        .build();
+
+        String source1 = "The quick brown fox jumped over the lazy dog.";
+        String source2 = "Sphinx of black quartz, judge my vow.";
+        Segments segments1 = enWordSegmenter.segment(source1);
+        Segments segments2 = enWordSegmenter.segment(source2);
+        int[] exp1 = segments1.boundaryArray();
+        int[] exp2 = segments2.boundaryArray();
+
+        // Iterators that are in use at the same time must not share state,
+        // including after some of them were exhausted or abandoned.
+        PrimitiveIterator.OfInt iter1 = segments1.boundaries().iterator();
+        PrimitiveIterator.OfInt iter2 = segments2.boundaries().iterator();
+        PrimitiveIterator.OfInt iter1b = segments1.boundaries().iterator();
+        segments2.boundariesAfter(3).limit(2).toArray(); // abandoned before its end
+        for (int i = 0; i < Math.max(exp1.length, exp2.length); ++i) {
+            if (i < exp1.length) {
+                assertEquals("segments1 boundary " + i, exp1[i], iter1.nextInt());
+                assertTrue("segments1 isBoundary", segments1.isBoundary(exp1[i]));
+            }
+            if (i < exp2.length) {
+                assertEquals("segments2 boundary " + i, exp2[i], iter2.nextInt());
+                assertEquals("segments2 segmentAt", 0, segments2.segmentAt(0).start);
+            }
+            if (i == exp2.length) {
+                assertFalse("segments2 exhausted", iter2.hasNext());
+                assertThat(segments2.boundaryArray(), is(exp2));
+            }
+        }
+        assertFalse("segments1 exhausted", iter1.hasNext());
+        for (int b : exp1) {
+            assertEquals("segments1 second iterator", b, iter1b.nextInt());
+        }
+        assertFalse("segments1 second iterator exhausted", iter1b.hasNext());
+    }
+
+    @Test
+    public void testParallelStreams() {
+        // A long text, so that the streams are split, with dictionary-based Thai words
+        // between the English ones.
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; sb.length() < 50000; ++i) {
+            sb.append("The quick brown fox jumped over the lazy dog ").append(i).append(". ");
+            sb.append("\u0E20\u0E32\u0E29\u0E32\u0E44\u0E17\u0E22\u0E07\u0E48\u0E32\u0E22. ");
+        }
+        String source = sb.toString();
+
+        for (SegmentationType type :
+                new SegmentationType[] {SegmentationType.WORD, SegmentationType.SENTENCE}) {
+            Segmenter segmenter =
+                    LocalizedSegmenter.builder()
+                            .setLocale(ULocale.ENGLISH)
+                            .setSegmentationType(type)
+                            .build();
+            Segments segments = segmenter.segment(source);
+            int[] expected = segments.boundaryArray();
+
+            assertThat(
+                    type + " boundaries", segments.boundaries().parallel().toArray(), is(expected));
+            assertThat(
+                    type + " segments",
+                    segments.segments().parallel().mapToInt(seg -> seg.limit).toArray(),
+                    is(Arrays.copyOfRange(expected, 1, expected.length)));
+            assertThat(
+                    type + " segment starts",
+                    segments.segments().parallel().mapToInt(seg -> seg.start).toArray(),
+                    is(Arrays.copyOf(expected, expected.length - 1)));
+
+            // Start in the middle of a segment.
+            int i = expected[expected.length / 3] + 1;
+            assertThat(
+                    type + " boundariesAfter",
+                    segments.boundariesAfter(i).parallel().toArray(),
+                    is(segments.boundariesAfter(i).toArray()));
+            assertThat(
+                    type + " segmentsFrom",
+                    segments.segmentsFrom(i).parallel().mapToInt(seg -> seg.start).toArray(),
+                    is(segments.segmentsFrom(i).mapToInt(seg -> seg.start).toArray()));
+
+            // Split as far as possible, independent of the number of processors.
+            List<Spliterator.OfInt> parts = new ArrayList<>();
+            splitAll(segments.boundaries().spliterator(), parts);
+            assertTrue(type + " number of parts", parts.size() > 8);
+            IntStream.Builder actual = IntStream.builder();
+            for (Spliterator.OfInt part : parts) {
+                part.forEachRemaining((int b) -> actual.add(b));
+            }
+            assertThat(type + " split boundaries", actual.build().toArray(), is(expected));
+        }
+    }
+
+    @Test
+    public void testLazyStreams() {
+        Segmenter enWordSegmenter =
+                LocalizedSegmenter.builder()
+                        .setLocale(ULocale.ENGLISH)
+                        .setSegmentationType(SegmentationType.WORD)
+                        .build();
+
+        // Counts the reads of the text, which only a running stream does.
+        String text = "The quick brown fox jumped over the lazy dog.";
+        int[] reads = new int[1];
+        CharSequence source =
+                new CharSequence() {
+                    @Override
+                    public int length() {
+                        return text.length();
+                    }
+
+                    @Override
+                    public char charAt(int index) {
+                        ++reads[0];
+                        return text.charAt(index);
+                    }
+
+                    @Override
+                    public CharSequence subSequence(int start, int end) {
+                        return text.subSequence(start, end);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return text;
+                    }
+                };
+        Segments segments = enWordSegmenter.segment(source);
+
+        IntStream after = segments.boundariesAfter(6);
+        IntStream backFrom = segments.boundariesBackFrom(6);
+        Stream<Segment> from = segments.segmentsFrom(6);
+        Stream<Segment> before = segments.segmentsBefore(6);
+        assertEquals("reads before the streams are used", 0, reads[0]);
+
+        assertThat(
+                after.toArray(),
+                is(new int[] {9, 10, 15, 16, 19, 20, 26, 27, 31, 32, 35, 36, 40, 41, 44, 45}));
+        assertThat(backFrom.toArray(), is(new int[] {4, 3, 0}));
+        assertThat(from.mapToInt(seg -> seg.start).limit(2).toArray(), is(new int[] {4, 9}));
+        assertThat(before.mapToInt(seg -> seg.start).toArray(), is(new int[] {3, 0}));
+        assertTrue("reads after the streams are used", reads[0] > 0);
+    }
+
+    @Test
+    public void testSegmentAll() {
+        Segmenter enWordSegmenter =
+                LocalizedSegmenter.builder()
+                        .setLocale(ULocale.ENGLISH)
+                        .setSegmentationType(SegmentationType.WORD)
+                        .build();
+        Segmenter ruleSegmenter = RuleBasedSegmenter.builder().setRules("[a-z]+;").build();
+        // Uses the default implementation of segmentAll().
+        Segmenter wrapper = s -> enWordSegmenter.segment(s);
+
+        List<String> batch1 =
+                Arrays.asList(
+                        "The quick brown fox jumped over the lazy dog.",
+                        "",
+                        "a",
+                        "\u0E20\u0E32\u0E29\u0E32\u0E44\u0E17\u0E22",
+                        "Sphinx of black quartz, judge my vow.");
+        List<StringBuilder> batch2 = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            batch2.add(new StringBuilder("title number ").append(i));
+        }
+
+        for (Segmenter segmenter : new Segmenter[] {enWordSegmenter, ruleSegmenter, wrapper}) {
+            // Reuse the result object, first for a small and then for a larger batch.
+            BatchBoundaries result = new BatchBoundaries();
+            for (List<? extends CharSequence> texts : Arrays.asList(batch1, batch2, batch1)) {
+                segmenter.segmentAll(texts, result);
+                assertEquals("size", texts.size(), result.size());
+                int[] boundaries = result.getBoundaries();
+                int[] offsets = result.getOffsets();
+                assertEquals("offsets[0]", 0, offsets[0]);
+                for (int i = 0; i < texts.size(); ++i) {
+                    int[] expected = segmenter.segment(texts.get(i)).boundaryArray();
+                    assertThat(
+                            "boundaries of \"" + texts.get(i) + "\"",
+                            Arrays.copyOfRange(boundaries, offsets[i], offsets[i + 1]),
+                            is(expected));
+                    assertThat("getBoundaries(i)", result.getBoundaries(i), is(expected));
+                }
+            }
+            assertEquals("new result", 5, segmenter.segmentAll(batch1).size());
+            assertEquals("empty batch", 0, segmenter.segmentAll(new ArrayList<>()).size());
+        }
+    }
+
+    private static void splitAll(Spliterator.OfInt spliterator, List<Spliterator.OfInt> parts) {
+        Spliterator.OfInt prefix = spliterator.trySplit();
+        if (prefix == null) {
+            parts.add(spliterator);
+        } else {
+            splitAll(prefix, parts);
+            splitAll(spliterator, parts);
+        }
+    }
+
+    @Test
+    public void testBoundaryArrayUTF8() {
+        Segmenter enWordSegmenter =
+                LocalizedSegmenter.builder()
+                        .setLocale(ULocale.ENGLISH)
+                        .setSegmentationType(SegmentationType.WORD)
+                        .build();
+        Segmenter ruleSegmenter = RuleBasedSegmenter.builder().setRules("[a-z]+;").build();
+        // Uses the default implementation of boundaryArrayUTF8().
+        Segmenter wrapper = s -> enWordSegmenter.segment(s);
+
+        // "a\u00e9 b" has UTF-8 byte offsets 0, 1, 3, 4, 5.
+        ByteBuffer utf8 = ByteBuffer.wrap("a\u00e9 b".getBytes(StandardCharsets.UTF_8));
+        assertThat("word", enWordSegmenter.boundaryArrayUTF8(utf8), is(new int[] {0, 3, 4, 5}));
+        assertThat("rules", ruleSegmenter.boundaryArrayUTF8(utf8), is(new int[] {0, 1, 3, 4, 5}));
+        assertThat("default", wrapper.boundaryArrayUTF8(utf8), is(new int[] {0, 3, 4, 5}));
+
+        // An ill-formed sequence is treated like U+FFFD.
+        utf8 = ByteBuffer.wrap(new byte[] {'a', (byte) 0xc3, ' ', 'b'});
+        assertThat(
+                "ill-formed",
+                enWordSegmenter.boundaryArrayUTF8(utf8),
+                is(new int[] {0, 1, 2, 3, 4}));
+        assertThat(
+                "ill-formed default",
+                wrapper.boundaryArrayUTF8(utf8),
+                is(new int[] {0, 1, 2, 3, 4}));
+
+        // Dictionary and supplementary characters in a direct buffer, from a position other than 0.
+        String text =
+                "It's 3.14 \u0E20\u0E32\u0E29\u0E32\u0E44\u0E17\u0E22 \uD83D\uDC4D"
+                        + " \u65E5\u672C\u8A9E\u306E\u6587\u7AE0.";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        utf8 = ByteBuffer.allocateDirect(bytes.length + 2);
+        utf8.position(2);
+        utf8.put(bytes);
+        utf8.position(2);
+        int[] expected = wrapper.boundaryArrayUTF8(utf8);
+        assertThat("direct", enWordSegmenter.boundaryArrayUTF8(utf8), is(expected));
+        assertEquals("position", 2, utf8.position());
+        assertEquals("last boundary", bytes.length, expected[expected.length - 1]);
+        assertEquals(
+                "number of boundaries",
+                enWordSegmenter.segment(text).boundaryArray().length,
+                expected.length);
+    }
 }
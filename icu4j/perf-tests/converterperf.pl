@@ -31,7 +31,11 @@
 ##               ['TestByteToCharConverter', 'TestByteToCharConverterICU'],
 ##               ['TestCharToByteConverter', 'TestCharToByteConverterICU'],
                  ['TestCharsetDecoder',      'TestCharsetDecoderICU'],
-                 ['TestCharsetEncoder',      'TestCharsetEncoderICU']
+                 ['TestCharsetEncoder',      'TestCharsetEncoderICU'],
+                 ['TestCharsetDecoderASCII', 'TestCharsetDecoderICUASCII'],
+                 ['TestCharsetEncoderASCII', 'TestCharsetEncoderICUASCII'],
+                 ['TestCharsetDecoderDirect', 'TestCharsetDecoderICUDirect'],
+                 ['TestCharsetEncoderDirect', 'TestCharsetEncoderICUDirect']
                );
 
 # Patterns which define the set of characters used for testing.
@@ -63,6 +67,8 @@
   [ "french.txt",     "UTF-8",        "UTF-16BE"],
   [ "french.txt",     "UTF-8",        "UTF-16LE"],
   [ "english.txt",    "UTF-8",        "US-ASCII"],
+  [ "french.txt",     "UTF-8",        "windows-1252"],
+  [ "japanese.txt",   "UTF-8",        "shift_jis"],
   );
 
 my $CALIBRATE = 2;  # duration in seconds for initial calibration
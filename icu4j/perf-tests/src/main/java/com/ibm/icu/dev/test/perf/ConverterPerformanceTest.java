@@ -31,6 +31,8 @@ public static void main(String[] args) throws Exception {
 
     char[] unicodeBuffer = null;
     byte[] encBuffer = null;
+    char[] asciiUnicodeBuffer = null;
+    byte[] asciiEncBuffer = null;
 
     protected void setup(String[] args) {
         try {
@@ -50,6 +52,22 @@ protected void setup(String[] args) {
             encBuffer = new byte[target.limit()];
             for (int i = 0; i < encBuffer.length; i++) encBuffer[i] = target.get(i);
 
+            // the ASCII characters of the input, to measure the conversion of long runs of ASCII
+            StringBuilder ascii = new StringBuilder();
+            for (char c : unicodeBuffer) {
+                if (c <= 0x7f) {
+                    ascii.append(c);
+                }
+            }
+            asciiUnicodeBuffer = ascii.toString().toCharArray();
+            target =
+                    new CharsetProviderICU()
+                            .charsetForName(testName)
+                            .newEncoder()
+                            .encode(CharBuffer.wrap(asciiUnicodeBuffer));
+            asciiEncBuffer = new byte[target.limit()];
+            target.get(asciiEncBuffer);
+
         } catch (Exception ex) {
             ex.printStackTrace();
             throw new RuntimeException(ex.getMessage());
@@ -327,4 +345,101 @@ public long getOperationsPerIteration() {
             throw new RuntimeException(e.getMessage());
         }
     }
+
+    PerfTest.Function TestCharsetDecoderASCII() {
+        return newDecoderFunction(
+                Charset.forName(testName), asciiEncBuffer, asciiUnicodeBuffer, false);
+    }
+
+    PerfTest.Function TestCharsetEncoderASCII() {
+        return newEncoderFunction(
+                Charset.forName(testName), asciiUnicodeBuffer, asciiEncBuffer, false);
+    }
+
+    PerfTest.Function TestCharsetDecoderICUASCII() {
+        return newDecoderFunction(
+                new CharsetProviderICU().charsetForName(testName),
+                asciiEncBuffer,
+                asciiUnicodeBuffer,
+                false);
+    }
+
+    PerfTest.Function TestCharsetEncoderICUASCII() {
+        return newEncoderFunction(
+                new CharsetProviderICU().charsetForName(testName),
+                asciiUnicodeBuffer,
+                asciiEncBuffer,
+                false);
+    }
+
+    PerfTest.Function TestCharsetDecoderDirect() {
+        return newDecoderFunction(Charset.forName(testName), encBuffer, unicodeBuffer, true);
+    }
+
+    PerfTest.Function TestCharsetEncoderDirect() {
+        return newEncoderFunction(Charset.forName(testName), unicodeBuffer, encBuffer, true);
+    }
+
+    PerfTest.Function TestCharsetDecoderICUDirect() {
+        return newDecoderFunction(
+                new CharsetProviderICU().charsetForName(testName), encBuffer, unicodeBuffer, true);
+    }
+
+    PerfTest.Function TestCharsetEncoderICUDirect() {
+        return newEncoderFunction(
+                new CharsetProviderICU().charsetForName(testName), unicodeBuffer, encBuffer, true);
+    }
+
+    // direct buffers, like the ones of network I/O, do not have accessible arrays
+    private static ByteBuffer newByteBuffer(int capacity, boolean direct) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    private static CharBuffer newCharBuffer(int capacity, boolean direct) {
+        return direct
+                ? ByteBuffer.allocateDirect(capacity * 2).asCharBuffer()
+                : CharBuffer.allocate(capacity);
+    }
+
+    private static PerfTest.Function newDecoderFunction(
+            final Charset charset, final byte[] src, final char[] expected, final boolean direct) {
+        final ByteBuffer srcBuf = newByteBuffer(src.length, direct);
+        srcBuf.put(src).flip();
+        return new PerfTest.Function() {
+            CharBuffer outBuf = newCharBuffer(expected.length, direct);
+            CharsetDecoder decoder = charset.newDecoder();
+
+            public void call() {
+                decoder.decode(srcBuf, outBuf, false);
+                decoder.reset();
+                srcBuf.rewind();
+                outBuf.rewind();
+            }
+
+            public long getOperationsPerIteration() {
+                return src.length;
+            }
+        };
+    }
+
+    private static PerfTest.Function newEncoderFunction(
+            final Charset charset, final char[] src, final byte[] expected, final boolean direct) {
+        final CharBuffer srcBuf = newCharBuffer(src.length, direct);
+        srcBuf.put(src).flip();
+        return new PerfTest.Function() {
+            ByteBuffer outBuf = newByteBuffer(expected.length, direct);
+            CharsetEncoder encoder = charset.newEncoder();
+
+            public void call() {
+                encoder.encode(srcBuf, outBuf, false);
+                encoder.reset();
+                srcBuf.rewind();
+                outBuf.rewind();
+            }
+
+            public long getOperationsPerIteration() {
+                return src.length;
+            }
+        };
+    }
 }
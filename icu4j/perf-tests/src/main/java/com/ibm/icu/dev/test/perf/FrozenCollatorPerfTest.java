@@ -0,0 +1,114 @@
+// © 2026 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.dev.test.perf;
+
+import com.ibm.icu.text.Collator;
+import com.ibm.icu.text.RawCollationKey;
+import com.ibm.icu.util.ULocale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures how comparisons and sort key generation with one shared frozen collator scale with the
+ * number of threads. Compare the per-thread throughput of the 1-thread and 64-thread variants.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class FrozenCollatorPerfTest {
+
+    // Not all Latin-1, so that the comparisons do not stay on the fast Latin path.
+    static final String[] WORDS = {
+        "Äpfel", "apfel", "Straße", "strasse", "Ωμέγα", "ωμεγα", "résumé", "resume", "Ёлка", "елка",
+        "naïve", "naive", "ﬁle", "file", "日本語", "にほんご", "한국어", "Zürich", "zurich", "ZÜRICH"
+    };
+
+    private Collator collator;
+
+    @Setup
+    public void setUp() {
+        collator = Collator.getInstance(ULocale.GERMAN).freeze();
+    }
+
+    /** Per-thread state, so that the threads do not share a key or an index. */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int index;
+        RawCollationKey key = new RawCollationKey();
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            index = (int) (Thread.currentThread().getId() % WORDS.length);
+        }
+
+        String next() {
+            index = (index + 1) % WORDS.length;
+            return WORDS[index];
+        }
+    }
+
+    private int compare(ThreadState state) {
+        String s = state.next();
+        return collator.compare(s, WORDS[(state.index * 7 + 3) % WORDS.length]);
+    }
+
+    private RawCollationKey getKey(ThreadState state) {
+        return collator.getRawCollationKey(state.next(), state.key);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int compare1Thread(ThreadState state) {
+        return compare(state);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int compare4Threads(ThreadState state) {
+        return compare(state);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int compare16Threads(ThreadState state) {
+        return compare(state);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public int compare64Threads(ThreadState state) {
+        return compare(state);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public RawCollationKey sortKey1Thread(ThreadState state) {
+        return getKey(state);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public RawCollationKey sortKey4Threads(ThreadState state) {
+        return getKey(state);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public RawCollationKey sortKey16Threads(ThreadState state) {
+        return getKey(state);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public RawCollationKey sortKey64Threads(ThreadState state) {
+        return getKey(state);
+    }
+}
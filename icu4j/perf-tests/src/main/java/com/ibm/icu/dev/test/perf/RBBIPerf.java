@@ -14,6 +14,7 @@
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.text.BreakIterator;
+import java.text.StringCharacterIterator;
 
 /**
  * A class for testing UnicodeSet performance.
@@ -24,6 +25,7 @@
 public class RBBIPerf extends PerfTest {
 
     RuleBasedBreakIterator bi;
+    RuleBasedBreakIterator ciBi;
     BreakIterator jdkbi;
     String testString;
 
@@ -56,6 +58,9 @@ protected void setup(String[] args) {
         }
         if (bi != null) {
             bi.setText(testString);
+            // The same text through a CharacterIterator, for comparison with the String fast path.
+            ciBi = (RuleBasedBreakIterator) bi.clone();
+            ciBi.setText(new StringCharacterIterator(testString));
         }
         if (jdkbi != null) {
             jdkbi.setText(testString);
@@ -93,6 +98,25 @@ public long getOperationsPerIteration() {
         };
     }
 
+    PerfTest.Function testRBBINextCharacterIterator() {
+        return new PerfTest.Function() {
+
+            public void call() {
+                int n = ciBi.first();
+                for (; n != BreakIterator.DONE; n = ciBi.next()) {}
+            }
+
+            public long getOperationsPerIteration() {
+                int n;
+                int count = 0;
+                for (n = ciBi.first(); n != BreakIterator.DONE; n = ciBi.next()) {
+                    count++;
+                }
+                return count;
+            }
+        };
+    }
+
     PerfTest.Function testRBBIPrevious() {
         return new PerfTest.Function() {
 